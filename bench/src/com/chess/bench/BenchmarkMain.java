@@ -0,0 +1,50 @@
+package com.chess.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * File: BenchmarkMain.java
+ * Date: 10/17/26
+ */
+
+/**
+ * The main class of the benchmark jar. It takes JMH's usual command line options and always adds the allocation
+ * profiler (-prof gc), so every run reports the bytes each operation allocates next to its time.
+ * Run with: java -jar bench/target/benchmarks.jar [JMH options]
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the benchmarks
+     * @param args JMH's command line options
+     * @throws CommandLineOptionException if the options can't be parsed
+     * @throws IOException if the help can't be printed
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(final String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        final CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+        } else if (commandLine.shouldList() || commandLine.shouldListWithParams()) {
+            final Runner runner = new Runner(commandLine);
+            if (commandLine.shouldListWithParams()) {
+                runner.listWithParams(commandLine);
+            } else {
+                runner.list();
+            }
+        } else {
+            new Runner(new OptionsBuilder().parent(commandLine).addProfiler(GCProfiler.class).build()).run();
+        }
+    }
+}
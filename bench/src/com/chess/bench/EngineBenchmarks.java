@@ -0,0 +1,111 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Position;
+import com.chess.engine.player.MoveTransition;
+import com.chess.engine.player.WhitePlayer;
+import com.chess.pgn.FenUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File: EngineBenchmarks.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Benchmarks the hot paths of the board objects: building the starting board, executing and making moves, checking
+ * for checkmate, creating moves from tiles and reading FEN. Each piece type's move generation is benchmarked by
+ * {@link PieceMoveBenchmarks}.
+ *
+ * Every benchmark returns what it made, which JMH hands to a Blackhole so the JIT can't drop the work.
+ * Run with: java -jar bench/target/benchmarks.jar EngineBenchmarks (see bench/pom.xml)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class EngineBenchmarks {
+
+    /**
+     * A middle game position with every kind of move (castles, en passant, promotions are a few plies away)
+     */
+    static final String MIDDLE_GAME = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+    /**
+     * White checkmated by fool's mate
+     */
+    private static final String CHECKMATE = "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3";
+
+    private Board standardBoard;
+    private Board middleGameBoard;
+    private Board checkmateBoard;
+    private Move pawnJump;
+    private Move castle;
+
+    /**
+     * Sets up the boards and moves every benchmark starts from
+     */
+    @Setup
+    public void setUp() {
+        this.standardBoard = Board.createStandardBoard();
+        this.middleGameBoard = FenUtilities.createGameFromFEN(MIDDLE_GAME);
+        this.checkmateBoard = FenUtilities.createGameFromFEN(CHECKMATE);
+        this.pawnJump = Move.MoveFactory.createMove(this.standardBoard, 52, 36);
+        this.castle = Move.MoveFactory.createMove(this.middleGameBoard, 60, 62);
+    }
+
+    @Benchmark
+    public Board createStandardBoard() {
+        return Board.createStandardBoard();
+    }
+
+    @Benchmark
+    public Board moveExecute() {
+        return this.castle.execute();
+    }
+
+    @Benchmark
+    public MoveTransition playerMakeMove() {
+        return this.standardBoard.getCurrentPlayer().makeMove(this.pawnJump);
+    }
+
+    /**
+     * Checks for checkmate where the player has moves, so the check stops at the first legal one.
+     * The player caches its game state, so every call asks a new player (which only looks up its king).
+     */
+    @Benchmark
+    public boolean playerIsInCheckMate() {
+        return new WhitePlayer(this.middleGameBoard).isInCheckMate();
+    }
+
+    /**
+     * Checks for checkmate where the player is mated, so every move has to be ruled out
+     */
+    @Benchmark
+    public boolean playerIsInCheckMateWhenMated() {
+        return new WhitePlayer(this.checkmateBoard).isInCheckMate();
+    }
+
+    @Benchmark
+    public Move moveFactoryCreateMove() {
+        return Move.MoveFactory.createMove(this.middleGameBoard, 60, 62);
+    }
+
+    @Benchmark
+    public Position createPositionFromFEN() {
+        return FenUtilities.createPositionFromFEN(MIDDLE_GAME);
+    }
+}
@@ -0,0 +1,68 @@
+package com.chess.bench;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.pieces.Piece;
+import com.chess.pgn.FenUtilities;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File: PieceMoveBenchmarks.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Benchmarks {@link Piece#calculateLegalMoves(Board)} for each piece type, on every piece of that type the player to
+ * move has in the middle game position of {@link EngineBenchmarks}. The moves of each piece go to a Blackhole.
+ * Run with: java -jar bench/target/benchmarks.jar PieceMoveBenchmarks (see bench/pom.xml)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class PieceMoveBenchmarks {
+
+    @Param({"PAWN", "ROOK", "BISHOP", "KNIGHT", "QUEEN", "KING"})
+    private Piece.PieceType pieceType;
+
+    private Board board;
+    private Piece[] pieces;
+
+    /**
+     * Finds the pieces of the benchmarked type
+     */
+    @Setup
+    public void setUp() {
+        this.board = FenUtilities.createGameFromFEN(EngineBenchmarks.MIDDLE_GAME);
+        final List<Piece> found = new ArrayList<>();
+        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
+            if (piece.getPieceType() == this.pieceType) {
+                found.add(piece);
+            }
+        }
+        this.pieces = found.toArray(new Piece[0]);
+    }
+
+    @Benchmark
+    public void calculateLegalMoves(final Blackhole blackhole) {
+        for (final Piece piece : this.pieces) {
+            blackhole.consume(piece.calculateLegalMoves(this.board));
+        }
+    }
+}
@@ -0,0 +1,566 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: BitBoard.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Bitboard representation of a position. There is one 64 bit mask for every piece type and alliance
+ * combination plus occupancy masks for each alliance and for the whole board.
+ * Bit i of every mask corresponds to tile coordinate i (0 is the top left tile, 63 the bottom right tile).
+ *
+ * A board's bitboards are never changed once it is built, so any number of threads can read them. They also hold
+ * the tiles each alliance attacks, worked out once when the board is built, so
+ * {@link #isSquareAttacked(int, Alliance)} is a single mask test. A {@link Position} changes its own copy as moves
+ * are made, so it belongs to one thread, and its attacked tiles are worked out when they are asked for.
+ */
+public final class BitBoard {
+
+    /**
+     * The number of piece type and alliance combinations
+     */
+    public static final int NUM_PIECE_BITBOARDS = 12;
+
+    /**
+     * Cached values() of the piece types and alliances, indexed by ordinal
+     */
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Alliance[] ALLIANCES = Alliance.values();
+
+    /**
+     * The tiles a knight on a given tile attacks
+     */
+    private static final long[] KNIGHT_ATTACKS = initLeaperAttacks(new int[][]{{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2},
+                                                                               {1, -2}, {1, 2}, {2, -1}, {2, 1}});
+    /**
+     * The tiles a king on a given tile attacks
+     */
+    private static final long[] KING_ATTACKS = initLeaperAttacks(new int[][]{{-1, -1}, {-1, 0}, {-1, 1}, {0, -1},
+                                                                             {0, 1}, {1, -1}, {1, 0}, {1, 1}});
+    /**
+     * The tiles a pawn on a given tile attacks, indexed by alliance ordinal and then tile coordinate
+     */
+    private static final long[][] PAWN_ATTACKS = {
+            initLeaperAttacks(new int[][]{{-1, -1}, {-1, 1}}),
+            initLeaperAttacks(new int[][]{{1, -1}, {1, 1}})
+    };
+
+    /**
+     * The row/column steps used by rooks and bishops
+     */
+    static final int[][] ROOK_DIRECTIONS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    static final int[][] BISHOP_DIRECTIONS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+
+    /**
+     * The tiles strictly between two tiles on the same row, column or diagonal (empty otherwise)
+     */
+    private static final long[][] BETWEEN = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+    /**
+     * The whole row, column or diagonal through two tiles (empty if they don't share one)
+     */
+    private static final long[][] LINE = new long[BoardUtils.NUM_TILES][BoardUtils.NUM_TILES];
+
+    static {
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            for (int j = 0; j < BoardUtils.NUM_TILES; j++) {
+                if (i != j) {
+                    initLine(i, j, ROOK_DIRECTIONS);
+                    initLine(i, j, BISHOP_DIRECTIONS);
+                }
+            }
+        }
+    }
+
+    /**
+     * One mask per piece type and alliance, indexed by {@link #pieceIndex(PieceType, Alliance)}
+     */
+    private final long[] pieceBitBoards;
+    /**
+     * The occupancy of each alliance, indexed by alliance ordinal
+     */
+    private final long[] allianceBitBoards;
+    /**
+     * The occupancy of the whole board
+     */
+    private long allPieces;
+    /**
+     * The tiles attacked by each alliance, only kept by bitboards that can't change
+     */
+    private final boolean hasAttackMaps;
+    private final long whiteAttackMap;
+    private final long blackAttackMap;
+
+    /**
+     * Constructor for an empty board
+     */
+    BitBoard() {
+        this.pieceBitBoards = new long[NUM_PIECE_BITBOARDS];
+        this.allianceBitBoards = new long[2];
+        this.allPieces = 0L;
+        this.hasAttackMaps = false;
+        this.whiteAttackMap = 0L;
+        this.blackAttackMap = 0L;
+    }
+
+    /**
+     * Copy constructor. The copy can be changed, even if the bitboards copied can't.
+     * @param other the bitboards to copy
+     */
+    BitBoard(final BitBoard other) {
+        this.pieceBitBoards = other.pieceBitBoards.clone();
+        this.allianceBitBoards = other.allianceBitBoards.clone();
+        this.allPieces = other.allPieces;
+        this.hasAttackMaps = false;
+        this.whiteAttackMap = 0L;
+        this.blackAttackMap = 0L;
+    }
+
+    /**
+     * Constructor for bitboards that can't change, with the tiles each alliance attacks
+     * @param other the bitboards to copy
+     * @param whiteAttackMap the tiles white attacks
+     * @param blackAttackMap the tiles black attacks
+     */
+    private BitBoard(final BitBoard other, final long whiteAttackMap, final long blackAttackMap) {
+        this.pieceBitBoards = other.pieceBitBoards.clone();
+        this.allianceBitBoards = other.allianceBitBoards.clone();
+        this.allPieces = other.allPieces;
+        this.hasAttackMaps = true;
+        this.whiteAttackMap = whiteAttackMap;
+        this.blackAttackMap = blackAttackMap;
+    }
+
+    /**
+     * Creates a copy of bitboards that can't be changed and that holds the tiles each alliance attacks
+     * @param other the bitboards to copy
+     * @return the copy
+     */
+    static BitBoard withAttackMaps(final BitBoard other) {
+        return new BitBoard(other, other.calculateAttackMap(Alliance.WHITE), other.calculateAttackMap(Alliance.BLACK));
+    }
+
+    /**
+     * Gets the index of the mask for a piece type and alliance
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the index into the piece masks
+     */
+    public static int pieceIndex(final PieceType pieceType, final Alliance alliance) {
+        return (pieceType.ordinal() << 1) | alliance.ordinal();
+    }
+
+    /**
+     * Gets the piece type for a piece index
+     * @param pieceIndex the piece type and alliance index
+     * @return the piece type
+     */
+    public static PieceType pieceType(final int pieceIndex) {
+        return PIECE_TYPES[pieceIndex >>> 1];
+    }
+
+    /**
+     * Gets the alliance for a piece index
+     * @param pieceIndex the piece type and alliance index
+     * @return the alliance
+     */
+    public static Alliance pieceAlliance(final int pieceIndex) {
+        return ALLIANCES[pieceIndex & 1];
+    }
+
+    /**
+     * Gets the tiles a knight attacks
+     * @param tileCoordinate the tile the knight is on
+     * @return the mask of attacked tiles
+     */
+    public static long getKnightAttacks(final int tileCoordinate) {
+        return KNIGHT_ATTACKS[tileCoordinate];
+    }
+
+    /**
+     * Gets the tiles a king attacks
+     * @param tileCoordinate the tile the king is on
+     * @return the mask of attacked tiles
+     */
+    public static long getKingAttacks(final int tileCoordinate) {
+        return KING_ATTACKS[tileCoordinate];
+    }
+
+    /**
+     * Gets the tiles a pawn attacks (the tiles it captures on, whether or not they hold a piece)
+     * @param alliance the alliance of the pawn
+     * @param tileCoordinate the tile the pawn is on
+     * @return the mask of attacked tiles
+     */
+    public static long getPawnAttacks(final Alliance alliance, final int tileCoordinate) {
+        return PAWN_ATTACKS[alliance.ordinal()][tileCoordinate];
+    }
+
+    /**
+     * Gets a mask with only the given tile set
+     * @param tileCoordinate the tile coordinate
+     * @return the mask for the tile
+     */
+    public static long tileMask(final int tileCoordinate) {
+        return 1L << tileCoordinate;
+    }
+
+    /**
+     * Gets the lowest tile coordinate set in a mask
+     * @param mask a non empty mask
+     * @return the lowest tile coordinate in the mask
+     */
+    public static int firstTile(final long mask) {
+        return Long.numberOfTrailingZeros(mask);
+    }
+
+    /**
+     * Adds a piece to the board
+     * @param piece the piece
+     */
+    void setPiece(final Piece piece) {
+        setPiece(piece.getPiecePosition(), piece.getPieceType(), piece.getPieceAlliance());
+    }
+
+    /**
+     * Adds a piece to the board
+     * @param tileCoordinate the tile the piece is on
+     * @param pieceType the type of the piece
+     * @param alliance the alliance of the piece
+     */
+    void setPiece(final int tileCoordinate, final PieceType pieceType, final Alliance alliance) {
+        setPiece(tileCoordinate, pieceIndex(pieceType, alliance));
+    }
+
+    /**
+     * Adds a piece to the board
+     * @param tileCoordinate the tile the piece is on
+     * @param pieceIndex the piece type and alliance index of the piece
+     */
+    void setPiece(final int tileCoordinate, final int pieceIndex) {
+        checkChangeable();
+        final long mask = tileMask(tileCoordinate);
+        this.pieceBitBoards[pieceIndex] |= mask;
+        this.allianceBitBoards[pieceIndex & 1] |= mask;
+        this.allPieces |= mask;
+    }
+
+    /**
+     * Removes a piece from the board
+     * @param tileCoordinate the tile the piece is on
+     * @param pieceIndex the piece type and alliance index of the piece
+     */
+    void removePiece(final int tileCoordinate, final int pieceIndex) {
+        checkChangeable();
+        final long mask = ~tileMask(tileCoordinate);
+        this.pieceBitBoards[pieceIndex] &= mask;
+        this.allianceBitBoards[pieceIndex & 1] &= mask;
+        this.allPieces &= mask;
+    }
+
+    /**
+     * Makes sure the bitboards can be changed
+     * @throws IllegalStateException if they hold attack maps, which would go stale
+     */
+    private void checkChangeable() {
+        if (this.hasAttackMaps) {
+            throw new IllegalStateException("The bitboards of a board can't be changed");
+        }
+    }
+
+    /**
+     * Gets the tiles holding pieces of a type and alliance
+     * @param pieceType the piece type
+     * @param alliance the alliance
+     * @return the mask of tiles holding those pieces
+     */
+    public long getPieces(final PieceType pieceType, final Alliance alliance) {
+        return this.pieceBitBoards[pieceIndex(pieceType, alliance)];
+    }
+
+    /**
+     * Gets the tiles holding pieces of a piece index
+     * @param pieceIndex the piece type and alliance index
+     * @return the mask of tiles holding those pieces
+     */
+    public long getPieces(final int pieceIndex) {
+        return this.pieceBitBoards[pieceIndex];
+    }
+
+    /**
+     * Gets the tiles holding pieces of an alliance
+     * @param alliance the alliance
+     * @return the mask of tiles holding that alliance's pieces
+     */
+    public long getPieces(final Alliance alliance) {
+        return this.allianceBitBoards[alliance.ordinal()];
+    }
+
+    /**
+     * Gets the tiles holding any piece
+     * @return the occupancy mask of the board
+     */
+    public long getAllPieces() {
+        return this.allPieces;
+    }
+
+    /**
+     * Determines if a tile holds a piece
+     * @param tileCoordinate the tile coordinate
+     * @return true if the tile is occupied
+     */
+    public boolean isOccupied(final int tileCoordinate) {
+        return (this.allPieces & tileMask(tileCoordinate)) != 0;
+    }
+
+    /**
+     * Gets the tile of an alliance's king
+     * @param alliance the alliance
+     * @return the tile coordinate of the king or -1 if there is no king
+     */
+    public int getKingPosition(final Alliance alliance) {
+        final long king = getPieces(PieceType.KING, alliance);
+        return king == 0 ? -1 : firstTile(king);
+    }
+
+    /**
+     * Gets every tile attacked by an alliance. A board's bitboards worked them out when the board was built; a
+     * position's are worked out on every call, so to test a few of its tiles
+     * {@link #isTileAttacked(int, Alliance)} is cheaper.
+     * @param attackingAlliance the alliance of the attackers
+     * @return the mask of attacked tiles
+     */
+    public long getAttackMap(final Alliance attackingAlliance) {
+        if (this.hasAttackMaps) {
+            return attackingAlliance.isWhite() ? this.whiteAttackMap : this.blackAttackMap;
+        }
+        return calculateAttackMap(attackingAlliance);
+    }
+
+    /**
+     * Determines if a tile is attacked by any piece of an alliance. For a board's bitboards this is a single mask
+     * test; for a position's it is the same as {@link #isTileAttacked(int, Alliance)}.
+     * @param tileCoordinate the tile coordinate
+     * @param attackingAlliance the alliance of the attackers
+     * @return true if the tile is attacked
+     */
+    public boolean isSquareAttacked(final int tileCoordinate, final Alliance attackingAlliance) {
+        if (this.hasAttackMaps) {
+            return (getAttackMap(attackingAlliance) & tileMask(tileCoordinate)) != 0;
+        }
+        return isTileAttacked(tileCoordinate, attackingAlliance, this.allPieces);
+    }
+
+    /**
+     * Works out every tile attacked by an alliance
+     * @param attackingAlliance the alliance of the attackers
+     * @return the mask of attacked tiles
+     */
+    private long calculateAttackMap(final Alliance attackingAlliance) {
+        long attackMap = 0L;
+        for (long pieces = getPieces(PieceType.PAWN, attackingAlliance); pieces != 0; pieces &= pieces - 1) {
+            attackMap |= getPawnAttacks(attackingAlliance, firstTile(pieces));
+        }
+        for (long pieces = getPieces(PieceType.KNIGHT, attackingAlliance); pieces != 0; pieces &= pieces - 1) {
+            attackMap |= KNIGHT_ATTACKS[firstTile(pieces)];
+        }
+        final long queens = getPieces(PieceType.QUEEN, attackingAlliance);
+        for (long pieces = getPieces(PieceType.BISHOP, attackingAlliance) | queens; pieces != 0; pieces &= pieces - 1) {
+            attackMap |= MagicBitBoards.getBishopAttacks(firstTile(pieces), this.allPieces);
+        }
+        for (long pieces = getPieces(PieceType.ROOK, attackingAlliance) | queens; pieces != 0; pieces &= pieces - 1) {
+            attackMap |= MagicBitBoards.getRookAttacks(firstTile(pieces), this.allPieces);
+        }
+        for (long pieces = getPieces(PieceType.KING, attackingAlliance); pieces != 0; pieces &= pieces - 1) {
+            attackMap |= KING_ATTACKS[firstTile(pieces)];
+        }
+        return attackMap;
+    }
+
+    /**
+     * Determines if a tile is attacked by any piece of an alliance
+     * @param tileCoordinate the tile coordinate
+     * @param attackingAlliance the alliance of the attackers
+     * @return true if the tile is attacked
+     */
+    public boolean isTileAttacked(final int tileCoordinate, final Alliance attackingAlliance) {
+        return isTileAttacked(tileCoordinate, attackingAlliance, this.allPieces);
+    }
+
+    /**
+     * Determines if a tile is attacked by any piece of an alliance, with sliders blocked by a given occupancy
+     * @param tileCoordinate the tile coordinate
+     * @param attackingAlliance the alliance of the attackers
+     * @param occupancy the occupied tiles
+     * @return true if the tile is attacked
+     */
+    public boolean isTileAttacked(final int tileCoordinate, final Alliance attackingAlliance, final long occupancy) {
+        final int defender = attackingAlliance.ordinal() ^ 1;
+        // A pawn of the defending alliance on this tile attacks exactly the tiles attacking pawns can capture from
+        if ((PAWN_ATTACKS[defender][tileCoordinate] & getPieces(PieceType.PAWN, attackingAlliance)) != 0 ||
+            (KNIGHT_ATTACKS[tileCoordinate] & getPieces(PieceType.KNIGHT, attackingAlliance)) != 0 ||
+            (KING_ATTACKS[tileCoordinate] & getPieces(PieceType.KING, attackingAlliance)) != 0) {
+            return true;
+        }
+        final long queens = getPieces(PieceType.QUEEN, attackingAlliance);
+        final long rooksAndQueens = getPieces(PieceType.ROOK, attackingAlliance) | queens;
+        final long bishopsAndQueens = getPieces(PieceType.BISHOP, attackingAlliance) | queens;
+        return (MagicBitBoards.getRookAttacks(tileCoordinate, occupancy) & rooksAndQueens) != 0 ||
+               (MagicBitBoards.getBishopAttacks(tileCoordinate, occupancy) & bishopsAndQueens) != 0;
+    }
+
+    /**
+     * Gets every piece of an alliance attacking a tile, with sliders blocked by a given occupancy
+     * @param tileCoordinate the tile coordinate
+     * @param attackingAlliance the alliance of the attackers
+     * @param occupancy the occupied tiles
+     * @return the tiles of the attacking pieces
+     */
+    public long getAttackers(final int tileCoordinate, final Alliance attackingAlliance, final long occupancy) {
+        final int defender = attackingAlliance.ordinal() ^ 1;
+        final long queens = getPieces(PieceType.QUEEN, attackingAlliance);
+        return (PAWN_ATTACKS[defender][tileCoordinate] & getPieces(PieceType.PAWN, attackingAlliance)) |
+               (KNIGHT_ATTACKS[tileCoordinate] & getPieces(PieceType.KNIGHT, attackingAlliance)) |
+               (KING_ATTACKS[tileCoordinate] & getPieces(PieceType.KING, attackingAlliance)) |
+               (MagicBitBoards.getRookAttacks(tileCoordinate, occupancy) & (getPieces(PieceType.ROOK, attackingAlliance) | queens)) |
+               (MagicBitBoards.getBishopAttacks(tileCoordinate, occupancy) & (getPieces(PieceType.BISHOP, attackingAlliance) | queens));
+    }
+
+    /**
+     * Gets the opponent's pieces giving check to an alliance's king
+     * @param alliance the alliance of the king
+     * @return the tiles of the checking pieces
+     */
+    public long getCheckers(final Alliance alliance) {
+        return getAttackers(getKingPosition(alliance), alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE, this.allPieces);
+    }
+
+    /**
+     * Gets the pieces of an alliance pinned to their king: the only piece between the king and an opponent slider
+     * that moves along that line. A pinned piece can only move along {@link #getLine(int, int)} of the king and itself.
+     * @param alliance the alliance of the king
+     * @return the tiles of the pinned pieces
+     */
+    public long getPinnedPieces(final Alliance alliance) {
+        final int kingPosition = getKingPosition(alliance);
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long queens = getPieces(PieceType.QUEEN, opponent);
+        // Opponent sliders that would attack the king on an empty board
+        long snipers = (MagicBitBoards.getRookAttacks(kingPosition, 0L) & (getPieces(PieceType.ROOK, opponent) | queens)) |
+                       (MagicBitBoards.getBishopAttacks(kingPosition, 0L) & (getPieces(PieceType.BISHOP, opponent) | queens));
+        long pinned = 0L;
+        for (; snipers != 0; snipers &= snipers - 1) {
+            final long blockers = BETWEEN[kingPosition][firstTile(snipers)] & this.allPieces;
+            if (blockers != 0 && (blockers & (blockers - 1)) == 0) {
+                pinned |= blockers & getPieces(alliance);
+            }
+        }
+        return pinned;
+    }
+
+    /**
+     * Determines if an en passant capture leaves the capturing king safe. Two pawns leave the same row,
+     * so this can't be worked out from pins alone.
+     * @param currentCoordinate the tile the capturing pawn moves from
+     * @param destinationCoordinate the tile the capturing pawn moves to
+     * @param capturedCoordinate the tile of the captured pawn
+     * @param alliance the alliance of the capturing pawn
+     * @return true if the king is not attacked after the capture
+     */
+    public boolean isEnPassantLegal(final int currentCoordinate,
+                                    final int destinationCoordinate,
+                                    final int capturedCoordinate,
+                                    final Alliance alliance) {
+        final long capturedMask = tileMask(capturedCoordinate);
+        final long occupancy = (this.allPieces ^ tileMask(currentCoordinate) ^ capturedMask) | tileMask(destinationCoordinate);
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        return (getAttackers(getKingPosition(alliance), opponent, occupancy) & ~capturedMask) == 0;
+    }
+
+    /**
+     * Gets the tiles strictly between two tiles
+     * @param first the first tile
+     * @param second the second tile
+     * @return the tiles between them, or an empty mask if they don't share a row, column or diagonal
+     */
+    public static long getBetween(final int first, final int second) {
+        return BETWEEN[first][second];
+    }
+
+    /**
+     * Gets the whole row, column or diagonal through two tiles
+     * @param first the first tile
+     * @param second the second tile
+     * @return the line through both tiles, or an empty mask if they don't share one
+     */
+    public static long getLine(final int first, final int second) {
+        return LINE[first][second];
+    }
+
+    /**
+     * Fills in the between and line masks of two tiles if they share a line in one of the directions
+     */
+    private static void initLine(final int first, final int second, final int[][] directions) {
+        final long firstAttacks = slidingAttacks(first, 0L, directions);
+        if ((firstAttacks & tileMask(second)) != 0) {
+            BETWEEN[first][second] = slidingAttacks(first, tileMask(second), directions) &
+                                     slidingAttacks(second, tileMask(first), directions);
+            LINE[first][second] = (firstAttacks & slidingAttacks(second, 0L, directions)) |
+                                  tileMask(first) | tileMask(second);
+        }
+    }
+
+    /**
+     * Walks each direction from a tile until the edge of the board or the first occupied tile.
+     * This is the slow reference used to build the {@link MagicBitBoards} tables.
+     * @param tileCoordinate the starting tile
+     * @param occupancy the occupied tiles
+     * @param directions the row/column steps to walk
+     * @return the attacked tiles (including the blocking tiles)
+     */
+    static long slidingAttacks(final int tileCoordinate, final long occupancy, final int[][] directions) {
+        long attacks = 0L;
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+        for (final int[] direction : directions) {
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while (r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW && c >= 0 && c < BoardUtils.NUM_TILES_PER_ROW) {
+                final long mask = tileMask(r * BoardUtils.NUM_TILES_PER_ROW + c);
+                attacks |= mask;
+                // Can't slide through a piece
+                if ((occupancy & mask) != 0) {
+                    break;
+                }
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return attacks;
+    }
+
+    /**
+     * Creates the attack table for a piece that jumps by fixed row/column steps
+     * @param steps the row/column steps
+     * @return the attacked tiles for every tile coordinate
+     */
+    private static long[] initLeaperAttacks(final int[][] steps) {
+        final long[] attacks = new long[BoardUtils.NUM_TILES];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final int row = i / BoardUtils.NUM_TILES_PER_ROW;
+            final int column = i % BoardUtils.NUM_TILES_PER_ROW;
+            for (final int[] step : steps) {
+                final int r = row + step[0];
+                final int c = column + step[1];
+                if (r >= 0 && r < BoardUtils.NUM_TILES_PER_ROW && c >= 0 && c < BoardUtils.NUM_TILES_PER_ROW) {
+                    attacks[i] |= tileMask(r * BoardUtils.NUM_TILES_PER_ROW + c);
+                }
+            }
+        }
+        return attacks;
+    }
+}
@@ -2,6 +2,7 @@ package com.chess.engine.board;
 
 import com.chess.engine.Alliance;
 import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.player.BlackPlayer;
 import com.chess.engine.player.Player;
 import com.chess.engine.player.WhitePlayer;
@@ -19,9 +20,17 @@ public class Board
 {
 
     /**
-     * The game board
+     * The piece on each tile (null if the tile is empty)
      */
-    private final List<Tile> gameBoard;
+    private final Piece[] boardPieces;
+    /**
+     * The bitboard representation of the pieces
+     */
+    private final BitBoard bitBoard;
+    /**
+     * Tiles created so far for {@link #getTile(int)}
+     */
+    private final Tile[] tileView;
     /**
      * The collection of all the white pieces
      */
@@ -44,6 +53,18 @@ public class Board
      * The current player
      */
     private final Player currentPlayer;
+    /**
+     * The pawn that just jumped two tiles and can be captured en passant (null if there is none)
+     */
+    private final Pawn enPassantPawn;
+    /**
+     * The Zobrist key of the board (see {@link Zobrist})
+     */
+    private final long zobristKey;
+    /**
+     * The current player's legal moves indexed by their tiles (null until a move is first looked up)
+     */
+    private volatile MoveIndex moveIndex;
 
     /**
      * Gets the white player
@@ -65,15 +86,20 @@ public class Board
      * Constructor
      */
     private Board(final Builder builder) {
-        this.gameBoard = createGameBoard(builder);
-        this.whitePieces= calculateActivePieces(this.gameBoard,Alliance.WHITE);
-        this.blackPieces= calculateActivePieces(this.gameBoard,Alliance.BLACK);
-
-        final Collection<Move> whiteStandardLegalMoves = calculateLegalMoves(this.whitePieces);
-        final Collection<Move> blackStandardLegalMoves = calculateLegalMoves(this.blackPieces);
-
-        this.whitePlayer= new WhitePlayer(this,whiteStandardLegalMoves,blackStandardLegalMoves);
-        this.blackPlayer= new BlackPlayer(this,blackStandardLegalMoves,whiteStandardLegalMoves);
+        this.boardPieces = createGameBoard(builder);
+        this.bitBoard = createBitBoard(this.boardPieces);
+        this.tileView = new Tile[BoardUtils.NUM_TILES];
+        this.whitePieces= calculateActivePieces(this.boardPieces,this.bitBoard,Alliance.WHITE);
+        this.blackPieces= calculateActivePieces(this.boardPieces,this.bitBoard,Alliance.BLACK);
+        this.enPassantPawn = builder.enPassantPawn;
+        this.zobristKey = Zobrist.calculateKey(this.bitBoard,
+                                               builder.nextMoveMaker,
+                                               Position.calculateCastlingRights(this),
+                                               getEnPassantCoordinate());
+
+        // The players work out their moves and check status the first time they are asked
+        this.whitePlayer= new WhitePlayer(this);
+        this.blackPlayer= new BlackPlayer(this);
         this.currentPlayer=builder.nextMoveMaker.choosePlayer(this.whitePlayer,this.blackPlayer);
 
     }
@@ -82,7 +108,7 @@ public class Board
     public String toString() {
         final StringBuilder builder = new StringBuilder();
         for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            final String tileText = this.gameBoard.get(i).toString();
+            final String tileText = getTile(i).toString();
             builder.append(String.format("%3s",tileText));
             if ((i + 1) % BoardUtils.NUM_TILES_PER_ROW == 0) {
                 builder.append("\n");
@@ -92,55 +118,46 @@ public class Board
     }
 
 
-    /**
-     * Returns a list of all the legal moves for a given alliance
-     * @param pieces list of all the pieces
-     * @return the list of all the possible moves
-     */
-    private Collection<Move> calculateLegalMoves(Collection<Piece> pieces) {
-        final List<Move> legalMoves = new ArrayList<>();
-
-        /**
-         * Go through each piece, get the legal moves, and add it to the list
-         */
-        for (final Piece piece:pieces) {
-            legalMoves.addAll(piece.calculateLegalMoves(this));
-
-        }
-        return ImmutableList.copyOf(legalMoves);
-    }
-
     /**
      * Creates a list of all the pieces of a certain alliance
-     * @param gameBoard the board
+     * @param boardPieces the piece on each tile
+     * @param bitBoard the bitboard of the pieces
      * @param alliance the alliance we want
      * @return a list of all the pieces of a given alliance
      */
-    private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-        final List<Piece> activePieces = new ArrayList<>();
-
-        for(final Tile tile: gameBoard){
-            if (tile.isTileOccupied()) {
-                final Piece piece = tile.getPiece();
-                if (piece.getPieceAlliance() == alliance) {
-                    activePieces.add(piece);
-                }
-            }
+    private static Collection<Piece> calculateActivePieces(final Piece[] boardPieces,
+                                                           final BitBoard bitBoard,
+                                                           final Alliance alliance) {
+        final Piece[] activePieces = new Piece[Long.bitCount(bitBoard.getPieces(alliance))];
+        int i = 0;
+        // Visit the occupied tiles of the alliance in tile order
+        for (long pieces = bitBoard.getPieces(alliance); pieces != 0; pieces &= pieces - 1) {
+            activePieces[i++] = boardPieces[BitBoard.firstTile(pieces)];
         }
         return ImmutableList.copyOf(activePieces);
     }
 
     /**
-     * Crates the game board
-     * @return a list of all the tiles on the board
+     * Crates the game board. The builder's tiles are copied so the builder can be changed or reset afterwards
+     * @return the piece on each tile of the board
      */
-    private static List<Tile> createGameBoard(final Builder builder) {
-        final Tile[] tiles = new Tile[BoardUtils.NUM_TILES];
+    private static Piece[] createGameBoard(final Builder builder) {
+        return builder.boardConfig.clone();
+    }
 
-        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
-            tiles[i] = Tile.createTile(i,builder.boardConfig.get(i));
+    /**
+     * Creates the bitboard for the pieces on the board, with the tiles each alliance attacks
+     * @param boardPieces the piece on each tile
+     * @return the bitboard
+     */
+    private static BitBoard createBitBoard(final Piece[] boardPieces) {
+        final BitBoard bitBoard = new BitBoard();
+        for (final Piece piece : boardPieces) {
+            if (piece != null) {
+                bitBoard.setPiece(piece);
+            }
         }
-        return ImmutableList.copyOf(tiles);
+        return BitBoard.withAttackMaps(bitBoard);
     }
 
     /**
@@ -150,33 +167,33 @@ public class Board
     public static Board createStandardBoard() {
         final Builder builder = new Builder();
         // Black pieces
-        builder.setPiece(new Rook(0,Alliance.BLACK));
-        builder.setPiece(new Knight(1,Alliance.BLACK));
-        builder.setPiece(new Bishop(2,Alliance.BLACK));
-        builder.setPiece(new Queen(3,Alliance.BLACK));
-        builder.setPiece(new King(4,Alliance.BLACK));
-        builder.setPiece(new Bishop(5,Alliance.BLACK));
-        builder.setPiece(new Knight(6,Alliance.BLACK));
-        builder.setPiece(new Rook(7,Alliance.BLACK));
+        builder.setPiece(PieceType.ROOK.createPiece(0, Alliance.BLACK, true));
+        builder.setPiece(PieceType.KNIGHT.createPiece(1, Alliance.BLACK, true));
+        builder.setPiece(PieceType.BISHOP.createPiece(2, Alliance.BLACK, true));
+        builder.setPiece(PieceType.QUEEN.createPiece(3, Alliance.BLACK, true));
+        builder.setPiece(PieceType.KING.createPiece(4, Alliance.BLACK, true));
+        builder.setPiece(PieceType.BISHOP.createPiece(5, Alliance.BLACK, true));
+        builder.setPiece(PieceType.KNIGHT.createPiece(6, Alliance.BLACK, true));
+        builder.setPiece(PieceType.ROOK.createPiece(7, Alliance.BLACK, true));
 
         // Black Pawns
         for (int i = 8; i < 16; i++) {
-            builder.setPiece(new Pawn(i,Alliance.BLACK));
+            builder.setPiece(PieceType.PAWN.createPiece(i, Alliance.BLACK, true));
         }
 
         // White pieces
-        builder.setPiece(new Rook(56,Alliance.WHITE));
-        builder.setPiece(new Knight(57,Alliance.WHITE));
-        builder.setPiece(new Bishop(58,Alliance.WHITE));
-        builder.setPiece(new Queen(59,Alliance.WHITE));
-        builder.setPiece(new King(60,Alliance.WHITE));
-        builder.setPiece(new Bishop(61,Alliance.WHITE));
-        builder.setPiece(new Knight(62,Alliance.WHITE));
-        builder.setPiece(new Rook(63,Alliance.WHITE));
+        builder.setPiece(PieceType.ROOK.createPiece(56, Alliance.WHITE, true));
+        builder.setPiece(PieceType.KNIGHT.createPiece(57, Alliance.WHITE, true));
+        builder.setPiece(PieceType.BISHOP.createPiece(58, Alliance.WHITE, true));
+        builder.setPiece(PieceType.QUEEN.createPiece(59, Alliance.WHITE, true));
+        builder.setPiece(PieceType.KING.createPiece(60, Alliance.WHITE, true));
+        builder.setPiece(PieceType.BISHOP.createPiece(61, Alliance.WHITE, true));
+        builder.setPiece(PieceType.KNIGHT.createPiece(62, Alliance.WHITE, true));
+        builder.setPiece(PieceType.ROOK.createPiece(63, Alliance.WHITE, true));
 
         // White Pawns
         for (int i = 48; i <56; i++) {
-            builder.setPiece(new Pawn(i,Alliance.WHITE));
+            builder.setPiece(PieceType.PAWN.createPiece(i, Alliance.WHITE, true));
         }
 
         // white to move
@@ -195,6 +212,24 @@ public class Board
         .getLegalMoves()));
     }
 
+    /**
+     * Looks up one of the current player's legal moves. The moves are indexed the first time one is looked up,
+     * and every later lookup on the board takes constant time.
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param promotionType the type a pawn is promoted to, or null if the move isn't a promotion
+     * @return the move or {@link Move#NULL_MOVE} if the current player has no such legal move
+     */
+    public Move getLegalMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        MoveIndex index = this.moveIndex;
+        if (index == null) {
+            // Two threads may both build the index, but they build the same one
+            index = new MoveIndex(this.currentPlayer.getLegalMoves());
+            this.moveIndex = index;
+        }
+        return index.get(currentCoordinate, destinationCoordinate, promotionType);
+    }
+
     /**
      * Returns the black pieces
      * @return all the black pieces
@@ -212,12 +247,72 @@ public class Board
     }
 
     /**
-     * Get the tile at a given coordinate
+     * Get the tile at a given coordinate. Tiles are only a view over the pieces on the board, so
+     * they are created the first time they are asked for.
      * @param tileCoordinate the tile coordinate
      * @return the tile at the given coordinate
      */
     public Tile getTile(final int tileCoordinate) {
-        return gameBoard.get(tileCoordinate);
+        Tile tile = this.tileView[tileCoordinate];
+        if (tile == null) {
+            tile = Tile.createTile(tileCoordinate, this.boardPieces[tileCoordinate]);
+            this.tileView[tileCoordinate] = tile;
+        }
+        return tile;
+    }
+
+    /**
+     * Get the piece at a given coordinate
+     * @param tileCoordinate the tile coordinate
+     * @return the piece on the tile or null if the tile is empty
+     */
+    public Piece getPiece(final int tileCoordinate) {
+        return this.boardPieces[tileCoordinate];
+    }
+
+    /**
+     * Determines if a tile holds a piece
+     * @param tileCoordinate the tile coordinate
+     * @return true if the tile is occupied
+     */
+    public boolean isTileOccupied(final int tileCoordinate) {
+        return this.bitBoard.isOccupied(tileCoordinate);
+    }
+
+    /**
+     * Gets the pawn that can be captured en passant
+     * @return the pawn that just jumped two tiles or null if there is none
+     */
+    public Pawn getEnPassantPawn() {
+        return this.enPassantPawn;
+    }
+
+    /**
+     * Gets the tile behind the pawn that just jumped, where the current player can capture it en passant
+     * @return the en passant tile or {@link Position#NO_EN_PASSANT}
+     */
+    public int getEnPassantCoordinate() {
+        if (this.enPassantPawn == null) {
+            return Position.NO_EN_PASSANT;
+        }
+        return this.enPassantPawn.getPiecePosition() -
+               BoardUtils.NUM_TILES_PER_ROW * this.enPassantPawn.getPieceAlliance().getDirection();
+    }
+
+    /**
+     * Gets the Zobrist key of the board. It matches the key of a {@link Position} created from the board.
+     * @return the key
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Gets the bitboard representation of the board
+     * @return the bitboard
+     */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
     }
 
     /**
@@ -233,22 +328,33 @@ public class Board
      */
     public static class Builder {
         /**
-         * The board
+         * The piece on each tile (null if the tile is empty)
          */
-        Map<Integer, Piece> boardConfig;
+        final Piece[] boardConfig;
         /**
          * The player to make the next move
          */
         Alliance nextMoveMaker;
 
-        private Pawn enPassantPawn;
+        /**
+         * The pawn that just jumped two tiles
+         */
+        Pawn enPassantPawn;
 
         /**
          * Default constructor
          */
         public Builder() {
-            this.boardConfig = new HashMap<>();
+            this.boardConfig = new Piece[BoardUtils.NUM_TILES];
+        }
 
+        /**
+         * Constructor that starts from the pieces of a board. The player to move and the en passant pawn are not
+         * copied
+         * @param board the board to copy the pieces of
+         */
+        public Builder(final Board board) {
+            this.boardConfig = board.boardPieces.clone();
         }
 
         /**
@@ -257,7 +363,29 @@ public class Board
          * @return the builder object
          */
         public Builder setPiece(final Piece piece) {
-            this.boardConfig.put(piece.getPiecePosition(),piece);
+            this.boardConfig[piece.getPiecePosition()] = piece;
+            return this;
+        }
+
+        /**
+         * Removes the piece from a tile
+         * @param tileCoordinate the tile to empty
+         * @return the builder object
+         */
+        public Builder clearPiece(final int tileCoordinate) {
+            this.boardConfig[tileCoordinate] = null;
+            return this;
+        }
+
+        /**
+         * Empties the board and clears the player to move and the en passant pawn, so the builder can be used
+         * for another board
+         * @return the builder object
+         */
+        public Builder reset() {
+            Arrays.fill(this.boardConfig, null);
+            this.nextMoveMaker = null;
+            this.enPassantPawn = null;
             return this;
         }
 
@@ -279,9 +407,14 @@ public class Board
             return new Board(this);
         }
 
-
-        public void setEnPassantPawn(Pawn enPassantPawn) {
+        /**
+         * Sets the pawn that can be captured en passant
+         * @param enPassantPawn the pawn that just jumped two tiles
+         * @return the builder object
+         */
+        public Builder setEnPassantPawn(final Pawn enPassantPawn) {
             this.enPassantPawn = enPassantPawn;
+            return this;
         }
     }
 }
@@ -37,6 +37,11 @@ public class BoardUtils {
      */
     public static final int NUM_TILES_PER_ROW=8;
 
+    /**
+     * The algebraic name of each tile (a8 is tile 0, h1 is tile 63)
+     */
+    private static final String[] ALGEBRAIC_NOTATION = initAlgebraicNotation();
+
     public BoardUtils() {
         throw new RuntimeException("You cannot instantiate me!");
     }
@@ -70,6 +75,44 @@ public class BoardUtils {
         return row;
     }
 
+    /**
+     * Create the algebraic name of each tile
+     * @return the names of the tiles in coordinate order
+     */
+    private static String[] initAlgebraicNotation() {
+        final String[] notation = new String[NUM_TILES];
+        for (int i = 0; i < NUM_TILES; i++) {
+            notation[i] = "" + (char) ('a' + i % NUM_TILES_PER_ROW) + (NUM_TILES_PER_ROW - i / NUM_TILES_PER_ROW);
+        }
+        return notation;
+    }
+
+    /**
+     * Gets the algebraic name of a tile
+     * @param coordinate the tile coordinate
+     * @return the name of the tile (for example e4)
+     */
+    public static String getPositionAtCoordinate(final int coordinate) {
+        return ALGEBRAIC_NOTATION[coordinate];
+    }
+
+    /**
+     * Gets the tile coordinate for an algebraic name
+     * @param position the name of the tile (for example e4)
+     * @return the tile coordinate or -1 if the name is not a tile
+     */
+    public static int getCoordinateAtPosition(final CharSequence position) {
+        if (position.length() != 2) {
+            return -1;
+        }
+        final int column = position.charAt(0) - 'a';
+        final int row = position.charAt(1) - '1';
+        if (column < 0 || column >= NUM_TILES_PER_ROW || row < 0 || row >= NUM_TILES_PER_ROW) {
+            return -1;
+        }
+        return (NUM_TILES_PER_ROW - 1 - row) * NUM_TILES_PER_ROW + column;
+    }
+
     /**
      * Check whether a tile coordinate is valid
      * @param coordinate the tile coordinate
@@ -0,0 +1,47 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+/**
+ * File: GameState.java
+ * Date: 10/17/26
+ */
+public enum GameState {
+    IN_PROGRESS {
+        @Override
+        public boolean isGameOver() {
+            return false;
+        }
+    }, CHECKMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    }, STALEMATE {
+        @Override
+        public boolean isGameOver() {
+            return true;
+        }
+    };
+
+    /**
+     * Determines if the game has ended
+     * @return true if the side to move is checkmated or stalemated
+     */
+    public abstract boolean isGameOver();
+
+    /**
+     * Works out the state of the game for the side to move without generating all of its moves
+     * (see {@link MoveGenerator#hasLegalMove(BitBoard, Alliance, int)})
+     * @param bitBoard the bitboards of the pieces
+     * @param alliance the alliance to move
+     * @param enPassantCoordinate the tile a pawn can capture en passant on or {@link Position#NO_EN_PASSANT}
+     * @return the state of the game
+     */
+    public static GameState evaluate(final BitBoard bitBoard, final Alliance alliance, final int enPassantCoordinate) {
+        if (MoveGenerator.hasLegalMove(bitBoard, alliance, enPassantCoordinate)) {
+            return IN_PROGRESS;
+        }
+        return bitBoard.getCheckers(alliance) != 0 ? CHECKMATE : STALEMATE;
+    }
+}
@@ -0,0 +1,184 @@
+package com.chess.engine.board;
+
+/**
+ * File: MagicBitBoards.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Precomputed attack tables for the sliding pieces (rooks, bishops and queens).
+ *
+ * For every tile only the occupancy of the tiles a slider could be blocked on matters (the relevant mask).
+ * Multiplying those relevant occupied tiles by a "magic" number and keeping the top bits gives a perfect
+ * index into a table holding the attacks for that occupancy, so the attacks for any tile and occupancy
+ * are one multiply, one shift and one lookup. The magic numbers were found by trying random sparse numbers
+ * until one mapped every occupancy of the tile without a collision that would give different attacks.
+ * They only work for this tile numbering (0 is the top left tile).
+ */
+public final class MagicBitBoards {
+
+    /**
+     * The magic number of every tile
+     */
+    private static final long[] ROOK_MAGICS = {
+            0x008000908064C000L, 0x0040200040001000L, 0x0180100080A0010AL, 0x8880041000800800L,
+            0x1200100201200804L, 0x0200020004011008L, 0x2180010000800600L, 0x0200005088210204L,
+            0x0400800040008021L, 0x0400400020005000L, 0x8240801000200080L, 0x8611001004200900L,
+            0x008180800C001800L, 0x0100800200800400L, 0x0A02000102000408L, 0x8020802300104280L,
+            0x0080004000402000L, 0xE010104000402000L, 0x0800808010002000L, 0xA280210008100100L,
+            0x0001818014000800L, 0xA002010100080400L, 0x0080240001020870L, 0x0001020004048845L,
+            0x0081826280004004L, 0x2020810900284000L, 0x0200100080802000L, 0x0200080080100080L,
+            0x8083080100100500L, 0x4406000901000400L, 0x0005020080800100L, 0x0090204200008114L,
+            0x0010400094800420L, 0x0900804000802002L, 0x0201001841002000L, 0x4100080080801000L,
+            0x4540040080800800L, 0x0002001004040020L, 0x0281195814001002L, 0x1240800040800100L,
+            0x0880042000524004L, 0x02C080410206002CL, 0x0801200241050010L, 0x8400080010008080L,
+            0x0008000500090010L, 0x0082009084020008L, 0x4012000108020004L, 0x9000104D08860004L,
+            0x2004204114800100L, 0x0148802112400300L, 0x0202842000100880L, 0x001B080080900080L,
+            0x001A002008100600L, 0x0004008004020080L, 0x5181000600040300L, 0x0000044401128A00L,
+            0x8044110480002441L, 0x2008110084402202L, 0x90806005090010C1L, 0x000420310A004A42L,
+            0x0023001004020801L, 0x0882001008040102L, 0x000230088118020CL, 0x0000019025040042L
+    };
+    private static final long[] BISHOP_MAGICS = {
+            0x0020428400408200L, 0x2008010104210004L, 0x02D0009200480190L, 0x0018158B00010100L,
+            0x02C4042132048008L, 0x020082202000C221L, 0x4000421050080009L, 0x0210140202022020L,
+            0x00C0101410042248L, 0x0405204800D48080L, 0x3800C89200420002L, 0x180844124A020440L,
+            0x04403410A8002221L, 0x4040209004200400L, 0x084004020202A204L, 0x3010002104022000L,
+            0x00200240A9110900L, 0x2302800404080210L, 0x0204188800240010L, 0x8048000C01401200L,
+            0x120C001A11040900L, 0x0000401200500440L, 0x00004040840420A0L, 0x0020930822880804L,
+            0x4044401090900161L, 0x0034100015210804L, 0x8004100009010120L, 0x48C8080000820500L,
+            0x0080848004002000L, 0x0801004012005044L, 0x000080902C040400L, 0x0004009005004100L,
+            0x0B103010048A0200L, 0x8004100203181A00L, 0x0800140200100080L, 0x8401010800910040L,
+            0x0840010011290040L, 0x40100214202E1000L, 0x0842040040010840L, 0x0028010040010860L,
+            0x00080202A2051000L, 0x4200841008084204L, 0x0021120110000D02L, 0x48C1004208000084L,
+            0x0010088100414400L, 0x0021101000420580L, 0x0010040558401410L, 0x200C0C82A1050205L,
+            0x0011108820088000L, 0x0001011910120402L, 0x1580008608091248L, 0x8010018020880C02L,
+            0x20A1101032088480L, 0x0080100408082800L, 0x28100401140401C0L, 0x8002102200930012L,
+            0x4001040082080200L, 0x082200A498081808L, 0x000508610080D003L, 0x0052020044842402L,
+            0x4800A00140C84840L, 0x5000000848080820L, 0x0101086004240040L, 0x0028280808005014L
+    };
+
+    /**
+     * The relevant occupancy mask, shift and table offset of every tile
+     */
+    private static final long[] ROOK_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] ROOK_OFFSETS = new int[BoardUtils.NUM_TILES];
+    private static final long[] BISHOP_MASKS = new long[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_SHIFTS = new int[BoardUtils.NUM_TILES];
+    private static final int[] BISHOP_OFFSETS = new int[BoardUtils.NUM_TILES];
+
+    /**
+     * The attack tables shared by all tiles (each tile owns the slice starting at its offset)
+     */
+    private static final long[] ROOK_ATTACKS = initAttacks(BitBoard.ROOK_DIRECTIONS, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS);
+    private static final long[] BISHOP_ATTACKS = initAttacks(BitBoard.BISHOP_DIRECTIONS, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+
+    private MagicBitBoards() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Gets the tiles a rook on a tile attacks
+     * @param tileCoordinate the tile the rook is on
+     * @param occupancy the occupied tiles
+     * @return the attacked tiles (including the blocking tiles)
+     */
+    public static long getRookAttacks(final int tileCoordinate, final long occupancy) {
+        return ROOK_ATTACKS[ROOK_OFFSETS[tileCoordinate] +
+                (int) (((occupancy & ROOK_MASKS[tileCoordinate]) * ROOK_MAGICS[tileCoordinate]) >>> ROOK_SHIFTS[tileCoordinate])];
+    }
+
+    /**
+     * Gets the tiles a bishop on a tile attacks
+     * @param tileCoordinate the tile the bishop is on
+     * @param occupancy the occupied tiles
+     * @return the attacked tiles (including the blocking tiles)
+     */
+    public static long getBishopAttacks(final int tileCoordinate, final long occupancy) {
+        return BISHOP_ATTACKS[BISHOP_OFFSETS[tileCoordinate] +
+                (int) (((occupancy & BISHOP_MASKS[tileCoordinate]) * BISHOP_MAGICS[tileCoordinate]) >>> BISHOP_SHIFTS[tileCoordinate])];
+    }
+
+    /**
+     * Gets the tiles a queen on a tile attacks
+     * @param tileCoordinate the tile the queen is on
+     * @param occupancy the occupied tiles
+     * @return the attacked tiles (including the blocking tiles)
+     */
+    public static long getQueenAttacks(final int tileCoordinate, final long occupancy) {
+        return getRookAttacks(tileCoordinate, occupancy) | getBishopAttacks(tileCoordinate, occupancy);
+    }
+
+    /**
+     * Builds the masks and attack table for one kind of slider
+     * @param directions the row/column steps of the slider
+     * @param masks filled with the relevant occupancy mask of every tile
+     * @param magics the magic number of every tile
+     * @param shifts filled with the index shift of every tile
+     * @param offsets filled with the offset of every tile's slice of the table
+     * @return the attack table
+     */
+    private static long[] initAttacks(final int[][] directions,
+                                      final long[] masks,
+                                      final long[] magics,
+                                      final int[] shifts,
+                                      final int[] offsets) {
+        int tableSize = 0;
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            masks[i] = relevantOccupancyMask(i, directions);
+            shifts[i] = Long.SIZE - Long.bitCount(masks[i]);
+            offsets[i] = tableSize;
+            tableSize += 1 << Long.bitCount(masks[i]);
+        }
+
+        final long[] attacks = new long[tableSize];
+        final boolean[] filled = new boolean[tableSize];
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            // Enumerate every subset of the mask (carry-rippler) and store its attacks
+            long occupancy = 0L;
+            do {
+                final int index = offsets[i] + (int) ((occupancy * magics[i]) >>> shifts[i]);
+                final long reference = BitBoard.slidingAttacks(i, occupancy, directions);
+                if (filled[index] && attacks[index] != reference) {
+                    throw new IllegalStateException("Bad magic number for tile " + i);
+                }
+                attacks[index] = reference;
+                filled[index] = true;
+                occupancy = (occupancy - masks[i]) & masks[i];
+            } while (occupancy != 0);
+        }
+        return attacks;
+    }
+
+    /**
+     * Gets the tiles whose occupancy can change a slider's attacks (the edge tile of each ray never blocks anything)
+     * @param tileCoordinate the tile the slider is on
+     * @param directions the row/column steps of the slider
+     * @return the relevant occupancy mask
+     */
+    private static long relevantOccupancyMask(final int tileCoordinate, final int[][] directions) {
+        long mask = 0L;
+        final int row = tileCoordinate / BoardUtils.NUM_TILES_PER_ROW;
+        final int column = tileCoordinate % BoardUtils.NUM_TILES_PER_ROW;
+        for (final int[] direction : directions) {
+            int r = row + direction[0];
+            int c = column + direction[1];
+            while (isOnBoard(r + direction[0], c + direction[1])) {
+                mask |= BitBoard.tileMask(r * BoardUtils.NUM_TILES_PER_ROW + c);
+                r += direction[0];
+                c += direction[1];
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Determines if a row and column are on the board
+     * @param row the row
+     * @param column the column
+     * @return true if the row and column are on the board
+     */
+    private static boolean isOnBoard(final int row, final int column) {
+        return row >= 0 && row < BoardUtils.NUM_TILES_PER_ROW && column >= 0 && column < BoardUtils.NUM_TILES_PER_ROW;
+    }
+}
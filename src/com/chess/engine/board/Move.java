@@ -2,8 +2,11 @@ package com.chess.engine.board;
 
 import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
 import com.chess.engine.pieces.Rook;
 
+import java.util.Objects;
+
 import static com.chess.engine.board.Board.*;
 
 /**
@@ -44,13 +47,13 @@ public abstract class Move {
 
     @Override
     public int hashCode() {
-        System.out.println();
         final int prime = 31;
         int result = 1;
 
         result = prime * result + this.movedPiece.getPiecePosition();
         result = prime *result + this.destinationCoordinate;
         result = prime *result +this.movedPiece.hashCode();
+        result = prime *result + Objects.hashCode(getPromotionType());
         return result;
     }
 
@@ -66,7 +69,8 @@ public abstract class Move {
         final Move otherMove = (Move) other;
         return this.getCurrentCoordinate()==otherMove.getCurrentCoordinate() &&
                 this.getDestinationCoordinate() == otherMove.getDestinationCoordinate() &&
-                this.getAttackedPiece().equals(otherMove.getAttackedPiece());
+                Objects.equals(this.getAttackedPiece(), otherMove.getAttackedPiece()) &&
+                this.getPromotionType() == otherMove.getPromotionType();
 
     }
 
@@ -103,11 +107,19 @@ public abstract class Move {
         return false;
     }
 
+    /**
+     * Gets the type of piece a pawn is promoted to
+     * @return the promotion piece type or null if the move is not a promotion
+     */
+    public PieceType getPromotionType() {
+        return null;
+    }
+
     /**
      * Gets the current position of the piece before it is moved
      * @return the coordinate of the piece before it is moved
      */
-    private int getCurrentCoordinate() {
+    public int getCurrentCoordinate() {
         return this.movedPiece.getPiecePosition();
     }
 
@@ -121,20 +133,10 @@ public abstract class Move {
     }
 
     public Board execute() {
-        // Use a builder to create a new board
-        final Builder builder = new Builder();
-
-        // set the current player's pieces
-        for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-            if (!this.movedPiece.equals(piece)) {
-                builder.setPiece(piece);
-            }
-        }
-        // Set the opponent's pieces
-        for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-            builder.setPiece(piece);
-        }
-        // Set the piece to the new location
+        // Start from the pieces of the current board
+        final Builder builder = new Builder(this.board);
+        // Move the piece (this replaces a captured piece on the destination tile)
+        builder.clearPiece(this.movedPiece.getPiecePosition());
         builder.setPiece(this.movedPiece.movePiece(this));
         // Set the move maker to the opponent
         builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
@@ -177,11 +179,6 @@ public abstract class Move {
             this.attackedPiece = attackedPiece;
         }
 
-        @Override
-        public Board execute() {
-            return null;
-        }
-
         @Override
         public boolean isAttack() {
             return true;
@@ -224,7 +221,7 @@ public abstract class Move {
          * @param piece                 the piece being moved
          * @param destinationCoordinate the location the piece is being moved to
          */
-        private PawnMove(final Board board, final Piece piece, final int destinationCoordinate) {
+        public PawnMove(final Board board, final Piece piece, final int destinationCoordinate) {
             super(board, piece, destinationCoordinate);
         }
     }
@@ -242,7 +239,7 @@ public abstract class Move {
          * @param piece                 the piece being moved
          * @param destinationCoordinate the location the piece is being moved to
          */
-        private PawnAttackMove(final Board board, final Piece piece, final int destinationCoordinate, final Piece attackedPiece) {
+        public PawnAttackMove(final Board board, final Piece piece, final int destinationCoordinate, final Piece attackedPiece) {
             super(board, piece, destinationCoordinate, attackedPiece);
         }
     }
@@ -257,11 +254,74 @@ public abstract class Move {
          * @param board                 the board
          * @param piece                 the piece being moved
          * @param destinationCoordinate the location the piece is being moved to
-         * @param attackedPiece
+         * @param attackedPiece         the pawn being captured (it is not on the destination tile)
          */
-        private PawnEnPassantAtttackMove(Board board, Piece piece, int destinationCoordinate, Piece attackedPiece) {
+        public PawnEnPassantAtttackMove(final Board board, final Piece piece, final int destinationCoordinate, final Piece attackedPiece) {
             super(board, piece, destinationCoordinate, attackedPiece);
         }
+
+        @Override
+        public Board execute() {
+            final Builder builder = new Builder(this.board);
+            builder.clearPiece(this.movedPiece.getPiecePosition());
+            // The captured pawn is behind the destination tile so it has to be removed
+            builder.clearPiece(this.getAttackedPiece().getPiecePosition());
+            builder.setPiece(this.movedPiece.movePiece(this));
+            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            return builder.build();
+        }
+    }
+
+    /**
+     * Representation of a pawn reaching the last rank and being promoted
+     */
+    public static final class PawnPromotion extends Move {
+
+        /**
+         * The pawn move (or pawn attack move) that reaches the last rank
+         */
+        final Move decoratedMove;
+        /**
+         * The type of piece the pawn becomes
+         */
+        final PieceType promotionType;
+
+        /**
+         * Constructor
+         *
+         * @param decoratedMove the pawn move that reaches the last rank
+         * @param promotionType the type of piece the pawn becomes
+         */
+        public PawnPromotion(final Move decoratedMove, final PieceType promotionType) {
+            super(decoratedMove.board, decoratedMove.movedPiece, decoratedMove.destinationCoordinate);
+            this.decoratedMove = decoratedMove;
+            this.promotionType = promotionType;
+        }
+
+        @Override
+        public Board execute() {
+            final Builder builder = new Builder(this.board);
+            builder.clearPiece(this.movedPiece.getPiecePosition());
+            // The pawn is replaced by the promoted piece (which also replaces any captured piece)
+            builder.setPiece(this.promotionType.createPiece(this.destinationCoordinate, this.movedPiece.getPieceAlliance(), false));
+            builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
+            return builder.build();
+        }
+
+        @Override
+        public boolean isAttack() {
+            return this.decoratedMove.isAttack();
+        }
+
+        @Override
+        public Piece getAttackedPiece() {
+            return this.decoratedMove.getAttackedPiece();
+        }
+
+        @Override
+        public PieceType getPromotionType() {
+            return this.promotionType;
+        }
     }
 
     /**
@@ -276,21 +336,14 @@ public abstract class Move {
          * @param piece                 the piece being moved
          * @param destinationCoordinate the location the piece is being moved to
          */
-        private PawnJump(final Board board, final Piece piece, final int destinationCoordinate) {
+        public PawnJump(final Board board, final Piece piece, final int destinationCoordinate) {
             super(board, piece, destinationCoordinate);
         }
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-            }
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearPiece(this.movedPiece.getPiecePosition());
             // Move the pawn
             final Pawn movedPawn = (Pawn) this.movedPiece.movePiece(this);
             builder.setPiece(movedPawn);
@@ -343,19 +396,11 @@ public abstract class Move {
 
         @Override
         public Board execute() {
-            final Builder builder = new Builder();
-            for (final Piece piece : this.board.getCurrentPlayer().getActivePieces()) {
-                if (!this.movedPiece.equals(piece) && !this.castleRook.equals(piece)) {
-                    builder.setPiece(piece);
-                }
-
-            }
-            for (final Piece piece : this.board.getCurrentPlayer().getOpponent().getActivePieces()) {
-                builder.setPiece(piece);
-            }
+            final Builder builder = new Builder(this.board);
+            builder.clearPiece(this.movedPiece.getPiecePosition());
+            builder.clearPiece(this.castleRookStart);
             builder.setPiece(this.movedPiece.movePiece(this));
-            builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
-            // TODO look into the first move on normal piece
+            builder.setPiece(PieceType.ROOK.createPiece(this.castleRookDestination, this.castleRook.getPieceAlliance(), false));
             builder.setMoveMaker(this.board.getCurrentPlayer().getOpponent().getAlliance());
 
             return builder.build();
@@ -431,19 +476,74 @@ public abstract class Move {
         }
 
         /**
-         * Creates a move
+         * Creates a move, promoting to a queen if the move is a promotion
          * @param board the board
          * @param currentCoordinate current coordinate of the piece being moved
          * @param destinationCoordinate destination coordinate of the piece being moved
-         * @return
+         * @return the current player's legal move or the null move if there is none
          */
         public static Move createMove(final Board board, final int currentCoordinate, final int destinationCoordinate) {
-            for (final Move move : board.getAllLegalMoves()) {
-                if (move.getCurrentCoordinate() == currentCoordinate && move.getDestinationCoordinate() == destinationCoordinate) {
-                    return move;
-                }
+            final Move move = board.getLegalMove(currentCoordinate, destinationCoordinate, null);
+            return move != NULL_MOVE ? move : board.getLegalMove(currentCoordinate, destinationCoordinate, PieceType.QUEEN);
+        }
+
+        /**
+         * Creates a move
+         * @param board the board
+         * @param currentCoordinate current coordinate of the piece being moved
+         * @param destinationCoordinate destination coordinate of the piece being moved
+         * @param promotionType the type a pawn is promoted to, or null if the move isn't a promotion
+         * @return the current player's legal move or the null move if there is none
+         */
+        public static Move createMove(final Board board,
+                                      final int currentCoordinate,
+                                      final int destinationCoordinate,
+                                      final PieceType promotionType) {
+            return board.getLegalMove(currentCoordinate, destinationCoordinate, promotionType);
+        }
+
+        /**
+         * Creates the move object for a packed move (see {@link PackedMove}) generated for a board's position
+         * @param board the board
+         * @param packedMove the packed move
+         * @return the move
+         */
+        public static Move createMove(final Board board, final int packedMove) {
+            if (packedMove == PackedMove.NULL_MOVE) {
+                return NULL_MOVE;
+            }
+            final int currentCoordinate = PackedMove.getCurrentCoordinate(packedMove);
+            final int destinationCoordinate = PackedMove.getDestinationCoordinate(packedMove);
+            final Piece movedPiece = board.getPiece(currentCoordinate);
+            final Piece attackedPiece = board.getPiece(destinationCoordinate);
+
+            switch (PackedMove.getFlag(packedMove)) {
+                case PackedMove.KING_SIDE_CASTLE:
+                    return new KingSideCastleMove(board, movedPiece, destinationCoordinate,
+                                                  (Rook) board.getPiece(destinationCoordinate + 1),
+                                                  destinationCoordinate + 1, destinationCoordinate - 1);
+                case PackedMove.QUEEN_SIDE_CASTLE:
+                    return new QueenSideCastleMove(board, movedPiece, destinationCoordinate,
+                                                   (Rook) board.getPiece(destinationCoordinate - 2),
+                                                   destinationCoordinate - 2, destinationCoordinate + 1);
+                case PackedMove.EN_PASSANT:
+                    return new PawnEnPassantAtttackMove(board, movedPiece, destinationCoordinate, board.getEnPassantPawn());
+                case PackedMove.PAWN_JUMP:
+                    return new PawnJump(board, movedPiece, destinationCoordinate);
+                default:
+                    break;
+            }
+
+            final Move move;
+            if (movedPiece.getPieceType() == PieceType.PAWN) {
+                move = attackedPiece == null ? new PawnMove(board, movedPiece, destinationCoordinate) :
+                                               new PawnAttackMove(board, movedPiece, destinationCoordinate, attackedPiece);
+            } else {
+                move = attackedPiece == null ? new MajorMove(board, movedPiece, destinationCoordinate) :
+                                               new AttackMove(board, movedPiece, destinationCoordinate, attackedPiece);
             }
-            return NULL_MOVE;
+            final PieceType promotionType = PackedMove.getPromotionType(packedMove);
+            return promotionType == null ? move : new PawnPromotion(move, promotionType);
         }
 
     }
@@ -0,0 +1,552 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: MoveGenerator.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Generates the moves of a {@link Position} as packed moves (see {@link PackedMove}) into a reusable {@link MoveList},
+ * so generating moves creates no objects.
+ */
+public final class MoveGenerator {
+
+    /**
+     * The pieces a pawn can be promoted to, best first
+     */
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
+    /**
+     * The tiles a white pawn lands on after moving one tile from its starting rank (the third rank)
+     */
+    private static final long WHITE_JUMP_RANK = 0x0000FF0000000000L;
+    /**
+     * The tiles a black pawn lands on after moving one tile from its starting rank (the sixth rank)
+     */
+    private static final long BLACK_JUMP_RANK = 0x0000000000FF0000L;
+    /**
+     * The tiles a pawn is promoted on (the eighth rank for white, the first for black)
+     */
+    private static final long WHITE_PROMOTION_RANK = 0x00000000000000FFL;
+    private static final long BLACK_PROMOTION_RANK = 0xFF00000000000000L;
+
+    /**
+     * The tiles that must be empty for each castle
+     */
+    private static final long WHITE_KING_SIDE_CASTLE_PATH = BitBoard.tileMask(61) | BitBoard.tileMask(62);
+    private static final long WHITE_QUEEN_SIDE_CASTLE_PATH = BitBoard.tileMask(57) | BitBoard.tileMask(58) | BitBoard.tileMask(59);
+    private static final long BLACK_KING_SIDE_CASTLE_PATH = BitBoard.tileMask(5) | BitBoard.tileMask(6);
+    private static final long BLACK_QUEEN_SIDE_CASTLE_PATH = BitBoard.tileMask(1) | BitBoard.tileMask(2) | BitBoard.tileMask(3);
+
+    /**
+     * The kinds of moves to generate
+     */
+    private static final int ALL_MOVES = 0;
+    private static final int CAPTURES = 1;
+    private static final int QUIETS = 2;
+
+    private MoveGenerator() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Generates the legal moves of the side to move. The checking pieces and the pinned pieces are worked out once,
+     * so every move is generated legal instead of being made and tested: in check only moves that capture the
+     * checker or block its line are generated (only king moves in double check), pinned pieces only move along
+     * the pin and the king never moves to an attacked tile.
+     * @param position the position (it is left unchanged)
+     * @param moves the list to add the moves to
+     */
+    public static void generateLegalMoves(final Position position, final MoveList moves) {
+        generateLegalMoves(position, ALL_MOVES, moves);
+    }
+
+    /**
+     * Generates the legal captures and promotions of the side to move, the moves a quiescence search looks at.
+     * Promotions are generated whether they capture or not, since they change the material as much as a capture.
+     * @param position the position (it is left unchanged)
+     * @param moves the list to add the moves to
+     */
+    public static void generateLegalCaptures(final Position position, final MoveList moves) {
+        generateLegalMoves(position, CAPTURES, moves);
+    }
+
+    /**
+     * Generates the legal moves of the side to move that {@link #generateLegalCaptures(Position, MoveList)} leaves
+     * out: the moves that capture nothing and aren't promotions, castles included
+     * @param position the position (it is left unchanged)
+     * @param moves the list to add the moves to
+     */
+    public static void generateLegalQuiets(final Position position, final MoveList moves) {
+        generateLegalMoves(position, QUIETS, moves);
+    }
+
+    /**
+     * Generates the legal moves of the side to move (see {@link #generateLegalMoves(Position, MoveList)})
+     * @param position the position (it is left unchanged)
+     * @param kind {@link #ALL_MOVES}, {@link #CAPTURES} or {@link #QUIETS}
+     * @param moves the list to add the moves to
+     */
+    private static void generateLegalMoves(final Position position, final int kind, final MoveList moves) {
+        final BitBoard bitBoard = position.getBitBoard();
+        final Alliance alliance = position.getSideToMove();
+        final Alliance opponent = position.getOpponent();
+        final long ownPieces = bitBoard.getPieces(alliance);
+        final long occupancy = bitBoard.getAllPieces();
+        final int kingPosition = bitBoard.getKingPosition(alliance);
+        final long checkers = bitBoard.getAttackers(kingPosition, opponent, occupancy);
+        // The tiles a piece may move to before checks and pins are taken into account
+        final long destinations;
+        if (kind == CAPTURES) {
+            destinations = bitBoard.getPieces(opponent);
+        } else if (kind == QUIETS) {
+            destinations = ~occupancy;
+        } else {
+            destinations = ~ownPieces;
+        }
+
+        // The king can't hide behind itself from a slider, so it is taken off the board when testing its destinations
+        final int king = BitBoard.pieceIndex(PieceType.KING, alliance);
+        final long occupancyWithoutKing = occupancy ^ BitBoard.tileMask(kingPosition);
+        for (long tiles = BitBoard.getKingAttacks(kingPosition) & destinations; tiles != 0; tiles &= tiles - 1) {
+            final int to = BitBoard.firstTile(tiles);
+            if (!bitBoard.isTileAttacked(to, opponent, occupancyWithoutKing)) {
+                addMove(position, kingPosition, to, king, moves);
+            }
+        }
+        if ((checkers & (checkers - 1)) != 0) {
+            // Double check: only the king can move
+            return;
+        }
+
+        final long checkMask = checkers == 0 ? -1L : checkers | BitBoard.getBetween(kingPosition, BitBoard.firstTile(checkers));
+        final long pinned = bitBoard.getPinnedPieces(alliance);
+        final long targets = destinations & checkMask;
+
+        generatePawnMoves(position, kingPosition, checkMask, pinned, kind, moves);
+
+        // A pinned knight can never move along the pin
+        final int knight = BitBoard.pieceIndex(PieceType.KNIGHT, alliance);
+        for (long pieces = bitBoard.getPieces(knight) & ~pinned; pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            addMoves(position, from, knight, BitBoard.getKnightAttacks(from) & targets, moves);
+        }
+        final int bishop = BitBoard.pieceIndex(PieceType.BISHOP, alliance);
+        for (long pieces = bitBoard.getPieces(bishop); pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            addMoves(position, from, bishop,
+                     MagicBitBoards.getBishopAttacks(from, occupancy) & targets & pinMask(kingPosition, from, pinned), moves);
+        }
+        final int rook = BitBoard.pieceIndex(PieceType.ROOK, alliance);
+        for (long pieces = bitBoard.getPieces(rook); pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            addMoves(position, from, rook,
+                     MagicBitBoards.getRookAttacks(from, occupancy) & targets & pinMask(kingPosition, from, pinned), moves);
+        }
+        final int queen = BitBoard.pieceIndex(PieceType.QUEEN, alliance);
+        for (long pieces = bitBoard.getPieces(queen); pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            addMoves(position, from, queen,
+                     MagicBitBoards.getQueenAttacks(from, occupancy) & targets & pinMask(kingPosition, from, pinned), moves);
+        }
+
+        if (checkers == 0 && kind != CAPTURES) {
+            generateCastleMoves(position, moves);
+        }
+    }
+
+    /**
+     * Determines if an alliance has any legal move, stopping at the first one found. King moves are tried first
+     * since they need no pin or check information, then captures and blocks by the other pieces. Castling never
+     * needs to be tried: a king that can castle can also step to the tile beside it.
+     * @param bitBoard the bitboards of the pieces
+     * @param alliance the alliance to move
+     * @param enPassantCoordinate the tile a pawn can capture en passant on or {@link Position#NO_EN_PASSANT}
+     * @return true if the alliance can make a move
+     */
+    public static boolean hasLegalMove(final BitBoard bitBoard, final Alliance alliance, final int enPassantCoordinate) {
+        final Alliance opponent = alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long ownPieces = bitBoard.getPieces(alliance);
+        final long occupancy = bitBoard.getAllPieces();
+        final int kingPosition = bitBoard.getKingPosition(alliance);
+
+        final long occupancyWithoutKing = occupancy ^ BitBoard.tileMask(kingPosition);
+        for (long tiles = BitBoard.getKingAttacks(kingPosition) & ~ownPieces; tiles != 0; tiles &= tiles - 1) {
+            if (!bitBoard.isTileAttacked(BitBoard.firstTile(tiles), opponent, occupancyWithoutKing)) {
+                return true;
+            }
+        }
+        final long checkers = bitBoard.getAttackers(kingPosition, opponent, occupancy);
+        if ((checkers & (checkers - 1)) != 0) {
+            return false;
+        }
+
+        final long checkMask = checkers == 0 ? -1L : checkers | BitBoard.getBetween(kingPosition, BitBoard.firstTile(checkers));
+        final long pinned = bitBoard.getPinnedPieces(alliance);
+        final long targets = ~ownPieces & checkMask;
+
+        for (long pieces = bitBoard.getPieces(PieceType.KNIGHT, alliance) & ~pinned; pieces != 0; pieces &= pieces - 1) {
+            if ((BitBoard.getKnightAttacks(BitBoard.firstTile(pieces)) & targets) != 0) {
+                return true;
+            }
+        }
+        final long queens = bitBoard.getPieces(PieceType.QUEEN, alliance);
+        for (long pieces = bitBoard.getPieces(PieceType.BISHOP, alliance) | queens; pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            if ((MagicBitBoards.getBishopAttacks(from, occupancy) & targets & pinMask(kingPosition, from, pinned)) != 0) {
+                return true;
+            }
+        }
+        for (long pieces = bitBoard.getPieces(PieceType.ROOK, alliance) | queens; pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            if ((MagicBitBoards.getRookAttacks(from, occupancy) & targets & pinMask(kingPosition, from, pinned)) != 0) {
+                return true;
+            }
+        }
+
+        final long pawns = bitBoard.getPieces(PieceType.PAWN, alliance);
+        final long opponentPieces = bitBoard.getPieces(opponent);
+        final int forward = BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+        final long jumpRank = alliance.isWhite() ? WHITE_JUMP_RANK : BLACK_JUMP_RANK;
+        for (long pieces = pawns; pieces != 0; pieces &= pieces - 1) {
+            final int from = BitBoard.firstTile(pieces);
+            final long allowed = checkMask & pinMask(kingPosition, from, pinned);
+            if ((BitBoard.getPawnAttacks(alliance, from) & opponentPieces & allowed) != 0) {
+                return true;
+            }
+            final long push = BitBoard.tileMask(from + forward);
+            if ((push & occupancy) == 0) {
+                if ((push & allowed) != 0) {
+                    return true;
+                }
+                if ((push & jumpRank) != 0 &&
+                    (BitBoard.tileMask(from + 2 * forward) & ~occupancy & allowed) != 0) {
+                    return true;
+                }
+            }
+        }
+        if (enPassantCoordinate != Position.NO_EN_PASSANT) {
+            for (long attackers = BitBoard.getPawnAttacks(opponent, enPassantCoordinate) & pawns;
+                 attackers != 0; attackers &= attackers - 1) {
+                if (bitBoard.isEnPassantLegal(BitBoard.firstTile(attackers), enPassantCoordinate,
+                                              enPassantCoordinate - forward, alliance)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the tiles a piece may move to without exposing its king
+     * @param kingPosition the tile of the king
+     * @param from the tile of the piece
+     * @param pinned the pinned pieces
+     * @return the line through the king and the piece if it is pinned, otherwise every tile
+     */
+    private static long pinMask(final int kingPosition, final int from, final long pinned) {
+        return (pinned & BitBoard.tileMask(from)) == 0 ? -1L : BitBoard.getLine(kingPosition, from);
+    }
+
+    /**
+     * Generates the legal pawn moves of the side to move of a kind ({@link #ALL_MOVES}, {@link #CAPTURES} or
+     * {@link #QUIETS})
+     */
+    private static void generatePawnMoves(final Position position,
+                                          final int kingPosition,
+                                          final long checkMask,
+                                          final long pinned,
+                                          final int kind,
+                                          final MoveList moves) {
+        final BitBoard bitBoard = position.getBitBoard();
+        final Alliance alliance = position.getSideToMove();
+        final int pawn = BitBoard.pieceIndex(PieceType.PAWN, alliance);
+        final long pawns = bitBoard.getPieces(pawn);
+        final long empty = ~bitBoard.getAllPieces();
+        final long opponentPieces = bitBoard.getPieces(position.getOpponent());
+        final int forward = BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+
+        // Move every pawn forward at once (white moves towards tile 0, black towards tile 63)
+        final long singlePushes;
+        final long jumps;
+        final long promotionRank;
+        if (alliance.isWhite()) {
+            singlePushes = (pawns >>> BoardUtils.NUM_TILES_PER_ROW) & empty;
+            jumps = ((singlePushes & WHITE_JUMP_RANK) >>> BoardUtils.NUM_TILES_PER_ROW) & empty;
+            promotionRank = WHITE_PROMOTION_RANK;
+        } else {
+            singlePushes = (pawns << BoardUtils.NUM_TILES_PER_ROW) & empty;
+            jumps = ((singlePushes & BLACK_JUMP_RANK) << BoardUtils.NUM_TILES_PER_ROW) & empty;
+            promotionRank = BLACK_PROMOTION_RANK;
+        }
+
+        // Pushes onto the last rank are promotions, which count as captures
+        final long pushMask;
+        if (kind == CAPTURES) {
+            pushMask = promotionRank;
+        } else if (kind == QUIETS) {
+            pushMask = ~promotionRank;
+        } else {
+            pushMask = -1L;
+        }
+        for (long pushes = singlePushes & checkMask & pushMask; pushes != 0; pushes &= pushes - 1) {
+            final int to = BitBoard.firstTile(pushes);
+            final int from = to - forward;
+            if ((pinMask(kingPosition, from, pinned) & BitBoard.tileMask(to)) != 0) {
+                addPawnMove(from, to, pawn, PackedMove.NO_CAPTURE, promotionRank, moves);
+            }
+        }
+        for (long pushes = kind == CAPTURES ? 0L : jumps & checkMask; pushes != 0; pushes &= pushes - 1) {
+            final int to = BitBoard.firstTile(pushes);
+            final int from = to - 2 * forward;
+            if ((pinMask(kingPosition, from, pinned) & BitBoard.tileMask(to)) != 0) {
+                moves.add(PackedMove.encode(from, to, pawn, PackedMove.NO_CAPTURE, PackedMove.PAWN_JUMP));
+            }
+        }
+
+        if (kind == QUIETS) {
+            return;
+        }
+        for (long attackers = pawns; attackers != 0; attackers &= attackers - 1) {
+            final int from = BitBoard.firstTile(attackers);
+            for (long attacks = BitBoard.getPawnAttacks(alliance, from) & opponentPieces & checkMask &
+                                pinMask(kingPosition, from, pinned);
+                 attacks != 0; attacks &= attacks - 1) {
+                final int to = BitBoard.firstTile(attacks);
+                addPawnMove(from, to, pawn, position.getPieceIndex(to), promotionRank, moves);
+            }
+        }
+
+        final int enPassantCoordinate = position.getEnPassantCoordinate();
+        if (enPassantCoordinate != Position.NO_EN_PASSANT) {
+            // The pawns that could capture en passant are the ones an opponent pawn on the en passant tile would attack
+            final int capturedCoordinate = enPassantCoordinate - forward;
+            final int capturedPawn = BitBoard.pieceIndex(PieceType.PAWN, position.getOpponent());
+            for (long attackers = BitBoard.getPawnAttacks(position.getOpponent(), enPassantCoordinate) & pawns;
+                 attackers != 0; attackers &= attackers - 1) {
+                final int from = BitBoard.firstTile(attackers);
+                // Rare enough to test directly, which also covers both pawns leaving the king's row
+                if (bitBoard.isEnPassantLegal(from, enPassantCoordinate, capturedCoordinate, alliance)) {
+                    moves.add(PackedMove.encode(from, enPassantCoordinate, pawn, capturedPawn, PackedMove.EN_PASSANT));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a pawn move, or one promotion for every piece the pawn can become if the move reaches the last rank
+     */
+    private static void addPawnMove(final int from,
+                                    final int to,
+                                    final int pawn,
+                                    final int capturedPiece,
+                                    final long promotionRank,
+                                    final MoveList moves) {
+        if ((promotionRank & BitBoard.tileMask(to)) != 0) {
+            for (final PieceType promotionType : PROMOTION_TYPES) {
+                moves.add(PackedMove.encode(from, to, pawn, capturedPiece, PackedMove.QUIET, promotionType));
+            }
+        } else {
+            moves.add(PackedMove.encode(from, to, pawn, capturedPiece, PackedMove.QUIET));
+        }
+    }
+
+    /**
+     * Generates the castle moves of the side to move, which is not in check. The king can't castle through or into check.
+     */
+    private static void generateCastleMoves(final Position position, final MoveList moves) {
+        if (position.getSideToMove().isWhite()) {
+            final int king = BitBoard.pieceIndex(PieceType.KING, Alliance.WHITE);
+            if (canCastle(position, Position.WHITE_KING_SIDE_CASTLE, WHITE_KING_SIDE_CASTLE_PATH, 61, 62)) {
+                moves.add(PackedMove.encode(60, 62, king, PackedMove.NO_CAPTURE, PackedMove.KING_SIDE_CASTLE));
+            }
+            if (canCastle(position, Position.WHITE_QUEEN_SIDE_CASTLE, WHITE_QUEEN_SIDE_CASTLE_PATH, 59, 58)) {
+                moves.add(PackedMove.encode(60, 58, king, PackedMove.NO_CAPTURE, PackedMove.QUEEN_SIDE_CASTLE));
+            }
+        } else {
+            final int king = BitBoard.pieceIndex(PieceType.KING, Alliance.BLACK);
+            if (canCastle(position, Position.BLACK_KING_SIDE_CASTLE, BLACK_KING_SIDE_CASTLE_PATH, 5, 6)) {
+                moves.add(PackedMove.encode(4, 6, king, PackedMove.NO_CAPTURE, PackedMove.KING_SIDE_CASTLE));
+            }
+            if (canCastle(position, Position.BLACK_QUEEN_SIDE_CASTLE, BLACK_QUEEN_SIDE_CASTLE_PATH, 3, 2)) {
+                moves.add(PackedMove.encode(4, 2, king, PackedMove.NO_CAPTURE, PackedMove.QUEEN_SIDE_CASTLE));
+            }
+        }
+    }
+
+    /**
+     * Determines if the side to move, which is not in check, can castle one way
+     * @param position the position
+     * @param castlingRight the castling rights flag of the castle
+     * @param path the tiles between the king and the rook
+     * @param passedTile the tile the king passes
+     * @param destinationCoordinate the tile the king lands on
+     * @return true if the castle is legal
+     */
+    private static boolean canCastle(final Position position,
+                                     final int castlingRight,
+                                     final long path,
+                                     final int passedTile,
+                                     final int destinationCoordinate) {
+        final BitBoard bitBoard = position.getBitBoard();
+        return (position.getCastlingRights() & castlingRight) != 0 &&
+               (bitBoard.getAllPieces() & path) == 0 &&
+               !bitBoard.isTileAttacked(passedTile, position.getOpponent()) &&
+               !bitBoard.isTileAttacked(destinationCoordinate, position.getOpponent());
+    }
+
+    /**
+     * Determines if a packed move is legal in a position without generating the position's moves. The search uses
+     * it to try moves remembered from other positions (the transposition table's move, killer moves) before
+     * generating anything, so every part of the move is checked: the moved and captured pieces, the flag, the
+     * promotion and the king's safety.
+     * @param position the position
+     * @param move the packed move
+     * @return true if the move is one {@link #generateLegalMoves(Position, MoveList)} would generate
+     */
+    public static boolean isLegal(final Position position, final int move) {
+        if (move == PackedMove.NULL_MOVE) {
+            return false;
+        }
+        final BitBoard bitBoard = position.getBitBoard();
+        final Alliance alliance = position.getSideToMove();
+        final Alliance opponent = position.getOpponent();
+        final int from = PackedMove.getCurrentCoordinate(move);
+        final int to = PackedMove.getDestinationCoordinate(move);
+        final int piece = PackedMove.getMovedPiece(move);
+        final int flag = PackedMove.getFlag(move);
+        if (position.getPieceIndex(from) != piece || BitBoard.pieceAlliance(piece) != alliance) {
+            return false;
+        }
+        final PieceType pieceType = BitBoard.pieceType(piece);
+        final long occupancy = bitBoard.getAllPieces();
+        final int kingPosition = bitBoard.getKingPosition(alliance);
+        final long checkers = bitBoard.getAttackers(kingPosition, opponent, occupancy);
+
+        if (flag == PackedMove.KING_SIDE_CASTLE || flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            final boolean isWhite = alliance.isWhite();
+            final int kingTile = isWhite ? Position.WHITE_KING_TILE : Position.BLACK_KING_TILE;
+            if (flag == PackedMove.KING_SIDE_CASTLE) {
+                return checkers == 0 &&
+                       move == PackedMove.encode(kingTile, kingTile + 2, piece, PackedMove.NO_CAPTURE, flag) &&
+                       canCastle(position, isWhite ? Position.WHITE_KING_SIDE_CASTLE : Position.BLACK_KING_SIDE_CASTLE,
+                                 isWhite ? WHITE_KING_SIDE_CASTLE_PATH : BLACK_KING_SIDE_CASTLE_PATH,
+                                 kingTile + 1, kingTile + 2);
+            }
+            return checkers == 0 &&
+                   move == PackedMove.encode(kingTile, kingTile - 2, piece, PackedMove.NO_CAPTURE, flag) &&
+                   canCastle(position, isWhite ? Position.WHITE_QUEEN_SIDE_CASTLE : Position.BLACK_QUEEN_SIDE_CASTLE,
+                             isWhite ? WHITE_QUEEN_SIDE_CASTLE_PATH : BLACK_QUEEN_SIDE_CASTLE_PATH,
+                             kingTile - 1, kingTile - 2);
+        }
+
+        // The captured piece has to be the one on the destination tile (beside it for en passant)
+        final int capturedPiece;
+        if (flag == PackedMove.EN_PASSANT) {
+            if (pieceType != PieceType.PAWN || to != position.getEnPassantCoordinate()) {
+                return false;
+            }
+            capturedPiece = BitBoard.pieceIndex(PieceType.PAWN, opponent);
+        } else {
+            final int occupant = position.getPieceIndex(to);
+            if (occupant != Position.NO_PIECE && BitBoard.pieceAlliance(occupant) == alliance) {
+                return false;
+            }
+            capturedPiece = occupant == Position.NO_PIECE ? PackedMove.NO_CAPTURE : occupant;
+        }
+        if (PackedMove.getCapturedPiece(move) != capturedPiece) {
+            return false;
+        }
+
+        final long toMask = BitBoard.tileMask(to);
+        if (pieceType == PieceType.PAWN) {
+            final int forward = BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+            final boolean isCapture = capturedPiece != PackedMove.NO_CAPTURE;
+            final boolean isValidStep;
+            if (flag == PackedMove.PAWN_JUMP) {
+                isValidStep = !isCapture && to == from + 2 * forward &&
+                              (BitBoard.tileMask(from + forward) & (alliance.isWhite() ? WHITE_JUMP_RANK : BLACK_JUMP_RANK) & ~occupancy) != 0;
+            } else if (isCapture) {
+                isValidStep = (flag == PackedMove.QUIET || flag == PackedMove.EN_PASSANT) &&
+                              (BitBoard.getPawnAttacks(alliance, from) & toMask) != 0;
+            } else {
+                isValidStep = flag == PackedMove.QUIET && to == from + forward;
+            }
+            final boolean reachesLastRank = ((alliance.isWhite() ? WHITE_PROMOTION_RANK : BLACK_PROMOTION_RANK) & toMask) != 0;
+            if (!isValidStep || PackedMove.isPromotion(move) != reachesLastRank ||
+                (PackedMove.isPromotion(move) && PackedMove.getPromotionType(move).isKing())) {
+                return false;
+            }
+        } else {
+            if (flag != PackedMove.QUIET || PackedMove.isPromotion(move)) {
+                return false;
+            }
+            final long attacks;
+            switch (pieceType) {
+                case KNIGHT:
+                    attacks = BitBoard.getKnightAttacks(from);
+                    break;
+                case BISHOP:
+                    attacks = MagicBitBoards.getBishopAttacks(from, occupancy);
+                    break;
+                case ROOK:
+                    attacks = MagicBitBoards.getRookAttacks(from, occupancy);
+                    break;
+                case QUEEN:
+                    attacks = MagicBitBoards.getQueenAttacks(from, occupancy);
+                    break;
+                default:
+                    attacks = BitBoard.getKingAttacks(from);
+                    break;
+            }
+            if ((attacks & toMask) == 0) {
+                return false;
+            }
+        }
+
+        // The same king safety rules the generator follows
+        if (from == kingPosition) {
+            return !bitBoard.isTileAttacked(to, opponent, occupancy ^ BitBoard.tileMask(kingPosition));
+        }
+        if ((checkers & (checkers - 1)) != 0) {
+            return false;
+        }
+        if (flag == PackedMove.EN_PASSANT) {
+            return bitBoard.isEnPassantLegal(from, to, to - BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection(), alliance);
+        }
+        final long checkMask = checkers == 0 ? -1L : checkers | BitBoard.getBetween(kingPosition, BitBoard.firstTile(checkers));
+        return (checkMask & toMask) != 0 &&
+               (pinMask(kingPosition, from, bitBoard.getPinnedPieces(alliance)) & toMask) != 0;
+    }
+
+    /**
+     * Adds a move from one tile to another
+     */
+    private static void addMove(final Position position, final int from, final int to, final int piece, final MoveList moves) {
+        final int capturedPiece = position.getPieceIndex(to);
+        moves.add(PackedMove.encode(from, to, piece,
+                                    capturedPiece == Position.NO_PIECE ? PackedMove.NO_CAPTURE : capturedPiece,
+                                    PackedMove.QUIET));
+    }
+
+    /**
+     * Adds a move from a tile to every tile in a mask
+     * @param position the position
+     * @param from the tile the piece moves from
+     * @param piece the piece index of the moving piece
+     * @param destinations the destination tiles (never holding the mover's own pieces)
+     * @param moves the list to add the moves to
+     */
+    private static void addMoves(final Position position,
+                                 final int from,
+                                 final int piece,
+                                 final long destinations,
+                                 final MoveList moves) {
+        for (long tiles = destinations; tiles != 0; tiles &= tiles - 1) {
+            addMove(position, from, BitBoard.firstTile(tiles), piece, moves);
+        }
+    }
+}
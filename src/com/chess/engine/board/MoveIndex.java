@@ -0,0 +1,90 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Collection;
+
+/**
+ * File: MoveIndex.java
+ * Date: 10/17/26
+ */
+
+/**
+ * The legal moves of a board indexed by their tiles and promotion type, so a move can be looked up in constant
+ * time instead of by scanning the move list. The index is a small open addressing hash table of move keys with
+ * the moves alongside. It is never changed after it is built, so threads can share it.
+ */
+final class MoveIndex {
+
+    /**
+     * Marks an empty slot (every move key is at least 1)
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * The key of the move in each slot or {@link #EMPTY}
+     */
+    private final int[] keys;
+    /**
+     * The move in each slot
+     */
+    private final Move[] moves;
+    /**
+     * The number of bits of a slot index
+     */
+    private final int indexBits;
+
+    /**
+     * Constructor
+     * @param legalMoves the moves to index
+     */
+    MoveIndex(final Collection<Move> legalMoves) {
+        // At most half full, so a lookup rarely probes more than one or two slots
+        this.indexBits = Math.max(2, Integer.SIZE - Integer.numberOfLeadingZeros(legalMoves.size() * 2));
+        this.keys = new int[1 << this.indexBits];
+        this.moves = new Move[1 << this.indexBits];
+        final int mask = this.keys.length - 1;
+        for (final Move move : legalMoves) {
+            final int key = key(move.getCurrentCoordinate(), move.getDestinationCoordinate(), move.getPromotionType());
+            int slot = slot(key);
+            while (this.keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = key;
+            this.moves[slot] = move;
+        }
+    }
+
+    /**
+     * Looks up a move
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param promotionType the type a pawn is promoted to, or null if the move isn't a promotion
+     * @return the move or {@link Move#NULL_MOVE} if it isn't indexed
+     */
+    Move get(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        final int key = key(currentCoordinate, destinationCoordinate, promotionType);
+        final int mask = this.keys.length - 1;
+        for (int slot = slot(key); this.keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (this.keys[slot] == key) {
+                return this.moves[slot];
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    /**
+     * Gets the slot a key hashes to (Fibonacci hashing keeps the top bits of the key times the golden ratio)
+     */
+    private int slot(final int key) {
+        return (key * 0x9E3779B9) >>> (Integer.SIZE - this.indexBits);
+    }
+
+    /**
+     * Packs the tiles and promotion type of a move into a key
+     */
+    private static int key(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        final int promotion = promotionType == null ? 0 : promotionType.ordinal() + 1;
+        return ((promotion << 12) | (destinationCoordinate << 6) | currentCoordinate) + 1;
+    }
+}
@@ -0,0 +1,133 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+/**
+ * File: MoveList.java
+ * Date: 10/17/26
+ */
+
+/**
+ * A reusable buffer of packed moves (see {@link PackedMove}). The engine keeps one per ply and clears it
+ * instead of creating a new list for every position.
+ */
+public final class MoveList {
+
+    /**
+     * More moves than any legal chess position has
+     */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /**
+     * The packed moves
+     */
+    private int[] moves;
+    /**
+     * The number of moves in the list
+     */
+    private int size;
+
+    /**
+     * Constructor
+     */
+    public MoveList() {
+        this.moves = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a move to the end of the list
+     * @param move the packed move
+     */
+    public void add(final int move) {
+        if (this.size == this.moves.length) {
+            this.moves = Arrays.copyOf(this.moves, this.moves.length * 2);
+        }
+        this.moves[this.size++] = move;
+    }
+
+    /**
+     * Gets a move
+     * @param index the index of the move
+     * @return the packed move
+     */
+    public int get(final int index) {
+        return this.moves[index];
+    }
+
+    /**
+     * Replaces a move
+     * @param index the index of the move
+     * @param move the packed move
+     */
+    public void set(final int index, final int move) {
+        this.moves[index] = move;
+    }
+
+    /**
+     * Swaps two moves
+     * @param first the index of the first move
+     * @param second the index of the second move
+     */
+    public void swap(final int first, final int second) {
+        final int move = this.moves[first];
+        this.moves[first] = this.moves[second];
+        this.moves[second] = move;
+    }
+
+    /**
+     * Gets the number of moves
+     * @return the number of moves in the list
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determines if the list has no moves
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Determines if the list holds a move
+     * @param move the packed move
+     * @return true if the move is in the list
+     */
+    public boolean contains(final int move) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.moves[i] == move) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Removes every move so the list can be reused
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * Shrinks the list to its first moves
+     * @param size the number of moves to keep
+     */
+    public void truncate(final int size) {
+        this.size = size;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < this.size; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(PackedMove.toString(this.moves[i]));
+        }
+        return builder.append(']').toString();
+    }
+}
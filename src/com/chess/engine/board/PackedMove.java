@@ -0,0 +1,201 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: PackedMove.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Encodes a move in a single int so the engine can generate and store moves without creating objects.
+ *
+ * Bits 0-5 hold the tile the piece moves from, bits 6-11 the tile it moves to, bits 12-15 the piece index of the
+ * moved piece, bits 16-19 the piece index of the captured piece (or {@link #NO_CAPTURE}), bits 20-22 the move flag
+ * and bits 23-25 the ordinal of the piece type a pawn is promoted to (0 for no promotion, since a pawn can't be
+ * promoted to a pawn). The whole move fits in 26 bits, and 0 is never a valid move.
+ */
+public final class PackedMove {
+
+    /**
+     * Represents no move
+     */
+    public static final int NULL_MOVE = 0;
+
+    /**
+     * The captured piece value of a move that doesn't capture
+     */
+    public static final int NO_CAPTURE = 0xF;
+
+    /**
+     * The move flags
+     */
+    public static final int QUIET = 0;
+    public static final int PAWN_JUMP = 1;
+    public static final int KING_SIDE_CASTLE = 2;
+    public static final int QUEEN_SIDE_CASTLE = 3;
+    public static final int EN_PASSANT = 4;
+
+    /**
+     * The number of bits used by a move
+     */
+    public static final int MOVE_BITS = 26;
+
+    private static final int TO_SHIFT = 6;
+    private static final int PIECE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 16;
+    private static final int FLAG_SHIFT = 20;
+    private static final int PROMOTION_SHIFT = 23;
+
+    /**
+     * Cached values() of the piece types, indexed by ordinal
+     */
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private PackedMove() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Packs a move into an int
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param movedPiece the piece index of the moved piece
+     * @param capturedPiece the piece index of the captured piece or {@link #NO_CAPTURE}
+     * @param flag the move flag
+     * @param promotionType the type a pawn is promoted to or null
+     * @return the packed move
+     */
+    public static int encode(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final int movedPiece,
+                             final int capturedPiece,
+                             final int flag,
+                             final PieceType promotionType) {
+        return currentCoordinate |
+               (destinationCoordinate << TO_SHIFT) |
+               (movedPiece << PIECE_SHIFT) |
+               (capturedPiece << CAPTURED_SHIFT) |
+               (flag << FLAG_SHIFT) |
+               ((promotionType == null ? 0 : promotionType.ordinal()) << PROMOTION_SHIFT);
+    }
+
+    /**
+     * Packs a move that isn't a promotion into an int
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param movedPiece the piece index of the moved piece
+     * @param capturedPiece the piece index of the captured piece or {@link #NO_CAPTURE}
+     * @param flag the move flag
+     * @return the packed move
+     */
+    public static int encode(final int currentCoordinate,
+                             final int destinationCoordinate,
+                             final int movedPiece,
+                             final int capturedPiece,
+                             final int flag) {
+        return currentCoordinate |
+               (destinationCoordinate << TO_SHIFT) |
+               (movedPiece << PIECE_SHIFT) |
+               (capturedPiece << CAPTURED_SHIFT) |
+               (flag << FLAG_SHIFT);
+    }
+
+    /**
+     * Gets the tile the piece moves from
+     * @param move the packed move
+     * @return the current coordinate
+     */
+    public static int getCurrentCoordinate(final int move) {
+        return move & 0x3F;
+    }
+
+    /**
+     * Gets the tile the piece moves to
+     * @param move the packed move
+     * @return the destination coordinate
+     */
+    public static int getDestinationCoordinate(final int move) {
+        return (move >>> TO_SHIFT) & 0x3F;
+    }
+
+    /**
+     * Gets the piece index of the moved piece
+     * @param move the packed move
+     * @return the moved piece index
+     */
+    public static int getMovedPiece(final int move) {
+        return (move >>> PIECE_SHIFT) & 0xF;
+    }
+
+    /**
+     * Gets the piece index of the captured piece
+     * @param move the packed move
+     * @return the captured piece index or {@link #NO_CAPTURE}
+     */
+    public static int getCapturedPiece(final int move) {
+        return (move >>> CAPTURED_SHIFT) & 0xF;
+    }
+
+    /**
+     * Gets the move flag
+     * @param move the packed move
+     * @return the move flag
+     */
+    public static int getFlag(final int move) {
+        return (move >>> FLAG_SHIFT) & 0x7;
+    }
+
+    /**
+     * Gets the type a pawn is promoted to
+     * @param move the packed move
+     * @return the promotion type or null if the move is not a promotion
+     */
+    public static PieceType getPromotionType(final int move) {
+        final int promotion = (move >>> PROMOTION_SHIFT) & 0x7;
+        return promotion == 0 ? null : PIECE_TYPES[promotion];
+    }
+
+    /**
+     * Determines if a move captures a piece
+     * @param move the packed move
+     * @return true if the move is a capture (including en passant)
+     */
+    public static boolean isCapture(final int move) {
+        return getCapturedPiece(move) != NO_CAPTURE;
+    }
+
+    /**
+     * Determines if a move promotes a pawn
+     * @param move the packed move
+     * @return true if the move is a promotion
+     */
+    public static boolean isPromotion(final int move) {
+        return ((move >>> PROMOTION_SHIFT) & 0x7) != 0;
+    }
+
+    /**
+     * Determines if a move is a castle
+     * @param move the packed move
+     * @return true if the move is a king or queen side castle
+     */
+    public static boolean isCastle(final int move) {
+        final int flag = getFlag(move);
+        return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+    }
+
+    /**
+     * Creates the coordinate notation of a move (for example e2e4 or a7a8q)
+     * @param move the packed move
+     * @return the move in coordinate notation
+     */
+    public static String toString(final int move) {
+        if (move == NULL_MOVE) {
+            return "0000";
+        }
+        final PieceType promotionType = getPromotionType(move);
+        return BoardUtils.getPositionAtCoordinate(getCurrentCoordinate(move)) +
+               BoardUtils.getPositionAtCoordinate(getDestinationCoordinate(move)) +
+               (promotionType == null ? "" : promotionType.toString().toLowerCase());
+    }
+}
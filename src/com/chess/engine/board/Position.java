@@ -0,0 +1,650 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Pawn;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.Arrays;
+
+/**
+ * File: Position.java
+ * Date: 10/17/26
+ */
+
+/**
+ * A mutable position used by the engine to walk the game tree. Moves are made and unmade in place,
+ * with everything needed to unmake a move kept on an undo stack, so no objects are created per move.
+ * A {@link Board} is the immutable snapshot of a position: {@link #Position(Board)} and {@link #toBoard()}
+ * convert between the two.
+ *
+ * A position is not thread safe; every thread searching needs its own.
+ */
+public final class Position {
+
+    /**
+     * The value of an empty tile
+     */
+    public static final int NO_PIECE = -1;
+    /**
+     * The value of the en passant tile when no pawn can be captured en passant
+     */
+    public static final int NO_EN_PASSANT = -1;
+
+    /**
+     * The castling rights flags
+     */
+    public static final int WHITE_KING_SIDE_CASTLE = 1;
+    public static final int WHITE_QUEEN_SIDE_CASTLE = 2;
+    public static final int BLACK_KING_SIDE_CASTLE = 4;
+    public static final int BLACK_QUEEN_SIDE_CASTLE = 8;
+
+    /**
+     * The home tiles of the kings and rooks
+     */
+    static final int WHITE_KING_TILE = 60;
+    static final int BLACK_KING_TILE = 4;
+    static final int WHITE_KING_SIDE_ROOK_TILE = 63;
+    static final int WHITE_QUEEN_SIDE_ROOK_TILE = 56;
+    static final int BLACK_KING_SIDE_ROOK_TILE = 7;
+    static final int BLACK_QUEEN_SIDE_ROOK_TILE = 0;
+
+    /**
+     * The castling rights kept when a piece moves from or to each tile
+     */
+    private static final int[] CASTLING_RIGHTS_MASK = initCastlingRightsMask();
+
+    /**
+     * Layout of an undo stack entry (the packed move is in the low 32 bits)
+     */
+    private static final int UNDO_CASTLING_SHIFT = 32;
+    private static final int UNDO_EN_PASSANT_SHIFT = 36;
+    private static final int UNDO_HALF_MOVE_SHIFT = 43;
+
+    /**
+     * The initial size of the undo stack (it grows if a game gets longer)
+     */
+    private static final int INITIAL_UNDO_CAPACITY = 256;
+
+    /**
+     * The bitboards of the pieces (updated in place)
+     */
+    private final BitBoard bitBoard;
+    /**
+     * The piece index on each tile or {@link #NO_PIECE}
+     */
+    private final int[] boardPieces;
+    /**
+     * The alliance to make the next move
+     */
+    private Alliance sideToMove;
+    /**
+     * The castling rights flags still available
+     */
+    private int castlingRights;
+    /**
+     * The tile a pawn can move to when capturing en passant or {@link #NO_EN_PASSANT}
+     */
+    private int enPassantCoordinate;
+    /**
+     * The number of moves since the last capture or pawn move
+     */
+    private int halfMoveClock;
+    /**
+     * The number of the current full move (starts at 1 and goes up after black moves)
+     */
+    private int fullMoveNumber;
+    /**
+     * The undo information for every move made
+     */
+    private long[] undoStack;
+    /**
+     * The Zobrist key before each move on the undo stack
+     */
+    private long[] keyHistory;
+    /**
+     * The Zobrist key of the position, updated as moves are made
+     */
+    private long zobristKey;
+    /**
+     * The number of moves on the undo stack
+     */
+    private int undoSize;
+    /**
+     * The state of the game, remembered until the next move is made or unmade (null until first asked for)
+     */
+    private GameState gameState;
+
+    /**
+     * Constructor for an empty position
+     */
+    private Position() {
+        this.bitBoard = new BitBoard();
+        this.boardPieces = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(this.boardPieces, NO_PIECE);
+        this.sideToMove = Alliance.WHITE;
+        this.enPassantCoordinate = NO_EN_PASSANT;
+        this.fullMoveNumber = 1;
+        this.undoStack = new long[INITIAL_UNDO_CAPACITY];
+        this.keyHistory = new long[INITIAL_UNDO_CAPACITY];
+    }
+
+    /**
+     * Copy constructor. The copy has the same move history, so it can unmake the moves made before it was copied.
+     * @param other the position to copy
+     */
+    public Position(final Position other) {
+        this.bitBoard = new BitBoard(other.bitBoard);
+        this.boardPieces = other.boardPieces.clone();
+        this.sideToMove = other.sideToMove;
+        this.castlingRights = other.castlingRights;
+        this.enPassantCoordinate = other.enPassantCoordinate;
+        this.halfMoveClock = other.halfMoveClock;
+        this.fullMoveNumber = other.fullMoveNumber;
+        this.undoStack = other.undoStack.clone();
+        this.keyHistory = other.keyHistory.clone();
+        this.zobristKey = other.zobristKey;
+        this.undoSize = other.undoSize;
+    }
+
+    /**
+     * Creates a position from a board snapshot
+     * @param board the board
+     */
+    public Position(final Board board) {
+        this();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            final Piece piece = board.getPiece(i);
+            if (piece != null) {
+                putPiece(i, BitBoard.pieceIndex(piece.getPieceType(), piece.getPieceAlliance()));
+            }
+        }
+        this.sideToMove = board.getCurrentPlayer().getAlliance();
+        this.castlingRights = calculateCastlingRights(board);
+        this.enPassantCoordinate = board.getEnPassantCoordinate();
+        this.zobristKey = Zobrist.calculateKey(this.bitBoard, this.sideToMove, this.castlingRights, this.enPassantCoordinate);
+    }
+
+    /**
+     * Creates a position from its parts (as read from FEN). Castling rights whose king or rook isn't on its
+     * starting tile are dropped, and so is an en passant tile without a pawn that just jumped past it.
+     * @param pieceIndices the piece index on each tile or {@link #NO_PIECE} (the array isn't kept)
+     * @param sideToMove the alliance to make the next move
+     * @param castlingRights the castling rights flags
+     * @param enPassantCoordinate the en passant tile or {@link #NO_EN_PASSANT}
+     * @param halfMoveClock the number of moves since the last capture or pawn move
+     * @param fullMoveNumber the number of the current full move
+     */
+    public Position(final int[] pieceIndices,
+                    final Alliance sideToMove,
+                    final int castlingRights,
+                    final int enPassantCoordinate,
+                    final int halfMoveClock,
+                    final int fullMoveNumber) {
+        this();
+        for (int i = 0; i < BoardUtils.NUM_TILES; i++) {
+            if (pieceIndices[i] != NO_PIECE) {
+                putPiece(i, pieceIndices[i]);
+            }
+        }
+        this.sideToMove = sideToMove;
+        this.castlingRights = castlingRights & calculateCastlingRights();
+        this.enPassantCoordinate = isEnPassantTile(enPassantCoordinate) ? enPassantCoordinate : NO_EN_PASSANT;
+        this.halfMoveClock = halfMoveClock;
+        this.fullMoveNumber = Math.max(1, fullMoveNumber);
+        // The piece keys were added as the pieces were put down
+        this.zobristKey ^= (sideToMove.isBlack() ? Zobrist.getBlackToMoveKey() : 0L) ^
+                           Zobrist.getCastlingKey(this.castlingRights) ^
+                           Zobrist.getEnPassantKey(this.bitBoard, this.sideToMove, this.enPassantCoordinate);
+    }
+
+    /**
+     * Creates a board snapshot of the position
+     * @return the board
+     */
+    public Board toBoard() {
+        final Board.Builder builder = new Board.Builder();
+        final Piece[] pieces = new Piece[BoardUtils.NUM_TILES];
+        for (long occupied = this.bitBoard.getAllPieces(); occupied != 0; occupied &= occupied - 1) {
+            final int tile = BitBoard.firstTile(occupied);
+            final PieceType pieceType = BitBoard.pieceType(this.boardPieces[tile]);
+            final Alliance alliance = BitBoard.pieceAlliance(this.boardPieces[tile]);
+            pieces[tile] = pieceType.createPiece(tile, alliance, isFirstMove(tile, pieceType, alliance));
+            builder.setPiece(pieces[tile]);
+        }
+        builder.setMoveMaker(this.sideToMove);
+        if (this.enPassantCoordinate != NO_EN_PASSANT) {
+            // The pawn that jumped belongs to the player who just moved
+            builder.setEnPassantPawn((Pawn) pieces[this.enPassantCoordinate +
+                                                   BoardUtils.NUM_TILES_PER_ROW * getOpponent().getDirection()]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Makes a move in place
+     * @param move the move (it must be legal in this position)
+     */
+    public void makeMove(final Move move) {
+        makeMove(encodeMove(move.getCurrentCoordinate(), move.getDestinationCoordinate(), move.getPromotionType()));
+    }
+
+    /**
+     * Makes a move in place. The move is not checked: it must be legal in this position
+     * (or at least pseudo legal, if the caller checks the king afterwards and unmakes it).
+     * @param move the packed move
+     */
+    public void makeMove(final int move) {
+        final int currentCoordinate = PackedMove.getCurrentCoordinate(move);
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        final int movedPiece = PackedMove.getMovedPiece(move);
+        final int flag = PackedMove.getFlag(move);
+        final PieceType promotionType = PackedMove.getPromotionType(move);
+
+        pushUndo(move);
+        this.gameState = null;
+        // Take out the old castling rights and en passant file, the pieces update the key as they move
+        this.zobristKey ^= Zobrist.getCastlingKey(this.castlingRights) ^
+                           Zobrist.getEnPassantKey(this.bitBoard, this.sideToMove, this.enPassantCoordinate);
+
+        if (flag == PackedMove.EN_PASSANT) {
+            // The captured pawn is beside the moving pawn, not on the destination tile
+            takePiece(destinationCoordinate - BoardUtils.NUM_TILES_PER_ROW * this.sideToMove.getDirection());
+        } else if (PackedMove.isCapture(move)) {
+            takePiece(destinationCoordinate);
+        }
+        takePiece(currentCoordinate);
+        putPiece(destinationCoordinate, promotionType == null ? movedPiece :
+                                        BitBoard.pieceIndex(promotionType, this.sideToMove));
+
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            // Castling also moves the rook to the other side of the king
+            moveRook(destinationCoordinate + 1, destinationCoordinate - 1);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            moveRook(destinationCoordinate - 2, destinationCoordinate + 1);
+        }
+
+        this.castlingRights &= CASTLING_RIGHTS_MASK[currentCoordinate] & CASTLING_RIGHTS_MASK[destinationCoordinate];
+        this.enPassantCoordinate = flag == PackedMove.PAWN_JUMP ?
+                                   (currentCoordinate + destinationCoordinate) / 2 : NO_EN_PASSANT;
+        this.halfMoveClock = BitBoard.pieceType(movedPiece) == PieceType.PAWN || PackedMove.isCapture(move) ?
+                             0 : this.halfMoveClock + 1;
+        if (this.sideToMove.isBlack()) {
+            this.fullMoveNumber++;
+        }
+        this.sideToMove = getOpponent();
+        this.zobristKey ^= Zobrist.getBlackToMoveKey() ^
+                           Zobrist.getCastlingKey(this.castlingRights) ^
+                           Zobrist.getEnPassantKey(this.bitBoard, this.sideToMove, this.enPassantCoordinate);
+    }
+
+    /**
+     * Unmakes the last move made
+     */
+    public void unmakeMove() {
+        if (this.undoSize == 0) {
+            throw new IllegalStateException("There is no move to unmake");
+        }
+        final long undo = this.undoStack[--this.undoSize];
+        this.gameState = null;
+        final int move = (int) undo;
+        final int currentCoordinate = PackedMove.getCurrentCoordinate(move);
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        final int flag = PackedMove.getFlag(move);
+
+        this.sideToMove = getOpponent();
+        if (this.sideToMove.isBlack()) {
+            this.fullMoveNumber--;
+        }
+        this.castlingRights = (int) ((undo >>> UNDO_CASTLING_SHIFT) & 0xF);
+        this.enPassantCoordinate = (int) ((undo >>> UNDO_EN_PASSANT_SHIFT) & 0x7F) - 1;
+        this.halfMoveClock = (int) ((undo >>> UNDO_HALF_MOVE_SHIFT) & 0xFFFF);
+
+        if (flag == PackedMove.KING_SIDE_CASTLE) {
+            moveRook(destinationCoordinate - 1, destinationCoordinate + 1);
+        } else if (flag == PackedMove.QUEEN_SIDE_CASTLE) {
+            moveRook(destinationCoordinate + 1, destinationCoordinate - 2);
+        }
+
+        takePiece(destinationCoordinate);
+        putPiece(currentCoordinate, PackedMove.getMovedPiece(move));
+        if (flag == PackedMove.EN_PASSANT) {
+            putPiece(destinationCoordinate - BoardUtils.NUM_TILES_PER_ROW * this.sideToMove.getDirection(),
+                     PackedMove.getCapturedPiece(move));
+        } else if (PackedMove.isCapture(move)) {
+            putPiece(destinationCoordinate, PackedMove.getCapturedPiece(move));
+        }
+        this.zobristKey = this.keyHistory[this.undoSize];
+    }
+
+    /**
+     * Packs a move of this position, working out the moved and captured pieces and whether
+     * the move is a pawn jump, a castle or an en passant capture
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param promotionType the piece a pawn is promoted to or null
+     * @return the packed move
+     */
+    public int encodeMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        final int movedPiece = this.boardPieces[currentCoordinate];
+        final PieceType movedType = BitBoard.pieceType(movedPiece);
+        final int capturedPiece = this.boardPieces[destinationCoordinate];
+        final int distance = Math.abs(destinationCoordinate - currentCoordinate);
+        if (movedType == PieceType.PAWN && destinationCoordinate == this.enPassantCoordinate) {
+            return PackedMove.encode(currentCoordinate, destinationCoordinate, movedPiece,
+                                     BitBoard.pieceIndex(PieceType.PAWN, getOpponent()), PackedMove.EN_PASSANT);
+        }
+        final int flag;
+        if (movedType == PieceType.PAWN && distance == 2 * BoardUtils.NUM_TILES_PER_ROW) {
+            flag = PackedMove.PAWN_JUMP;
+        } else if (movedType == PieceType.KING && distance == 2) {
+            flag = destinationCoordinate > currentCoordinate ? PackedMove.KING_SIDE_CASTLE : PackedMove.QUEEN_SIDE_CASTLE;
+        } else {
+            flag = PackedMove.QUIET;
+        }
+        return PackedMove.encode(currentCoordinate, destinationCoordinate, movedPiece,
+                                 capturedPiece == NO_PIECE ? PackedMove.NO_CAPTURE : capturedPiece, flag, promotionType);
+    }
+
+    /**
+     * Determines if the side to move is in check
+     * @return true if the king of the side to move is attacked
+     */
+    public boolean isInCheck() {
+        return this.bitBoard.isTileAttacked(this.bitBoard.getKingPosition(this.sideToMove), getOpponent());
+    }
+
+    /**
+     * Gets the state of the game for the side to move. It is worked out the first time it is asked for after
+     * a move, stopping at the first legal move found.
+     * @return the state of the game
+     */
+    public GameState getGameState() {
+        GameState state = this.gameState;
+        if (state == null) {
+            state = GameState.evaluate(this.bitBoard, this.sideToMove, this.enPassantCoordinate);
+            this.gameState = state;
+        }
+        return state;
+    }
+
+    /**
+     * Gets the Zobrist key of the position (see {@link Zobrist})
+     * @return the key
+     */
+    public long getZobristKey() {
+        return this.zobristKey;
+    }
+
+    /**
+     * Determines if the position has occurred before since the last capture or pawn move
+     * @return true if the same pieces, side to move, castling rights and en passant file were seen before
+     */
+    public boolean isRepetition() {
+        // Only positions with the same side to move can repeat, and nothing before the half move clock was reset can
+        final int earliest = Math.max(0, this.undoSize - this.halfMoveClock);
+        for (int i = this.undoSize - 2; i >= earliest; i -= 2) {
+            if (this.keyHistory[i] == this.zobristKey) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the bitboards of the pieces
+     * @return the bitboards (they change as moves are made)
+     */
+    public BitBoard getBitBoard() {
+        return this.bitBoard;
+    }
+
+    /**
+     * Gets the piece on a tile
+     * @param tileCoordinate the tile coordinate
+     * @return the piece index on the tile or {@link #NO_PIECE}
+     */
+    public int getPieceIndex(final int tileCoordinate) {
+        return this.boardPieces[tileCoordinate];
+    }
+
+    /**
+     * Gets the alliance to make the next move
+     * @return the side to move
+     */
+    public Alliance getSideToMove() {
+        return this.sideToMove;
+    }
+
+    /**
+     * Gets the alliance that made the last move
+     * @return the opponent of the side to move
+     */
+    public Alliance getOpponent() {
+        return this.sideToMove.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+
+    /**
+     * Gets the castling rights still available
+     * @return the castling rights flags
+     */
+    public int getCastlingRights() {
+        return this.castlingRights;
+    }
+
+    /**
+     * Gets the tile a pawn can move to when capturing en passant
+     * @return the en passant tile or {@link #NO_EN_PASSANT}
+     */
+    public int getEnPassantCoordinate() {
+        return this.enPassantCoordinate;
+    }
+
+    /**
+     * Gets the number of moves since the last capture or pawn move
+     * @return the half move clock
+     */
+    public int getHalfMoveClock() {
+        return this.halfMoveClock;
+    }
+
+    /**
+     * Gets the number of the current full move
+     * @return the full move number
+     */
+    public int getFullMoveNumber() {
+        return this.fullMoveNumber;
+    }
+
+    /**
+     * Gets the number of moves that can be unmade
+     * @return the size of the undo stack
+     */
+    public int getPly() {
+        return this.undoSize;
+    }
+
+    /**
+     * Gets the last move made
+     * @return the packed move or {@link PackedMove#NULL_MOVE} if no move can be unmade
+     */
+    public int getLastMove() {
+        return this.undoSize == 0 ? PackedMove.NULL_MOVE : (int) this.undoStack[this.undoSize - 1];
+    }
+
+    @Override
+    public String toString() {
+        return toBoard().toString();
+    }
+
+    /**
+     * Saves everything needed to unmake a move: the move itself and the state it overwrites
+     * @param move the packed move
+     */
+    private void pushUndo(final int move) {
+        if (this.undoSize == this.undoStack.length) {
+            this.undoStack = Arrays.copyOf(this.undoStack, this.undoStack.length * 2);
+            this.keyHistory = Arrays.copyOf(this.keyHistory, this.keyHistory.length * 2);
+        }
+        this.keyHistory[this.undoSize] = this.zobristKey;
+        this.undoStack[this.undoSize++] = (move & 0xFFFFFFFFL) |
+                ((long) this.castlingRights << UNDO_CASTLING_SHIFT) |
+                ((long) (this.enPassantCoordinate + 1) << UNDO_EN_PASSANT_SHIFT) |
+                ((long) this.halfMoveClock << UNDO_HALF_MOVE_SHIFT);
+    }
+
+    /**
+     * Moves a rook when castling
+     * @param rookStart the tile the rook moves from
+     * @param rookDestination the tile the rook moves to
+     */
+    private void moveRook(final int rookStart, final int rookDestination) {
+        final int rook = this.boardPieces[rookStart];
+        takePiece(rookStart);
+        putPiece(rookDestination, rook);
+    }
+
+    /**
+     * Puts a piece on an empty tile
+     * @param tileCoordinate the tile coordinate
+     * @param pieceIndex the piece index
+     */
+    private void putPiece(final int tileCoordinate, final int pieceIndex) {
+        this.boardPieces[tileCoordinate] = pieceIndex;
+        this.bitBoard.setPiece(tileCoordinate, pieceIndex);
+        this.zobristKey ^= Zobrist.getPieceKey(pieceIndex, tileCoordinate);
+    }
+
+    /**
+     * Removes the piece from a tile
+     * @param tileCoordinate the tile coordinate
+     */
+    private void takePiece(final int tileCoordinate) {
+        this.zobristKey ^= Zobrist.getPieceKey(this.boardPieces[tileCoordinate], tileCoordinate);
+        this.bitBoard.removePiece(tileCoordinate, this.boardPieces[tileCoordinate]);
+        this.boardPieces[tileCoordinate] = NO_PIECE;
+    }
+
+    /**
+     * Determines if a piece on a board snapshot should be marked as unmoved.
+     * Kings and rooks are unmoved while they still have a castling right, pawns while they are on their starting rank.
+     */
+    private boolean isFirstMove(final int tileCoordinate, final PieceType pieceType, final Alliance alliance) {
+        switch (pieceType) {
+            case KING:
+                return alliance.isWhite() ?
+                       tileCoordinate == WHITE_KING_TILE && (this.castlingRights & (WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE)) != 0 :
+                       tileCoordinate == BLACK_KING_TILE && (this.castlingRights & (BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE)) != 0;
+            case ROOK:
+                return (tileCoordinate == WHITE_KING_SIDE_ROOK_TILE && alliance.isWhite() && (this.castlingRights & WHITE_KING_SIDE_CASTLE) != 0) ||
+                       (tileCoordinate == WHITE_QUEEN_SIDE_ROOK_TILE && alliance.isWhite() && (this.castlingRights & WHITE_QUEEN_SIDE_CASTLE) != 0) ||
+                       (tileCoordinate == BLACK_KING_SIDE_ROOK_TILE && alliance.isBlack() && (this.castlingRights & BLACK_KING_SIDE_CASTLE) != 0) ||
+                       (tileCoordinate == BLACK_QUEEN_SIDE_ROOK_TILE && alliance.isBlack() && (this.castlingRights & BLACK_QUEEN_SIDE_CASTLE) != 0);
+            case PAWN:
+                return alliance.isWhite() ? BoardUtils.SECOND_RANK[tileCoordinate] : BoardUtils.SEVENTH_RANK[tileCoordinate];
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Works out the castling rights of a board from its unmoved kings and rooks
+     * @param board the board
+     * @return the castling rights flags
+     */
+    static int calculateCastlingRights(final Board board) {
+        int castlingRights = 0;
+        if (isUnmoved(board, WHITE_KING_TILE, PieceType.KING, Alliance.WHITE)) {
+            if (isUnmoved(board, WHITE_KING_SIDE_ROOK_TILE, PieceType.ROOK, Alliance.WHITE)) {
+                castlingRights |= WHITE_KING_SIDE_CASTLE;
+            }
+            if (isUnmoved(board, WHITE_QUEEN_SIDE_ROOK_TILE, PieceType.ROOK, Alliance.WHITE)) {
+                castlingRights |= WHITE_QUEEN_SIDE_CASTLE;
+            }
+        }
+        if (isUnmoved(board, BLACK_KING_TILE, PieceType.KING, Alliance.BLACK)) {
+            if (isUnmoved(board, BLACK_KING_SIDE_ROOK_TILE, PieceType.ROOK, Alliance.BLACK)) {
+                castlingRights |= BLACK_KING_SIDE_CASTLE;
+            }
+            if (isUnmoved(board, BLACK_QUEEN_SIDE_ROOK_TILE, PieceType.ROOK, Alliance.BLACK)) {
+                castlingRights |= BLACK_QUEEN_SIDE_CASTLE;
+            }
+        }
+        return castlingRights;
+    }
+
+    /**
+     * Works out the castling rights the kings and rooks on their starting tiles could still have
+     * @return the castling rights flags
+     */
+    private int calculateCastlingRights() {
+        final int whiteKing = BitBoard.pieceIndex(PieceType.KING, Alliance.WHITE);
+        final int whiteRook = BitBoard.pieceIndex(PieceType.ROOK, Alliance.WHITE);
+        final int blackKing = BitBoard.pieceIndex(PieceType.KING, Alliance.BLACK);
+        final int blackRook = BitBoard.pieceIndex(PieceType.ROOK, Alliance.BLACK);
+        int castlingRights = 0;
+        if (this.boardPieces[WHITE_KING_TILE] == whiteKing) {
+            if (this.boardPieces[WHITE_KING_SIDE_ROOK_TILE] == whiteRook) {
+                castlingRights |= WHITE_KING_SIDE_CASTLE;
+            }
+            if (this.boardPieces[WHITE_QUEEN_SIDE_ROOK_TILE] == whiteRook) {
+                castlingRights |= WHITE_QUEEN_SIDE_CASTLE;
+            }
+        }
+        if (this.boardPieces[BLACK_KING_TILE] == blackKing) {
+            if (this.boardPieces[BLACK_KING_SIDE_ROOK_TILE] == blackRook) {
+                castlingRights |= BLACK_KING_SIDE_CASTLE;
+            }
+            if (this.boardPieces[BLACK_QUEEN_SIDE_ROOK_TILE] == blackRook) {
+                castlingRights |= BLACK_QUEEN_SIDE_CASTLE;
+            }
+        }
+        return castlingRights;
+    }
+
+    /**
+     * Determines if a tile is an en passant tile: empty, on the rank the opponent's pawns jump past,
+     * with a pawn of the opponent just beyond it
+     * @param tileCoordinate the tile or {@link #NO_EN_PASSANT}
+     * @return true if a pawn could have just jumped past the tile
+     */
+    private boolean isEnPassantTile(final int tileCoordinate) {
+        if (!BoardUtils.isValidTileCoordinate(tileCoordinate) || this.boardPieces[tileCoordinate] != NO_PIECE) {
+            return false;
+        }
+        final boolean jumpedRank = this.sideToMove.isWhite() ? BoardUtils.SIXTH_RANK[tileCoordinate] : BoardUtils.THIRD_RANK[tileCoordinate];
+        final int pawnTile = tileCoordinate + BoardUtils.NUM_TILES_PER_ROW * getOpponent().getDirection();
+        return jumpedRank && this.boardPieces[pawnTile] == BitBoard.pieceIndex(PieceType.PAWN, getOpponent());
+    }
+
+    /**
+     * Determines if a tile holds an unmoved piece of a type and alliance
+     */
+    private static boolean isUnmoved(final Board board,
+                                     final int tileCoordinate,
+                                     final PieceType pieceType,
+                                     final Alliance alliance) {
+        final Piece piece = board.getPiece(tileCoordinate);
+        return piece != null &&
+               piece.getPieceType() == pieceType &&
+               piece.getPieceAlliance() == alliance &&
+               piece.isFirstMove();
+    }
+
+    /**
+     * Creates the table of castling rights kept when a piece moves from or to each tile
+     * @return the castling rights mask of every tile
+     */
+    private static int[] initCastlingRightsMask() {
+        final int allRights = WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE | BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE;
+        final int[] mask = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(mask, allRights);
+        mask[WHITE_KING_TILE] &= ~(WHITE_KING_SIDE_CASTLE | WHITE_QUEEN_SIDE_CASTLE);
+        mask[BLACK_KING_TILE] &= ~(BLACK_KING_SIDE_CASTLE | BLACK_QUEEN_SIDE_CASTLE);
+        mask[WHITE_KING_SIDE_ROOK_TILE] &= ~WHITE_KING_SIDE_CASTLE;
+        mask[WHITE_QUEEN_SIDE_ROOK_TILE] &= ~WHITE_QUEEN_SIDE_CASTLE;
+        mask[BLACK_KING_SIDE_ROOK_TILE] &= ~BLACK_KING_SIDE_CASTLE;
+        mask[BLACK_QUEEN_SIDE_ROOK_TILE] &= ~BLACK_QUEEN_SIDE_CASTLE;
+        return mask;
+    }
+}
@@ -0,0 +1,134 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.util.SplittableRandom;
+
+/**
+ * File: Zobrist.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Zobrist keys of positions. Every piece on every tile, black to move, every set of castling rights and every
+ * en passant file has a random 64 bit key, and the key of a position is the xor of the keys of everything in it.
+ * Making a move only xors the keys of what changed, so the key can be updated instead of recalculated.
+ *
+ * The en passant file only counts when a pawn can actually capture en passant, so positions that allow the same
+ * moves get the same key.
+ */
+public final class Zobrist {
+
+    /**
+     * The seed of the keys, fixed so keys are the same on every run and can be stored
+     */
+    private static final long SEED = 0x5DEECE66DL;
+
+    /**
+     * The key of each piece index on each tile
+     */
+    private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_BITBOARDS][BoardUtils.NUM_TILES];
+    /**
+     * The key of each combination of castling rights flags
+     */
+    private static final long[] CASTLING_KEYS = new long[16];
+    /**
+     * The key of each en passant column
+     */
+    private static final long[] EN_PASSANT_KEYS = new long[BoardUtils.NUM_TILES_PER_ROW];
+    /**
+     * The key xor'ed in when black is to move
+     */
+    private static final long BLACK_TO_MOVE_KEY;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(SEED);
+        for (final long[] pieceKeys : PIECE_KEYS) {
+            for (int i = 0; i < pieceKeys.length; i++) {
+                pieceKeys[i] = random.nextLong();
+            }
+        }
+        // No castling rights has no key, so a position without rights hashes the same as one that never had them
+        for (int i = 1; i < CASTLING_KEYS.length; i++) {
+            CASTLING_KEYS[i] = random.nextLong();
+        }
+        for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+            EN_PASSANT_KEYS[i] = random.nextLong();
+        }
+        BLACK_TO_MOVE_KEY = random.nextLong();
+    }
+
+    private Zobrist() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Gets the key of a piece on a tile
+     * @param pieceIndex the piece index (see {@link BitBoard#pieceIndex})
+     * @param tileCoordinate the tile coordinate
+     * @return the key
+     */
+    public static long getPieceKey(final int pieceIndex, final int tileCoordinate) {
+        return PIECE_KEYS[pieceIndex][tileCoordinate];
+    }
+
+    /**
+     * Gets the key of a set of castling rights
+     * @param castlingRights the castling rights flags (see {@link Position#getCastlingRights()})
+     * @return the key
+     */
+    public static long getCastlingKey(final int castlingRights) {
+        return CASTLING_KEYS[castlingRights];
+    }
+
+    /**
+     * Gets the key of black to move
+     * @return the key
+     */
+    public static long getBlackToMoveKey() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    /**
+     * Gets the en passant part of a key
+     * @param bitBoard the bitboards of the pieces
+     * @param sideToMove the alliance to move
+     * @param enPassantCoordinate the en passant tile or {@link Position#NO_EN_PASSANT}
+     * @return the key of the en passant column if a pawn of the side to move can capture en passant, otherwise 0
+     */
+    public static long getEnPassantKey(final BitBoard bitBoard, final Alliance sideToMove, final int enPassantCoordinate) {
+        if (enPassantCoordinate == Position.NO_EN_PASSANT) {
+            return 0L;
+        }
+        // The pawns that could capture are the ones a pawn of the other alliance on the en passant tile would attack
+        final Alliance opponent = sideToMove.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+        final long capturingPawns = BitBoard.getPawnAttacks(opponent, enPassantCoordinate) &
+                                    bitBoard.getPieces(PieceType.PAWN, sideToMove);
+        return capturingPawns == 0 ? 0L : EN_PASSANT_KEYS[enPassantCoordinate % BoardUtils.NUM_TILES_PER_ROW];
+    }
+
+    /**
+     * Calculates the key of a position from scratch
+     * @param bitBoard the bitboards of the pieces
+     * @param sideToMove the alliance to move
+     * @param castlingRights the castling rights flags
+     * @param enPassantCoordinate the en passant tile or {@link Position#NO_EN_PASSANT}
+     * @return the key
+     */
+    public static long calculateKey(final BitBoard bitBoard,
+                                    final Alliance sideToMove,
+                                    final int castlingRights,
+                                    final int enPassantCoordinate) {
+        long key = 0L;
+        for (int pieceIndex = 0; pieceIndex < BitBoard.NUM_PIECE_BITBOARDS; pieceIndex++) {
+            for (long pieces = bitBoard.getPieces(pieceIndex); pieces != 0; pieces &= pieces - 1) {
+                key ^= PIECE_KEYS[pieceIndex][BitBoard.firstTile(pieces)];
+            }
+        }
+        if (sideToMove.isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+        return key ^ CASTLING_KEYS[castlingRights] ^ getEnPassantKey(bitBoard, sideToMove, enPassantCoordinate);
+    }
+}
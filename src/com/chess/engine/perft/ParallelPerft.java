@@ -0,0 +1,166 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * File: ParallelPerft.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Runs perft on every core with a {@link ForkJoinPool}. The tree is split into one task per move at the root and
+ * again at the second ply, so even a position with few root moves gives every thread work, and idle threads steal
+ * the tasks left. Below the split each task counts on its own copy of the position with its thread's
+ * {@link Perft}, so the move lists are reused instead of created per task. The threads can share a
+ * {@link PerftCache}.
+ *
+ * Run with: java com.chess.engine.perft.ParallelPerft [depth] [threads] [cache MB, 0 for none] ["FEN"]
+ */
+public final class ParallelPerft {
+
+    /**
+     * The plies split into tasks
+     */
+    private static final int SPLIT_PLIES = 2;
+    /**
+     * The deepest perft the per thread counters can run
+     */
+    private static final int MAX_DEPTH = 64;
+
+    /**
+     * The pool running the tasks
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The counter of each thread
+     */
+    private final ThreadLocal<Perft> counters;
+    /**
+     * The shared cache of counts (null to count without one)
+     */
+    private final PerftCache cache;
+
+    /**
+     * Constructor
+     * @param parallelism the number of threads
+     * @param cache the shared cache of counts, or null to count without one
+     */
+    public ParallelPerft(final int parallelism, final PerftCache cache) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.cache = cache;
+        this.counters = ThreadLocal.withInitial(() -> new Perft(MAX_DEPTH, cache));
+    }
+
+    /**
+     * Counts the leaf positions of a position
+     * @param position the position (it is left unchanged)
+     * @param depth the depth in plies
+     * @return the number of leaf positions
+     */
+    public long perft(final Position position, final int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Perft can't go deeper than " + MAX_DEPTH + ", not " + depth);
+        }
+        return this.pool.invoke(new PerftTask(new Position(position), depth, 0));
+    }
+
+    /**
+     * Stops the threads
+     */
+    public void shutdown() {
+        this.pool.shutdown();
+    }
+
+    /**
+     * Counts the leaves below one position, splitting into a task per move near the root
+     */
+    private final class PerftTask extends RecursiveTask<Long> {
+
+        /**
+         * A task is never serialized (a position isn't serializable), but ForkJoinTask is
+         */
+        private static final long serialVersionUID = 1L;
+
+        private final Position position;
+        private final int depth;
+        private final int ply;
+
+        PerftTask(final Position position, final int depth, final int ply) {
+            this.position = position;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Long compute() {
+            // Near the leaves a task isn't worth its copy of the position
+            if (this.ply >= SPLIT_PLIES || this.depth <= 2) {
+                return counters.get().perft(this.position, this.depth);
+            }
+            final long key = this.position.getZobristKey();
+            if (cache != null) {
+                final long cached = cache.probe(key, this.depth);
+                if (cached != PerftCache.NOT_FOUND) {
+                    return cached;
+                }
+            }
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(this.position, moves);
+            final List<PerftTask> tasks = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                final Position child = new Position(this.position);
+                child.makeMove(moves.get(i));
+                tasks.add(new PerftTask(child, this.depth - 1, this.ply + 1));
+            }
+            long nodes = 0;
+            for (final PerftTask task : invokeAll(tasks)) {
+                nodes += task.join();
+            }
+            if (cache != null) {
+                cache.store(key, this.depth, nodes);
+            }
+            return nodes;
+        }
+    }
+
+    /**
+     * Runs perft with one thread and then with the pool, and prints both times
+     * @param args the depth (6 if not given), the number of threads (every core if not given),
+     *             the cache size in MB (0 for no cache, the default) and the FEN (the starting position if not given)
+     */
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        final Board board = args.length > 3 ? FenUtilities.createGameFromFEN(args[3]) : Board.createStandardBoard();
+        final Position position = new Position(board);
+
+        long start = System.nanoTime();
+        final long serialNodes = new Perft(depth).perft(position, depth);
+        final long serialNanos = System.nanoTime() - start;
+        System.out.printf("1 thread:   perft(%d) = %d in %d ms (%d nps)%n", depth, serialNodes,
+                          serialNanos / 1_000_000, serialNodes * 1_000_000_000L / Math.max(1, serialNanos));
+
+        final ParallelPerft parallelPerft = new ParallelPerft(threads, megabytes > 0 ? new PerftCache(megabytes) : null);
+        start = System.nanoTime();
+        final long parallelNodes = parallelPerft.perft(position, depth);
+        final long parallelNanos = System.nanoTime() - start;
+        parallelPerft.shutdown();
+        System.out.printf("%d threads: perft(%d) = %d in %d ms (%d nps, %.2fx)%s%n", threads, depth, parallelNodes,
+                          parallelNanos / 1_000_000, parallelNodes * 1_000_000_000L / Math.max(1, parallelNanos),
+                          (double) serialNanos / Math.max(1, parallelNanos),
+                          parallelNodes == serialNodes ? "" : " MISMATCH");
+        if (parallelNodes != serialNodes) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * File: Perft.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Counts the leaf positions of the move tree to a fixed depth ("perft"). The counts of well known positions
+ * are published, so any difference points at a move generation bug, and the time taken measures the speed
+ * of the move generator.
+ *
+ * Run with: java com.chess.engine.perft.Perft "[FEN]" [depth] [divide]
+ */
+public final class Perft {
+
+    /**
+     * One move list per ply
+     */
+    private final MoveList[] moveLists;
+    /**
+     * The shared cache of counts (null to count without one)
+     */
+    private final PerftCache cache;
+
+    /**
+     * Constructor
+     * @param maxDepth the deepest perft this counter will run
+     */
+    public Perft(final int maxDepth) {
+        this(maxDepth, null);
+    }
+
+    /**
+     * Constructor
+     * @param maxDepth the deepest perft this counter will run
+     * @param cache the cache of counts, or null to count without one
+     */
+    public Perft(final int maxDepth, final PerftCache cache) {
+        this.cache = cache;
+        this.moveLists = new MoveList[maxDepth + 1];
+        for (int i = 0; i < this.moveLists.length; i++) {
+            this.moveLists[i] = new MoveList();
+        }
+    }
+
+    /**
+     * Counts the leaf positions of a position with the packed move generator
+     * @param position the position (it is left unchanged)
+     * @param depth the depth in plies
+     * @return the number of leaf positions
+     */
+    public long perft(final Position position, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        final long key = position.getZobristKey();
+        if (this.cache != null && depth > 1) {
+            final long cached = this.cache.probe(key, depth);
+            if (cached != PerftCache.NOT_FOUND) {
+                return cached;
+            }
+        }
+        final MoveList moves = this.moveLists[depth];
+        moves.clear();
+        MoveGenerator.generateLegalMoves(position, moves);
+        // Every legal move leads to exactly one leaf, so the last ply doesn't need to be made
+        if (depth == 1) {
+            return moves.size();
+        }
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            nodes += perft(position, depth - 1);
+            position.unmakeMove();
+        }
+        if (this.cache != null) {
+            this.cache.store(key, depth, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the leaf positions below every move of a position, to find the move whose count is wrong
+     * @param position the position (it is left unchanged)
+     * @param depth the depth in plies (at least 1)
+     * @return the count below each move, by the move's coordinate notation
+     * @throws IllegalArgumentException if the depth is less than 1, or deeper than this counter can go
+     */
+    public Map<String, Long> divide(final Position position, final int depth) {
+        if (depth < 1 || depth > this.moveLists.length) {
+            throw new IllegalArgumentException("Divide needs a depth from 1 to " + this.moveLists.length + ", not " +
+                                               depth);
+        }
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            counts.put(PackedMove.toString(moves.get(i)), perft(position, depth - 1));
+            position.unmakeMove();
+        }
+        return counts;
+    }
+
+    /**
+     * Counts the leaf positions of a board through {@link com.chess.engine.player.Player#getLegalMoves()} and
+     * {@link Move#execute()}, the move generation the GUI uses
+     * @param board the board
+     * @param depth the depth in plies
+     * @return the number of leaf positions
+     */
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) {
+            return 1;
+        }
+        if (depth == 1) {
+            return board.getCurrentPlayer().getLegalMoves().size();
+        }
+        long nodes = 0;
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            nodes += perft(move.execute(), depth - 1);
+        }
+        return nodes;
+    }
+
+    /**
+     * Runs perft on a position and prints the count and speed
+     * @param args the FEN of the position (the starting position if not given), the depth (5 if not given)
+     *             and "divide" to print the count below each move
+     */
+    public static void main(final String[] args) {
+        final Board board = args.length > 0 ? FenUtilities.createGameFromFEN(args[0]) : Board.createStandardBoard();
+        final int depth = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        final boolean divide = args.length > 2 && args[2].equals("divide");
+        final Position position = new Position(board);
+        final Perft perft = new Perft(depth);
+
+        final long start = System.nanoTime();
+        long nodes = 0;
+        if (divide) {
+            for (final Map.Entry<String, Long> entry : perft.divide(position, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = perft.perft(position, depth);
+        }
+        final long nanos = System.nanoTime() - start;
+        System.out.printf("perft(%d) = %d in %d ms (%d nps)%n", depth, nodes, nanos / 1_000_000,
+                          nodes * 1_000_000_000L / Math.max(1, nanos));
+    }
+}
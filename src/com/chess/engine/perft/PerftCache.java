@@ -0,0 +1,75 @@
+package com.chess.engine.perft;
+
+/**
+ * File: PerftCache.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Remembers perft counts by position and depth, so a position reached by different move orders is only counted
+ * once. Like {@link com.chess.engine.search.TranspositionTable} it is a flat array of two-long entries (the key
+ * xor'ed with the data, then the data) that threads share without locks: a torn entry just reads as a miss.
+ */
+public final class PerftCache {
+
+    /**
+     * An entry's data holds the depth in the top bits and the count in the rest
+     */
+    private static final int DEPTH_SHIFT = 58;
+    private static final long COUNT_MASK = (1L << DEPTH_SHIFT) - 1;
+
+    /**
+     * Returned by {@link #probe(long, int)} when the count isn't in the cache
+     */
+    public static final long NOT_FOUND = -1L;
+
+    /**
+     * The entries, two longs each
+     */
+    private final long[] table;
+    /**
+     * Masks a key to the index of its entry's first long
+     */
+    private final int indexMask;
+
+    /**
+     * Constructor
+     * @param megabytes the most memory the cache may use (it is rounded down to a power of two number of entries)
+     */
+    public PerftCache(final int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("The cache needs at least 1 MB, not " + megabytes);
+        }
+        final long entries = Math.min(Long.highestOneBit(((long) megabytes << 20) / (2 * Long.BYTES)), 1L << 29);
+        this.table = new long[(int) (entries * 2)];
+        this.indexMask = (int) (entries * 2 - 1) & ~1;
+    }
+
+    /**
+     * Looks up a count
+     * @param key the Zobrist key of the position
+     * @param depth the depth
+     * @return the count or {@link #NOT_FOUND}
+     */
+    public long probe(final long key, final int depth) {
+        final int index = (int) key & this.indexMask;
+        final long data = this.table[index + 1];
+        if (data != 0 && (this.table[index] ^ data) == key && (data >>> DEPTH_SHIFT) == depth) {
+            return data & COUNT_MASK;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Stores a count, replacing whatever was in its entry
+     * @param key the Zobrist key of the position
+     * @param depth the depth (less than 64)
+     * @param count the count
+     */
+    public void store(final long key, final int depth, final long count) {
+        final int index = (int) key & this.indexMask;
+        final long data = ((long) depth << DEPTH_SHIFT) | (count & COUNT_MASK);
+        this.table[index] = key ^ data;
+        this.table[index + 1] = data;
+    }
+}
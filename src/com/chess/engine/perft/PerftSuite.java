@@ -0,0 +1,124 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+/**
+ * File: PerftSuite.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks the move generators against the published perft counts of standard positions and reports their speed.
+ * The packed move generator is run to the full depth and the board move generation (the one the GUI uses) to a
+ * shallower depth, since it is much slower.
+ *
+ * Run with: java com.chess.engine.perft.PerftSuite [max depth] [max board depth]
+ * It exits with status 1 if any count is wrong.
+ */
+public final class PerftSuite {
+
+    /**
+     * The positions and their published counts for depths 1, 2, 3, ... (0 where no count is given)
+     */
+    private static final Object[][] POSITIONS = {
+            {"Start position", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+             new long[]{20, 400, 8902, 197281, 4865609, 119060324}},
+            {"Kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+             new long[]{48, 2039, 97862, 4085603, 193690690}},
+            {"Rook endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+             new long[]{14, 191, 2812, 43238, 674624, 11030083}},
+            {"Promotions", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+             new long[]{6, 264, 9467, 422333, 15833292}},
+            {"Promotion with check", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+             new long[]{44, 1486, 62379, 2103487, 89941194}},
+            {"Middlegame", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+             new long[]{46, 2079, 89890, 3894594, 164075551}},
+            {"Illegal en passant 1", "3k4/3p4/8/K1P4r/8/8/8/8 b - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 1134888}},
+            {"Illegal en passant 2", "8/8/4k3/8/2p5/8/B2P2K1/8 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 1015133}},
+            {"En passant gives check", "8/8/1k6/2b5/2pP4/8/5K2/8 b - d3 0 1",
+             new long[]{0, 0, 0, 0, 0, 1440467}},
+            {"Short castling gives check", "5k2/8/8/8/8/8/8/4K2R w K - 0 1",
+             new long[]{0, 0, 0, 0, 0, 661072}},
+            {"Long castling gives check", "3k4/8/8/8/8/8/8/R3K3 w Q - 0 1",
+             new long[]{0, 0, 0, 0, 0, 803711}},
+            {"Castling rights", "r3k2r/1b4bq/8/8/8/8/7B/R3K2R w KQkq - 0 1",
+             new long[]{0, 0, 0, 1274206}},
+            {"Castling prevented", "r3k2r/8/3Q4/8/8/5q2/8/R3K2R b KQkq - 0 1",
+             new long[]{0, 0, 0, 1720476}},
+            {"Promote out of check", "2K2r2/4P3/8/8/8/8/8/3k4 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 3821001}},
+            {"Discovered check", "8/8/1P2K3/8/2n5/1q6/8/5k2 b - - 0 1",
+             new long[]{0, 0, 0, 0, 1004658}},
+            {"Promote to give check", "4k3/1P6/8/8/8/8/K7/8 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 217342}},
+            {"Under promote to give check", "8/P1k5/K7/8/8/8/8/8 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 92683}},
+            {"Self stalemate", "K1k5/8/P7/8/8/8/8/8 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 2217}},
+            {"Stalemate and checkmate 1", "8/k1P5/8/1K6/8/8/8/8 w - - 0 1",
+             new long[]{0, 0, 0, 0, 0, 0, 567584}},
+            {"Stalemate and checkmate 2", "8/8/2k5/5q2/5n2/8/5K2/8 b - - 0 1",
+             new long[]{0, 0, 0, 23527}}
+    };
+
+    private PerftSuite() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the suite
+     * @param args the deepest perft to run (6 if not given) and the deepest board perft to run (3 if not given)
+     */
+    public static void main(final String[] args) {
+        final int maxDepth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        final int maxBoardDepth = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        final Perft perft = new Perft(Math.max(maxDepth, maxBoardDepth));
+        boolean passed = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+
+        for (final Object[] entry : POSITIONS) {
+            final String name = (String) entry[0];
+            final Board board = FenUtilities.createGameFromFEN((String) entry[1]);
+            final long[] expected = (long[]) entry[2];
+            // Run the deepest published count allowed
+            int depth = Math.min(maxDepth, expected.length);
+            while (depth > 0 && expected[depth - 1] == 0) {
+                depth--;
+            }
+            if (depth == 0) {
+                System.out.printf("skip %-30s no count at depth %d or less%n", name, maxDepth);
+                continue;
+            }
+
+            final Position position = new Position(board);
+            final long start = System.nanoTime();
+            final long nodes = perft.perft(position, depth);
+            final long nanos = System.nanoTime() - start;
+            totalNodes += nodes;
+            totalNanos += nanos;
+
+            // The board move generation is checked against the packed one at a shallower depth
+            final int boardDepth = Math.min(maxBoardDepth, depth);
+            final long boardNodes = Perft.perft(board, boardDepth);
+            final long packedNodes = perft.perft(position, boardDepth);
+
+            final boolean ok = nodes == expected[depth - 1] && boardNodes == packedNodes;
+            passed &= ok;
+            System.out.printf("%-4s %-30s perft(%d) = %10d %-20s %6d ms %10d nps   board perft(%d) = %d %s%n",
+                              ok ? "ok" : "FAIL", name, depth, nodes,
+                              nodes == expected[depth - 1] ? "" : "(expected " + expected[depth - 1] + ")",
+                              nanos / 1_000_000, nodes * 1_000_000_000L / Math.max(1, nanos),
+                              boardDepth, boardNodes, boardNodes == packedNodes ? "" : "(expected " + packedNodes + ")");
+        }
+        System.out.printf("%s: %d nodes in %d ms (%d nps)%n", passed ? "All passed" : "FAILED", totalNodes,
+                          totalNanos / 1_000_000, totalNodes * 1_000_000_000L / Math.max(1, totalNanos));
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+}
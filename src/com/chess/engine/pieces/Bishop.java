@@ -1,10 +1,11 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MagicBitBoards;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -19,82 +20,52 @@ import java.util.List;
  */
 public class Bishop extends Piece {
 
-    /**
-     * The possible moves the knight can make
-     */
-    private final static int[] CANDIDATE_MOVE__VECTOR_COORDINATES = {-9, -7, 7, 9};
-
     /**
      * Constructor
      *
      * @param piecePosition position of the piece on the board
      * @param pieceAlliance the Alliance of the piece
+     * @param isFirstMove true if the piece has not moved yet
      */
-    public Bishop(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.BISHOP);
+    Bishop(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(piecePosition, pieceAlliance, PieceType.BISHOP, isFirstMove);
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
-        final List<Move> legalMoves = new ArrayList<Move>();
-
-        for (final int candidateCoordinateOffset:CANDIDATE_MOVE__VECTOR_COORDINATES){
-
-            int candidateDestinationCoordinate = this.piecePosition;
-            /**
-             * Need to check all the possible slides
-             */
-            while (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                /**
-                 * Check whether it is an exception to the rule
-                 */
-                if (isColumnExclusion(piecePosition,candidateCoordinateOffset)) {
-                    break;
-                }
-
-                candidateDestinationCoordinate += candidateCoordinateOffset;
-
-                if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-                    final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                    /**
-                     * If the tile is not occupied then it is legal
-                     */
-                    if (!candidateDestinationTile.isTileOccupied()) {
-                        legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                    }
-                    /**
-                     * If the tile is occupied, you need to check the piece on the tile
-                     */
-                    else {
-                        /**
-                         * Get the piece and alliance of the piece on the tile
-                         */
-                        final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                        final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                        /**
-                         * If they are different alliances then it is a legal move (capture)
-                         */
-                        if (this.pieceAlliance != pieceAlliance) {
-                            legalMoves.add(new Move.AttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
-                        }
-                        // If the space is occupied, you can go no further
-                        break;
-                    }
-
-                }
-            }
-
-        }
+    public Collection<Move> calculateLegalMoves(final Board board) {
+        final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        /**
+         * Every tile the bishop can slide to (one table lookup for the current occupancy)
+         * that doesn't hold one of our own pieces
+         */
+        final long candidateDestinations = MagicBitBoards.getBishopAttacks(this.piecePosition, bitBoard.getAllPieces()) &
+                                           ~bitBoard.getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, legalMoves);
 
         return ImmutableList.copyOf(legalMoves);
     }
 
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        final List<Move> attackMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        /**
+         * Every tile the bishop can slide to (one table lookup for the current occupancy)
+         * that holds one of the opponent's pieces
+         */
+        final long candidateDestinations = MagicBitBoards.getBishopAttacks(this.piecePosition, bitBoard.getAllPieces()) &
+                                           bitBoard.getAllPieces() & ~bitBoard.getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, attackMoves);
+
+        return ImmutableList.copyOf(attackMoves);
+    }
+
     @Override
     public Bishop movePiece(Move move) {
-        return new Bishop(move.getDestinationCoordinate(),move.getMovedPiece().getPieceAlliance());
+        return (Bishop) PieceUtils.getMovedPiece(move.getMovedPiece(), move.getDestinationCoordinate());
     }
 
     @Override
@@ -1,10 +1,10 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -19,72 +19,48 @@ import static com.chess.engine.board.Move.*;
  * Date: 5/9/20
  */
 public class King extends Piece {
-    /**
-     * Possible places the piece can move
-     */
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {-9, -8, -7, -1, 1, 7, 8, 9};
-
     /**
      * Constructor
      *
      * @param piecePosition position of the piece on the board
      * @param pieceAlliance the Alliance of the piece
+     * @param isFirstMove true if the piece has not moved yet
      */
-    public King(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.KING);
+    King(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(piecePosition, pieceAlliance, PieceType.KING, isFirstMove);
     }
 
     @Override
-    public Collection<Move> calculateLegalMoves(Board board) {
+    public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-
-            /**
-             * Check if it is a valid space
-             */
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                if (isColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                    continue;
-                }
-
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                /**
-                 * If the tile is not occupied then it is legal
-                 */
-                if (!candidateDestinationTile.isTileOccupied()) {
-                    legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                }
-                /**
-                 * If the tile is occupied, you need to check the piece on the tile
-                 */
-                else {
-                    /**
-                     * Get the piece and alliance of the piece on the tile
-                     */
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                    /**
-                     * If they are different alliances then it is a legal move (capture)
-                     */
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new Move.AttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                    }
-                }
-            }
-        }
-
+        /**
+         * Every tile the king attacks that doesn't hold one of our own pieces
+         */
+        final long candidateDestinations = BitBoard.getKingAttacks(this.piecePosition) &
+                                           ~board.getBitBoard().getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, legalMoves);
 
         return ImmutableList.copyOf(legalMoves);
     }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        final List<Move> attackMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        /**
+         * Every tile the king attacks that holds one of the opponent's pieces
+         */
+        final long candidateDestinations = BitBoard.getKingAttacks(this.piecePosition) &
+                                           bitBoard.getAllPieces() & ~bitBoard.getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, attackMoves);
+
+        return ImmutableList.copyOf(attackMoves);
+    }
     @Override
     public King movePiece(Move move) {
-        return new King(move.getDestinationCoordinate(),move.getMovedPiece().getPieceAlliance());
+        return (King) PieceUtils.getMovedPiece(move.getMovedPiece(), move.getDestinationCoordinate());
     }
 
 
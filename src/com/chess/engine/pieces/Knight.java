@@ -1,10 +1,10 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -20,76 +20,52 @@ import static com.chess.engine.board.Move.*;
  */
 public class Knight extends Piece {
 
-    /**
-     * The possible moves the knight can make
-     */
-    private final static int[] CANDIDATE_MOVE_COORDINATES = {-17, -15, -10, -6, 6, 10, 15, 17};
-
     /**
      * Constructor
      *
      * @param piecePosition position of the piece on the board
      * @param pieceAlliance the Alliance of the piece
+     * @param isFirstMove true if the piece has not moved yet
      */
-    public Knight(int piecePosition, Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance, PieceType.KNIGHT);
+    Knight(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(piecePosition, pieceAlliance, PieceType.KNIGHT, isFirstMove);
     }
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
 
-
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATES) {
-            final int candidateDestinationCoordinate = this.piecePosition + currentCandidateOffset;
-
-            /**
-             * Check if it is a valid space
-             */
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationCoordinate)) {
-
-                if (isColumnExclusion(this.piecePosition, currentCandidateOffset)) {
-                    continue;
-                }
-
-                final Tile candidateDestinationTile = board.getTile(candidateDestinationCoordinate);
-
-                /**
-                 * If the tile is not occupied then it is legal
-                 */
-                if (!candidateDestinationTile.isTileOccupied()) {
-                    legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
-                }
-                /**
-                 * If the tile is occupied, you need to check the piece on the tile
-                 */
-                else {
-                    /**
-                     * Get the piece and alliance of the piece on the tile
-                     */
-                    final Piece pieceAtDestination = candidateDestinationTile.getPiece();
-                    final Alliance pieceAlliance = pieceAtDestination.getPieceAlliance();
-
-                    /**
-                     * If they are different alliances then it is a legal move (capture)
-                     */
-                    if (this.pieceAlliance != pieceAlliance) {
-                        legalMoves.add(new Move.AttackMove(board,this,candidateDestinationCoordinate,pieceAtDestination));
-                    }
-                }
-            }
-        }
-
+        /**
+         * Every tile the knight attacks that doesn't hold one of our own pieces
+         */
+        final long candidateDestinations = BitBoard.getKnightAttacks(this.piecePosition) &
+                                           ~board.getBitBoard().getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, legalMoves);
 
         return ImmutableList.copyOf(legalMoves);
     }
 
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        final List<Move> attackMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
+
+        /**
+         * Every tile the knight attacks that holds one of the opponent's pieces
+         */
+        final long candidateDestinations = BitBoard.getKnightAttacks(this.piecePosition) &
+                                           bitBoard.getAllPieces() & ~bitBoard.getPieces(this.pieceAlliance);
+        addMovesToTiles(board, candidateDestinations, attackMoves);
+
+        return ImmutableList.copyOf(attackMoves);
+    }
+
     public boolean isColumnExclusion(final int currentPosition, final int candidateOffset) {
         return isFirstColumnExclusion(currentPosition, candidateOffset) || isSecondColumnExclusion(currentPosition, candidateOffset) || isSeventhColumnExclusion(currentPosition, candidateOffset) || isEighthColumnExclusion(currentPosition, candidateOffset);
     }
     @Override
     public Knight movePiece(Move move) {
-        return new Knight(move.getDestinationCoordinate(),move.getMovedPiece().getPieceAlliance());
+        return (Knight) PieceUtils.getMovedPiece(move.getMovedPiece(), move.getDestinationCoordinate());
     }
 
     /**
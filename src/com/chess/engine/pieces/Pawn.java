@@ -1,10 +1,15 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Move.MajorMove;
+import com.chess.engine.board.Move.PawnAttackMove;
+import com.chess.engine.board.Move.PawnEnPassantAtttackMove;
+import com.chess.engine.board.Move.PawnJump;
+import com.chess.engine.board.Move.PawnMove;
+import com.chess.engine.board.Move.PawnPromotion;
 import com.google.common.collect.ImmutableList;
 
 import java.util.ArrayList;
@@ -19,110 +24,128 @@ import java.util.List;
 public class Pawn extends Piece {
 
     /**
-     * Possible places the piece can move
+     * The pieces a pawn can be promoted to, best first
      */
-    private final static int[] CANDIDATE_MOVE_COORDINATE = {8, 16, 7, 9};
+    private static final PieceType[] PROMOTION_TYPES = {PieceType.QUEEN, PieceType.ROOK, PieceType.BISHOP, PieceType.KNIGHT};
+
     /**
      * Constructor
      *
      * @param piecePosition position of the piece on the board
      * @param pieceAlliance the Alliance of the piece
+     * @param isFirstMove true if the piece has not moved yet
      */
-    public Pawn(final int piecePosition, final Alliance pieceAlliance) {
-        super(piecePosition, pieceAlliance,PieceType.PAWN);
+    Pawn(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+        super(piecePosition, pieceAlliance, PieceType.PAWN, isFirstMove);
     }
 
     @Override
     public Pawn movePiece(Move move) {
-        return new Pawn(move.getDestinationCoordinate(),move.getMovedPiece().getPieceAlliance());
+        return (Pawn) PieceUtils.getMovedPiece(move.getMovedPiece(), move.getDestinationCoordinate());
     }
 
     @Override
     public Collection<Move> calculateLegalMoves(final Board board) {
         final List<Move> legalMoves = new ArrayList<>();
+        final BitBoard bitBoard = board.getBitBoard();
 
-        for (final int currentCandidateOffset : CANDIDATE_MOVE_COORDINATE) {
-            /**
-             * Get the destination factoring in the color
-             */
-            int candidateDestinationDestination = this.piecePosition + (currentCandidateOffset)*this.pieceAlliance.getDirection();
+        /**
+         * Get the tile in front of the pawn factoring in the color
+         */
+        final int forwardCoordinate = this.piecePosition + BoardUtils.NUM_TILES_PER_ROW * this.pieceAlliance.getDirection();
+
+        /**
+         * If the tile 1 forward is not occupied then it is a valid move
+         */
+        if (BoardUtils.isValidTileCoordinate(forwardCoordinate) && !bitBoard.isOccupied(forwardCoordinate)) {
+            addPawnMove(new PawnMove(board, this, forwardCoordinate), legalMoves);
 
             /**
-             * If it is not valid then skip it
-             */
-            if (BoardUtils.isValidTileCoordinate(candidateDestinationDestination)) {
-                continue;
-            }
-            /**
-             * If the tile 1 forward is not occupied then it is a valid move
-             */
-            if (currentCandidateOffset == 8 && !board.getTile(candidateDestinationDestination).isTileOccupied()) {
-                // TODO more work to do here (deal with promotions)!!!!!
-                legalMoves.add(new MajorMove(board, this, candidateDestinationDestination));
-            }
-            /**
-             * For moving a pawn 2 spaces (if it is the first move)
+             * For moving a pawn 2 spaces (only from its starting rank, and only if both tiles are empty)
              */
-            else if (currentCandidateOffset == 16 && this.isFirstMove() && (BoardUtils.SEVENTH_RANK[this.piecePosition] && this.getPieceAlliance().isBlack()) || ((BoardUtils.SECOND_RANK[this.piecePosition] && this.getPieceAlliance().isWhite()))) {
-                final int behindCandidateDestinationCoordinate = this.piecePosition+ this.pieceAlliance.getDirection()*8;
-                /**
-                 * Check to make sure the two spaces in front of the pawn are unoccupied
-                 */
-                if (!board.getTile(behindCandidateDestinationCoordinate).isTileOccupied() && !board.getTile(candidateDestinationDestination).isTileOccupied()) {
-                    /**
-                     * We can make a move now
-                     */
-                    // TODO more work to do here!!!!!
-                    legalMoves.add(new MajorMove(board, this, candidateDestinationDestination));
-                }
+            final int jumpCoordinate = forwardCoordinate + BoardUtils.NUM_TILES_PER_ROW * this.pieceAlliance.getDirection();
+            if (isOnStartingRank() && !bitBoard.isOccupied(jumpCoordinate)) {
+                legalMoves.add(new PawnJump(board, this, jumpCoordinate));
             }
-            /**
-             * Attacking moves
-             * Rule out illegal moves (ie: far right column trying to go diagonally right)
-             */
-            else if (currentCandidateOffset == 7 &&
-                    !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()) ||
-                      (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()))) {
-
-                /**
-                 * There must be a pieced to capture to move diagonally
-                 */
-                if (board.getTile(candidateDestinationDestination).isTileOccupied()) {
-                    final Piece piecedOnCandidate = board.getTile(candidateDestinationDestination).getPiece();
-                    /**
-                     * The piece must be of the opposite Alliance
-                     */
-                    if (this.pieceAlliance != piecedOnCandidate.getPieceAlliance()) {
-                        // TODO more work to do here!!!!!
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationDestination));
-                    }
-                }
+        }
 
+        addAttackMoves(board, legalMoves);
 
-            }
-            else if (currentCandidateOffset == 9 &&
-                    !((BoardUtils.EIGHTH_COLUMN[this.piecePosition] && this.pieceAlliance.isBlack()) ||
-                            (BoardUtils.FIRST_COLUMN[this.piecePosition] && this.pieceAlliance.isWhite()))) {
-
-                /**
-                 * There must be a pieced to capture to move diagonally
-                 */
-                if (board.getTile(candidateDestinationDestination).isTileOccupied()) {
-                    final Piece piecedOnCandidate = board.getTile(candidateDestinationDestination).getPiece();
-                    /**
-                     * The piece must be of the opposite Alliance
-                     */
-                    if (this.pieceAlliance != piecedOnCandidate.getPieceAlliance()) {
-                        // TODO more work to do here!!!!!
-                        legalMoves.add(new MajorMove(board, this, candidateDestinationDestination));
-                    }
-                }
-            }
+        return ImmutableList.copyOf(legalMoves);
+    }
+
+    @Override
+    public Collection<Move> calculateAttackMoves(final Board board) {
+        final List<Move> attackMoves = new ArrayList<>();
+
+        /**
+         * A push onto the last rank is a promotion, which changes the material as much as a capture
+         */
+        final int forwardCoordinate = this.piecePosition + BoardUtils.NUM_TILES_PER_ROW * this.pieceAlliance.getDirection();
+        if (BoardUtils.isValidTileCoordinate(forwardCoordinate) && !board.getBitBoard().isOccupied(forwardCoordinate) &&
+            (BoardUtils.EIGHTH_RANK[forwardCoordinate] || BoardUtils.FIRST_RANK[forwardCoordinate])) {
+            addPawnMove(new PawnMove(board, this, forwardCoordinate), attackMoves);
+        }
+        addAttackMoves(board, attackMoves);
 
+        return ImmutableList.copyOf(attackMoves);
+    }
 
+    /**
+     * Adds the captures of the pawn, en passant included
+     * @param board the board that the pawn is on
+     * @param moves the list to add the moves to
+     */
+    private void addAttackMoves(final Board board, final List<Move> moves) {
+        final BitBoard bitBoard = board.getBitBoard();
+
+        /**
+         * Attacking moves: the diagonal tiles in front of the pawn holding an opponent's piece
+         */
+        final long opponentPieces = bitBoard.getAllPieces() & ~bitBoard.getPieces(this.pieceAlliance);
+        for (long attacks = BitBoard.getPawnAttacks(this.pieceAlliance, this.piecePosition) & opponentPieces;
+             attacks != 0; attacks &= attacks - 1) {
+            final int candidateDestinationCoordinate = BitBoard.firstTile(attacks);
+            addPawnMove(new PawnAttackMove(board, this, candidateDestinationCoordinate,
+                                           board.getPiece(candidateDestinationCoordinate)), moves);
         }
 
-        return ImmutableList.copyOf(legalMoves);
+        /**
+         * En passant: the tile behind an opponent's pawn that just jumped, if we attack it
+         */
+        final Pawn enPassantPawn = board.getEnPassantPawn();
+        if (enPassantPawn != null && enPassantPawn.getPieceAlliance() != this.pieceAlliance) {
+            final int enPassantCoordinate = enPassantPawn.getPiecePosition() -
+                                            BoardUtils.NUM_TILES_PER_ROW * enPassantPawn.getPieceAlliance().getDirection();
+            if ((BitBoard.getPawnAttacks(this.pieceAlliance, this.piecePosition) & BitBoard.tileMask(enPassantCoordinate)) != 0) {
+                moves.add(new PawnEnPassantAtttackMove(board, this, enPassantCoordinate, enPassantPawn));
+            }
+        }
+    }
+
+    /**
+     * Adds a pawn move, or one promotion for every piece the pawn can become if the move reaches the last rank
+     * @param pawnMove the pawn move
+     * @param legalMoves the list to add the moves to
+     */
+    private void addPawnMove(final Move pawnMove, final List<Move> legalMoves) {
+        final int destinationCoordinate = pawnMove.getDestinationCoordinate();
+        if (BoardUtils.EIGHTH_RANK[destinationCoordinate] || BoardUtils.FIRST_RANK[destinationCoordinate]) {
+            for (final PieceType promotionType : PROMOTION_TYPES) {
+                legalMoves.add(new PawnPromotion(pawnMove, promotionType));
+            }
+        } else {
+            legalMoves.add(pawnMove);
+        }
+    }
+
+    /**
+     * Determines if the pawn is on the rank it starts the game on
+     * @return true if the pawn has not left its starting rank
+     */
+    private boolean isOnStartingRank() {
+        return (BoardUtils.SECOND_RANK[this.piecePosition] && this.pieceAlliance.isWhite()) ||
+               (BoardUtils.SEVENTH_RANK[this.piecePosition] && this.pieceAlliance.isBlack());
     }
 
     @Override
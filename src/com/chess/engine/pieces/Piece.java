@@ -1,6 +1,7 @@
 package com.chess.engine.pieces;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.BoardUtils;
 import com.chess.engine.board.Move;
@@ -47,12 +48,14 @@ public abstract class Piece {
      * Constructor
      * @param piecePosition position of the piece on the board
      * @param pieceAlliance the Alliance of the piece
+     * @param pieceType the type of the piece
+     * @param isFirstMove true if the piece has not moved yet
      */
-    Piece(final int piecePosition, final Alliance pieceAlliance, final PieceType pieceType) {
+    Piece(final int piecePosition, final Alliance pieceAlliance, final PieceType pieceType, final boolean isFirstMove) {
         this.piecePosition = piecePosition;
         this.pieceAlliance = pieceAlliance;
         this.pieceType=pieceType;
-        this.isFirstMove = false;
+        this.isFirstMove = isFirstMove;
         this.cachedHashCode = computeHashCode();
     }
 
@@ -91,19 +94,14 @@ public abstract class Piece {
     }
 
 
+    /**
+     * Every piece is a single instance from {@link PieceUtils}, so two pieces are equal only if they are the same
+     * @param other the object to compare to
+     * @return true if other is this piece
+     */
     @Override
     public boolean equals(final Object other) {
-        if (this == other) {
-            return true;
-        }
-        if (!(other instanceof Piece)) {
-            return false;
-        }
-        final Piece otherPiece = (Piece) other;
-        return piecePosition == otherPiece.getPiecePosition()
-                && pieceType == otherPiece.getPieceType()
-                && pieceAlliance == otherPiece.getPieceAlliance()
-                && isFirstMove == otherPiece.isFirstMove;
+        return this == other;
     }
     @Override
     public int hashCode() {
@@ -119,6 +117,35 @@ public abstract class Piece {
      */
     public abstract Collection<Move> calculateLegalMoves(final Board board);
 
+    /**
+     * Gets the captures a piece can make (and a pawn's promotions), the moves a quiescence search looks at
+     * @param board the board that the piece is on
+     * @return the list of captures and promotions
+     */
+    public abstract Collection<Move> calculateAttackMoves(final Board board);
+
+    /**
+     * Creates a move to every tile in a mask of destinations, capturing where the tile is occupied.
+     * The mask must not contain tiles occupied by the piece's own alliance.
+     * @param board the board that the piece is on
+     * @param destinationTiles the mask of destination tiles
+     * @param legalMoves the list to add the moves to
+     */
+    protected void addMovesToTiles(final Board board, final long destinationTiles, final List<Move> legalMoves) {
+        for (long destinations = destinationTiles; destinations != 0; destinations &= destinations - 1) {
+            final int candidateDestinationCoordinate = BitBoard.firstTile(destinations);
+            final Piece pieceAtDestination = board.getPiece(candidateDestinationCoordinate);
+            /**
+             * If the tile is not occupied then it is a normal move, otherwise it is a capture
+             */
+            if (pieceAtDestination == null) {
+                legalMoves.add(new Move.MajorMove(board, this, candidateDestinationCoordinate));
+            } else {
+                legalMoves.add(new Move.AttackMove(board, this, candidateDestinationCoordinate, pieceAtDestination));
+            }
+        }
+    }
+
     /**
      * Moves a piece
      * @param move the move
@@ -141,7 +168,7 @@ public abstract class Piece {
 
     public enum PieceType {
 
-        PAWN("P"){
+        PAWN("P", 100){
             @Override
             public boolean isKing() {
                 return false;
@@ -151,8 +178,13 @@ public abstract class Piece {
             public boolean isRook() {
                 return false;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new Pawn(piecePosition, pieceAlliance, isFirstMove);
+            }
         },
-        ROOK("R"){
+        ROOK("R", 500){
             @Override
             public boolean isKing() {
                 return false;
@@ -162,8 +194,13 @@ public abstract class Piece {
             public boolean isRook() {
                 return true;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new Rook(piecePosition, pieceAlliance, isFirstMove);
+            }
         },
-        BISHOP("B"){
+        BISHOP("B", 330){
             @Override
             public boolean isKing() {
                 return false;
@@ -173,8 +210,13 @@ public abstract class Piece {
             public boolean isRook() {
                 return false;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new Bishop(piecePosition, pieceAlliance, isFirstMove);
+            }
         },
-        KNIGHT("N"){
+        KNIGHT("N", 320){
             @Override
             public boolean isKing() {
                 return false;
@@ -184,8 +226,13 @@ public abstract class Piece {
             public boolean isRook() {
                 return false;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new Knight(piecePosition, pieceAlliance, isFirstMove);
+            }
         },
-        QUEEN("Q"){
+        QUEEN("Q", 900){
             @Override
             public boolean isKing() {
                 return false;
@@ -195,8 +242,13 @@ public abstract class Piece {
             public boolean isRook() {
                 return false;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new Queen(piecePosition, pieceAlliance, isFirstMove);
+            }
         },
-        KING("K"){
+        KING("K", 10000){
             @Override
             public boolean isKing() {
                 return true;
@@ -206,11 +258,21 @@ public abstract class Piece {
             public boolean isRook() {
                 return false;
             }
+
+            @Override
+            Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+                return new King(piecePosition, pieceAlliance, isFirstMove);
+            }
         };
 
         private String pieceName;
-        PieceType(final String pieceName){
+        /**
+         * The material value of the piece in centipawns
+         */
+        private final int pieceValue;
+        PieceType(final String pieceName, final int pieceValue){
             this.pieceName=pieceName;
+            this.pieceValue=pieceValue;
         }
 
 
@@ -219,6 +281,14 @@ public abstract class Piece {
             return this.pieceName;
         }
 
+        /**
+         * Gets the material value of the piece
+         * @return the value in centipawns (a pawn is 100)
+         */
+        public int getPieceValue() {
+            return this.pieceValue;
+        }
+
         /**
          * Determines if the piece is a king
          * @return true if the piece is a king and false otherwise
@@ -229,6 +299,27 @@ public abstract class Piece {
          * @return true if the piece is a rook and false otherwise
          */
         public abstract boolean isRook();
+
+        /**
+         * Gets a piece of this type. Pieces are never created here; every piece is looked up in
+         * {@link PieceUtils}, so the same piece is always the same instance.
+         * @param piecePosition position of the piece on the board
+         * @param pieceAlliance the Alliance of the piece
+         * @param isFirstMove true if the piece has not moved yet
+         * @return the piece
+         */
+        public Piece createPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove) {
+            return PieceUtils.getPiece(this, pieceAlliance, piecePosition, isFirstMove);
+        }
+
+        /**
+         * Creates a new instance of a piece of this type. Only used by {@link PieceUtils} to fill its table
+         * @param piecePosition position of the piece on the board
+         * @param pieceAlliance the Alliance of the piece
+         * @param isFirstMove true if the piece has not moved yet
+         * @return the new piece
+         */
+        abstract Piece newPiece(final int piecePosition, final Alliance pieceAlliance, final boolean isFirstMove);
     }
 
 
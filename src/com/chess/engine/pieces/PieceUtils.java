@@ -0,0 +1,86 @@
+package com.chess.engine.pieces;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: PieceUtils.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Holds one instance of every piece there can be. A piece is only its type, alliance, tile and whether it has
+ * moved, so there are 12 * 64 * 2 different pieces, and they are all created up front. Moving a piece looks up
+ * the piece on its new tile instead of creating one, and since no two instances are ever equal, pieces can be
+ * compared by identity.
+ */
+public final class PieceUtils {
+
+    /**
+     * The number of piece types and alliances. Calling values() copies the enum's array, so it is only done once.
+     */
+    private static final int NUM_PIECE_TYPES = PieceType.values().length;
+    private static final int NUM_ALLIANCES = Alliance.values().length;
+
+    /**
+     * Every piece, by {@link #index}
+     */
+    private static final Piece[] PIECES = initPieces();
+
+    private PieceUtils() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Gets a piece
+     * @param pieceType the type of the piece
+     * @param pieceAlliance the alliance of the piece
+     * @param piecePosition the tile the piece is on
+     * @param isFirstMove true if the piece has not moved yet
+     * @return the piece
+     */
+    public static Piece getPiece(final PieceType pieceType,
+                                 final Alliance pieceAlliance,
+                                 final int piecePosition,
+                                 final boolean isFirstMove) {
+        return PIECES[index(pieceType, pieceAlliance, piecePosition, isFirstMove)];
+    }
+
+    /**
+     * Gets a piece after it moves
+     * @param piece the piece
+     * @param destinationCoordinate the tile it moves to
+     * @return the moved piece
+     */
+    static Piece getMovedPiece(final Piece piece, final int destinationCoordinate) {
+        return PIECES[index(piece.getPieceType(), piece.getPieceAlliance(), destinationCoordinate, false)];
+    }
+
+    /**
+     * Gets the index of a piece in {@link #PIECES}
+     */
+    private static int index(final PieceType pieceType,
+                             final Alliance pieceAlliance,
+                             final int piecePosition,
+                             final boolean isFirstMove) {
+        final int kind = pieceType.ordinal() * NUM_ALLIANCES + pieceAlliance.ordinal();
+        return ((kind * BoardUtils.NUM_TILES + piecePosition) << 1) | (isFirstMove ? 1 : 0);
+    }
+
+    /**
+     * Creates every piece
+     */
+    private static Piece[] initPieces() {
+        final Piece[] pieces = new Piece[NUM_PIECE_TYPES * NUM_ALLIANCES * BoardUtils.NUM_TILES * 2];
+        for (final PieceType pieceType : PieceType.values()) {
+            for (final Alliance alliance : Alliance.values()) {
+                for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+                    pieces[index(pieceType, alliance, tile, true)] = pieceType.newPiece(tile, alliance, true);
+                    pieces[index(pieceType, alliance, tile, false)] = pieceType.newPiece(tile, alliance, false);
+                }
+            }
+        }
+        return pieces;
+    }
+}
@@ -3,7 +3,6 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 import com.google.common.collect.ImmutableList;
@@ -23,11 +22,9 @@ public class BlackPlayer extends Player {
     /**
      * Constructor
      * @param board the board
-     * @param whiteStandardLegalMoves the legal moves for white
-     * @param blackStandardLegalMoves the legal moves for black
      */
-    public BlackPlayer(Board board, Collection<Move> blackStandardLegalMoves, Collection<Move> whiteStandardLegalMoves) {
-        super(board, blackStandardLegalMoves, whiteStandardLegalMoves);
+    public BlackPlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -46,55 +43,47 @@ public class BlackPlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegal, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
-
         // Make sure it is the king's first move and the player is not in check currently
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        if (this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 4 && !this.isInCheck()) {
             // King side Castle
 
             // Check there are no pieces between the king and rook
-            if (!this.board.getTile(5).isTileOccupied() &&
-                !this.board.getTile(62).isTileOccupied()) {
-
-                final Tile rookTile = this.board.getTile(7);
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
+            if (!this.board.isTileOccupied(5) &&
+                !this.board.isTileOccupied(6)) {
+                final Piece rook = this.board.getPiece(7);
+                if (isCastleRook(rook)) {
                     // Make sure the king doesn't move through check
-                    if (Player.calculateAttacksOnTile(5,opponentLegals).isEmpty() && Player.calculateAttacksOnTile(6,opponentLegals).isEmpty() && Player.calculateAttacksOnTile(63,opponentLegals).isEmpty()) {
+                    if (!this.board.getBitBoard().isSquareAttacked(5, getOpponent().getAlliance()) &&
+                        !this.board.getBitBoard().isSquareAttacked(6, getOpponent().getAlliance())) {
                         kingCastles.add(new KingSideCastleMove(this.board,
-                                                                    playerKing,
-                                                                    6,
-                                                                    (Rook)rookTile.getPiece(),
-                                                                    rookTile.getTileCoordinate(),
-                                                                    5));
+                                                               this.playerKing,
+                                                               6,
+                                                               (Rook) rook,
+                                                               rook.getPiecePosition(),
+                                                               5));
                     }
                 }
             }
             // Queen side castle
 
             // Check there are no pieces between the king and rook
-            if (!this.board.getTile(59).isTileOccupied() &&
-                !this.board.getTile(2).isTileOccupied() &&
-                !this.board.getTile(3).isTileOccupied()) {
-
-                final Tile rookTile = this.board.getTile(0);
-                if (rookTile.isTileOccupied() &&
-                    rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(2,opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(3,opponentLegals).isEmpty() &&
-                    rookTile.getPiece().getPieceType().isRook()) {
-
-                    // Make sure the king doesn't move through check and that the piece is a rook
-                    if (Player.calculateAttacksOnTile(61,opponentLegals).isEmpty() &&
-                        Player.calculateAttacksOnTile(62,opponentLegals).isEmpty() &&
-                        rookTile.getPiece().getPieceType().isRook()) {
+            if (!this.board.isTileOccupied(1) &&
+                !this.board.isTileOccupied(2) &&
+                !this.board.isTileOccupied(3)) {
+                final Piece rook = this.board.getPiece(0);
+                if (isCastleRook(rook)) {
+                    // Make sure the king doesn't move through check
+                    if (!this.board.getBitBoard().isSquareAttacked(3, getOpponent().getAlliance()) &&
+                        !this.board.getBitBoard().isSquareAttacked(2, getOpponent().getAlliance())) {
                         kingCastles.add(new QueenSideCastleMove(this.board,
-                                                                    playerKing,
-                                                                    2,
-                                                                    (Rook)rookTile.getPiece(),
-                                                                    rookTile.getTileCoordinate(),
-                                                                    3));
+                                                                this.playerKing,
+                                                                2,
+                                                                (Rook) rook,
+                                                                rook.getPiecePosition(),
+                                                                3));
                     }
                 }
             }
@@ -1,9 +1,13 @@
 package com.chess.engine.player;
 
 import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.GameState;
 import com.chess.engine.board.Move;
+import com.chess.engine.board.Position;
 import com.chess.engine.pieces.King;
+import com.chess.engine.pieces.Pawn;
 import com.chess.engine.pieces.Piece;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
@@ -28,56 +32,61 @@ public abstract class Player {
      */
     protected final King playerKing;
     /**
-     * List of legal moves
+     * The moves of the player's pieces, not counting castles, before checking if they expose the king
+     * (null until first asked for)
      */
-    protected final Collection<Move> legalMoves;
+    private Collection<Move> standardLegalMoves;
     /**
-     * Determines if the player is in check
+     * List of legal moves (null until first asked for)
+     */
+    private Collection<Move> legalMoves;
+    /**
+     * The legal captures and promotions (null until first asked for)
+     */
+    private Collection<Move> attackMoves;
+    /**
+     * Determines if the player is in check (null until first asked for)
+     */
+    private Boolean isInCheck;
+    /**
+     * The state of the game for the player (null until first asked for)
      */
-    private final boolean isInCheck;
+    private GameState gameState;
 
     /**
-     * Constructor
+     * Constructor. Nothing but the king is worked out here: the moves and check status of the player
+     * are calculated the first time they are asked for and then remembered. The remembered values are
+     * immutable, so two threads racing to calculate one only repeat work.
      * @param board the board
-     * @param opponentMoves the opponents's legal moves
-     * @param legalMoves the list of legal moves
      */
-    protected Player(final Board board, final Collection<Move> legalMoves, final Collection<Move> opponentMoves) {
+    protected Player(final Board board) {
         this.board = board;
         this.playerKing = establishKing();
-        this.legalMoves = ImmutableList.copyOf(Iterables.concat(legalMoves, calculateKingCastles(legalMoves, opponentMoves)));
-        this.isInCheck = !Player.calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
     }
 
     /**
-     * Checks if the player is in check
-     * @param piecePosition the position of the king
-     * @param moves the opponents moves
-     * @return
+     * Get the king for the player on the board
+     * @return the king
      */
-    protected static Collection<Move> calculateAttacksOnTile(int piecePosition, Collection<Move> moves) {
-        final List<Move> attackMoves = new ArrayList<>();
-
-        for (final Move move : moves) {
-            if (piecePosition == move.getDestinationCoordinate()) {
-                attackMoves.add(move);
-            }
+    protected King establishKing(){
+        final int kingPosition = this.board.getBitBoard().getKingPosition(getAlliance());
+        // If we can't establish a King there is an issue
+        if (kingPosition == -1) {
+            throw new RuntimeException("Should not reach here! Not a valid board");
         }
-        return ImmutableList.copyOf(attackMoves);
+        return (King) this.board.getPiece(kingPosition);
     }
 
     /**
-     * Get the king for the player on the board
-     * @return the king
+     * Determines if a piece is a rook of this player that can still castle
+     * @param piece the piece on the rook's starting tile (may be null)
+     * @return true if the piece is an unmoved rook of this player
      */
-    protected King establishKing(){
-        for (final Piece piece : getActivePieces()) {
-            if (piece.getPieceType().isKing()) {
-                return (King)piece;
-            }
-        }
-        // If we can't establish a King there is an issue
-        throw new RuntimeException("Should not reach here! Not a valid board");
+    protected boolean isCastleRook(final Piece piece) {
+        return piece != null &&
+               piece.getPieceType().isRook() &&
+               piece.getPieceAlliance() == getAlliance() &&
+               piece.isFirstMove();
     }
 
     /**
@@ -86,7 +95,18 @@ public abstract class Player {
      * @return true if the move is legal and false otherwise
      */
     public boolean isMoveLegal(final Move move) {
-        return this.legalMoves.contains(move);
+        if (move == Move.NULL_MOVE) {
+            return false;
+        }
+        if (this == this.board.getCurrentPlayer()) {
+            // The board indexes the current player's moves, so there is no need to scan them. The lookup gives the
+            // null move when nothing matches, and the null move has no piece to compare.
+            final Move legalMove = this.board.getLegalMove(move.getCurrentCoordinate(),
+                                                           move.getDestinationCoordinate(),
+                                                           move.getPromotionType());
+            return legalMove != Move.NULL_MOVE && legalMove.equals(move);
+        }
+        return getLegalMoves().contains(move);
     }
 
     /**
@@ -94,7 +114,12 @@ public abstract class Player {
      * @return true if the player is in check
      */
     public boolean isInCheck() {
-        return this.isInCheck;
+        Boolean inCheck = this.isInCheck;
+        if (inCheck == null) {
+            inCheck = this.board.getBitBoard().isSquareAttacked(this.playerKing.getPiecePosition(), getOpponent().getAlliance());
+            this.isInCheck = inCheck;
+        }
+        return inCheck;
     }
 
     /**
@@ -102,7 +127,7 @@ public abstract class Player {
      * @return true if the player is in check mate
      */
     public boolean isInCheckMate() {
-        return this.isInCheck && !hasEscapeMoves();
+        return getGameState() == GameState.CHECKMATE;
     }
 
     /**
@@ -110,14 +135,42 @@ public abstract class Player {
      * @return true if the player can make a move
      */
     protected boolean hasEscapeMoves() {
-        // Try to make every move and if you can then it is not check mate
-        for (final Move move : this.legalMoves) {
-            final MoveTransition transition = makeMove(move);
-            if (transition.getMoveStatus().isDone()) {
-                return true;
+        return getGameState() == GameState.IN_PROGRESS;
+    }
+
+    /**
+     * Gets the state of the game for this player. If the legal moves haven't been generated, this stops at the
+     * first legal move found instead of generating them all.
+     * @return the state of the game
+     */
+    public GameState getGameState() {
+        GameState state = this.gameState;
+        if (state == null) {
+            final Collection<Move> moves = this.legalMoves;
+            if (moves != null) {
+                if (!moves.isEmpty()) {
+                    state = GameState.IN_PROGRESS;
+                } else {
+                    state = isInCheck() ? GameState.CHECKMATE : GameState.STALEMATE;
+                }
+            } else {
+                state = GameState.evaluate(this.board.getBitBoard(), getAlliance(), calculateEnPassantCoordinate());
             }
+            this.gameState = state;
         }
-        return false;
+        return state;
+    }
+
+    /**
+     * Gets the tile this player could capture en passant on
+     * @return the tile behind the opponent pawn that just jumped or {@link Position#NO_EN_PASSANT}
+     */
+    private int calculateEnPassantCoordinate() {
+        final Pawn enPassantPawn = this.board.getEnPassantPawn();
+        if (enPassantPawn == null || enPassantPawn.getPieceAlliance() == getAlliance()) {
+            return Position.NO_EN_PASSANT;
+        }
+        return this.board.getEnPassantCoordinate();
     }
 
     /**
@@ -126,7 +179,7 @@ public abstract class Player {
      */
     public boolean isInStaleMate() {
         // If the player is not in Check and can't make a move then it's stale mate
-        return !isInCheck && !hasEscapeMoves();
+        return getGameState() == GameState.STALEMATE;
     }
 
     /**
@@ -143,37 +196,123 @@ public abstract class Player {
      * @return the MoveTransition object with the move
      */
     public MoveTransition makeMove(final Move move) {
-        // If the move is illegal
-        if (!isMoveLegal(move)) {
-            return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
+        // The legal moves never leave the king attacked, so a legal move can be made straight away
+        if (isMoveLegal(move)) {
+            return new MoveTransition(move.execute(), move, MoveStatus.DONE);
         }
-        final Board transitionBoard = move.execute();
-
-        // get all moves against the current player's king
-        final Collection<Move> kingAttacks = Player.calculateAttacksOnTile(transitionBoard.getCurrentPlayer().getOpponent().getPlayerKing().getPiecePosition(), transitionBoard.getCurrentPlayer().getLegalMoves());
-
-        // If there are King attacks, the move is illegal because it leaves the player in check
-        if (!kingAttacks.isEmpty()) {
-            return new MoveTransition(this.board,move,MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        // A move the piece could make that isn't legal must leave the player in check
+        if (move != Move.NULL_MOVE && getStandardLegalMoves().contains(move)) {
+            return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
         }
-        // Otherwise the move is legal and we can make it
-        return new MoveTransition(transitionBoard,move, MoveStatus.DONE);
+        return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
     }
 
     /**
      * Returns the player's king
      * @return the player's king
      */
-    private Piece getPlayerKing() {
+    public King getPlayerKing() {
         return this.playerKing;
     }
 
     /**
-     * Returns the legal moves
+     * Returns the legal moves. None of them leaves the player's king attacked.
      * @return the legal moves
      */
     public Collection<Move> getLegalMoves() {
-        return this.legalMoves;
+        Collection<Move> moves = this.legalMoves;
+        if (moves == null) {
+            moves = ImmutableList.copyOf(Iterables.concat(calculateSafeMoves(getStandardLegalMoves()),
+                                                          calculateKingCastles()));
+            this.legalMoves = moves;
+        }
+        return moves;
+    }
+
+    /**
+     * Returns the legal captures and promotions, the moves a quiescence search looks at. They are generated on
+     * their own, so the quiet moves never have to be.
+     * @return the legal captures and promotions
+     */
+    public Collection<Move> getAttackMoves() {
+        Collection<Move> moves = this.attackMoves;
+        if (moves == null) {
+            final List<Move> pieceMoves = new ArrayList<>();
+            for (final Piece piece : getActivePieces()) {
+                pieceMoves.addAll(piece.calculateAttackMoves(this.board));
+            }
+            moves = ImmutableList.copyOf(calculateSafeMoves(pieceMoves));
+            this.attackMoves = moves;
+        }
+        return moves;
+    }
+
+    /**
+     * Keeps the moves that don't leave the king attacked. The pieces giving check and the pieces pinned to the king
+     * are found once, so no move has to be made to test it: in check a move must capture the checker or block its
+     * line (only the king can move out of a double check), a pinned piece must stay on the line through the king
+     * and the king can't move to an attacked tile.
+     * @param moves the moves of the player's pieces
+     * @return the legal moves
+     */
+    private Collection<Move> calculateSafeMoves(final Collection<Move> moves) {
+        final BitBoard bitBoard = this.board.getBitBoard();
+        final Alliance opponent = getOpponent().getAlliance();
+        final int kingPosition = this.playerKing.getPiecePosition();
+        final long occupancyWithoutKing = bitBoard.getAllPieces() ^ BitBoard.tileMask(kingPosition);
+        final long checkers = bitBoard.getCheckers(getAlliance());
+        final long checkMask;
+        if (checkers == 0) {
+            checkMask = -1L;
+        } else if ((checkers & (checkers - 1)) == 0) {
+            checkMask = checkers | BitBoard.getBetween(kingPosition, BitBoard.firstTile(checkers));
+        } else {
+            checkMask = 0L;
+        }
+        final long pinned = bitBoard.getPinnedPieces(getAlliance());
+
+        final List<Move> safeMoves = new ArrayList<>(moves.size());
+        for (final Move move : moves) {
+            final int from = move.getCurrentCoordinate();
+            final int to = move.getDestinationCoordinate();
+            final boolean isSafe;
+            if (from == kingPosition) {
+                // The king is taken off the board so it can't hide behind itself from a slider
+                isSafe = !bitBoard.isTileAttacked(to, opponent, occupancyWithoutKing);
+            } else if (move.isAttack() && move.getAttackedPiece().getPiecePosition() != to) {
+                // En passant is the only capture that doesn't land on the captured piece
+                isSafe = checkMask != 0 &&
+                         bitBoard.isEnPassantLegal(from, to, move.getAttackedPiece().getPiecePosition(), getAlliance());
+            } else {
+                isSafe = (checkMask & BitBoard.tileMask(to)) != 0 &&
+                         ((pinned & BitBoard.tileMask(from)) == 0 || (BitBoard.getLine(kingPosition, from) & BitBoard.tileMask(to)) != 0);
+            }
+            if (isSafe) {
+                safeMoves.add(move);
+            }
+        }
+        return safeMoves;
+    }
+
+    /**
+     * Returns the moves of the player's pieces, not counting castles. Some of them may leave the king attacked,
+     * those are filtered out by {@link #getLegalMoves()}.
+     * @return the moves of the player's pieces
+     */
+    protected Collection<Move> getStandardLegalMoves() {
+        Collection<Move> moves = this.standardLegalMoves;
+        if (moves == null) {
+            final List<Move> pieceMoves = new ArrayList<>();
+            /**
+             * Go through each piece, get the legal moves, and add it to the list
+             */
+            for (final Piece piece : getActivePieces()) {
+                pieceMoves.addAll(piece.calculateLegalMoves(this.board));
+            }
+            moves = ImmutableList.copyOf(pieceMoves);
+            this.standardLegalMoves = moves;
+        }
+        return moves;
     }
 
     /**
@@ -193,5 +332,11 @@ public abstract class Player {
      * @return the opponent
      */
     public abstract Player getOpponent();
-    protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegal, Collection<Move> opponentLegals);
+
+    /**
+     * Calculates the castles the player can make. The tiles the king passes are tested against the opponent's
+     * attack map, so the opponent's moves don't have to be generated.
+     * @return the castle moves
+     */
+    protected abstract Collection<Move> calculateKingCastles();
 }
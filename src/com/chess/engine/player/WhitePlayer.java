@@ -3,7 +3,6 @@ package com.chess.engine.player;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
-import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.pieces.Rook;
 import com.google.common.collect.ImmutableList;
@@ -24,11 +23,9 @@ public class WhitePlayer extends Player {
     /**
      * Constructor
      * @param board the board
-     * @param whiteStandardLegalMoves the legal moves for white
-     * @param blackStandardLegalMoves the legal moves for black
      */
-    public WhitePlayer(Board board, Collection<Move> whiteStandardLegalMoves, Collection<Move> blackStandardLegalMoves) {
-        super(board, whiteStandardLegalMoves, blackStandardLegalMoves);
+    public WhitePlayer(final Board board) {
+        super(board);
     }
 
     @Override
@@ -47,56 +44,52 @@ public class WhitePlayer extends Player {
     }
 
     @Override
-    protected Collection<Move> calculateKingCastles(Collection<Move> playerLegal, Collection<Move> opponentLegals) {
+    protected Collection<Move> calculateKingCastles() {
         final List<Move> kingCastles = new ArrayList<>();
 
-
         // Make sure it is the king's first move and the player is not in check currently
-        if (this.playerKing.isFirstMove() && !this.isInCheck()) {
+        if (this.playerKing.isFirstMove() && this.playerKing.getPiecePosition() == 60 && !this.isInCheck()) {
             // King side Castle
 
             // Check there are no pieces between the king and rook
-            if (!this.board.getTile(61).isTileOccupied() && !this.board.getTile(62).isTileOccupied()) {
-                final Tile rookTile = this.board.getTile(63);
-                if (rookTile.isTileOccupied() &&
-                    rookTile.getPiece().isFirstMove() &&
-                    Player.calculateAttacksOnTile(58,opponentLegals).isEmpty() &&
-                    Player.calculateAttacksOnTile(59,opponentLegals).isEmpty() &&
-                    rookTile.getPiece().getPieceType().isRook()) {
-
+            if (!this.board.isTileOccupied(61) &&
+                !this.board.isTileOccupied(62)) {
+                final Piece rook = this.board.getPiece(63);
+                if (isCastleRook(rook)) {
                     // Make sure the king doesn't move through check
-                    if (Player.calculateAttacksOnTile(61,opponentLegals).isEmpty() && Player.calculateAttacksOnTile(62,opponentLegals).isEmpty() && Player.calculateAttacksOnTile(63,opponentLegals).isEmpty()) {
+                    if (!this.board.getBitBoard().isSquareAttacked(61, getOpponent().getAlliance()) &&
+                        !this.board.getBitBoard().isSquareAttacked(62, getOpponent().getAlliance())) {
                         kingCastles.add(new KingSideCastleMove(this.board,
-                                                                    this.playerKing,
-                                                                    60,
-                                                                    (Rook)rookTile.getPiece(),
-                                                                     rookTile.getTileCoordinate(),
-                                                                    61));
+                                                               this.playerKing,
+                                                               62,
+                                                               (Rook) rook,
+                                                               rook.getPiecePosition(),
+                                                               61));
                     }
                 }
             }
             // Queen side castle
 
             // Check there are no pieces between the king and rook
-            if (!this.board.getTile(59).isTileOccupied() && !this.board.getTile(58).isTileOccupied() && !this.board.getTile(57).isTileOccupied()) {
-                final Tile rookTile = this.board.getTile(56);
-                if (rookTile.isTileOccupied() && rookTile.getPiece().isFirstMove()) {
-                    // Make sure the king doesn't move through check and that the piece is a rook
-                    if (Player.calculateAttacksOnTile(61,opponentLegals).isEmpty() && Player.calculateAttacksOnTile(62,opponentLegals).isEmpty() && rookTile.getPiece().getPieceType().isRook()) {
+            if (!this.board.isTileOccupied(57) &&
+                !this.board.isTileOccupied(58) &&
+                !this.board.isTileOccupied(59)) {
+                final Piece rook = this.board.getPiece(56);
+                if (isCastleRook(rook)) {
+                    // Make sure the king doesn't move through check
+                    if (!this.board.getBitBoard().isSquareAttacked(59, getOpponent().getAlliance()) &&
+                        !this.board.getBitBoard().isSquareAttacked(58, getOpponent().getAlliance())) {
                         kingCastles.add(new QueenSideCastleMove(this.board,
-                                                                     this.playerKing,
-                                                                     58,
-                                                                     (Rook)rookTile.getPiece(),
-                                                                      rookTile.getTileCoordinate(),
-                                                                     59));
+                                                                this.playerKing,
+                                                                58,
+                                                                (Rook) rook,
+                                                                rook.getPiecePosition(),
+                                                                59));
                     }
-
                 }
-
             }
         }
-
-
         return ImmutableList.copyOf(kingCastles);
     }
+
 }
@@ -0,0 +1,487 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File: AlphaBeta.java
+ * Date: 10/17/26
+ */
+
+/**
+ * A fixed depth negamax alpha-beta search over a {@link Position}. It can share a {@link TranspositionTable}
+ * to skip positions it has already searched and to try their best move first. Each search records its principal
+ * variation (the line both sides are expected to play) and stops early once a node or time budget runs out.
+ * At depth 0 a quiescence search plays out the captures, so positions are never evaluated mid-exchange.
+ *
+ * A searcher keeps a move picker per ply and makes and unmakes moves on its own position, so it must only be
+ * used by one thread at a time.
+ */
+public final class AlphaBeta {
+
+    /**
+     * Bigger than any score
+     */
+    public static final int INFINITY = 32000;
+    /**
+     * The score of being checkmated now. Being checkmated in n plies scores -(MATE - n).
+     */
+    public static final int MATE = 31000;
+    /**
+     * The deepest ply the search can reach
+     */
+    public static final int MAX_PLY = 128;
+
+    /**
+     * The position being searched
+     */
+    private final Position position;
+    /**
+     * The shared table (null to search without one)
+     */
+    private final TranspositionTable table;
+    /**
+     * One move picker per ply
+     */
+    private final MovePicker[] movePickers;
+    /**
+     * The two latest quiet moves that caused a cutoff at each ply (the killer moves)
+     */
+    private final int[][] killerMoves;
+    /**
+     * The quiet move that last caused a cutoff after each move, indexed by {@link MovePicker#historyIndex(int)} of
+     * that move (the counter moves)
+     */
+    private final int[] counterMoves;
+    /**
+     * How often each quiet move caused a cutoff, weighted by the depth, indexed by
+     * {@link MovePicker#historyIndex(int)}
+     */
+    private final int[] history;
+    /**
+     * The best move found at the root by the last search
+     */
+    private int bestMove;
+    /**
+     * The number of positions visited
+     */
+    private long nodeCount;
+    /**
+     * The positions visited by every searcher sharing the node limit, added to every {@link #CLOCK_CHECK_INTERVAL}
+     * nodes
+     */
+    private final AtomicLong sharedNodeCount;
+    /**
+     * The principal variation found below each ply (a triangular table: ply n only uses the entries after n)
+     */
+    private final int[][] principalVariation;
+    private final int[] principalVariationLength;
+    /**
+     * The node count and System.nanoTime() at which the search stops (Long.MAX_VALUE for no limit)
+     */
+    private long nodeLimit;
+    private long deadline;
+    /**
+     * Set when the search ran out of budget or was asked to stop. The scores of a stopped search are meaningless.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * How often (in nodes) the clock is checked
+     */
+    private static final int CLOCK_CHECK_INTERVAL = 1024;
+
+    /**
+     * The history score at which every history score is halved, so old cutoffs count less than new ones
+     */
+    private static final int HISTORY_LIMIT = 1 << 20;
+
+    /**
+     * The most a capture can gain past the material it takes (positional swings the evaluation might see), used
+     * by delta pruning in the quiescence search
+     */
+    private static final int DELTA_MARGIN = 200;
+
+    /**
+     * Constructor
+     * @param position the position to search (it is restored after every search)
+     * @param table the transposition table, or null to search without one
+     */
+    public AlphaBeta(final Position position, final TranspositionTable table) {
+        this(position, table, new AtomicLong());
+    }
+
+    /**
+     * Constructor for one of several searchers that share a node limit
+     * @param position the position to search (it is restored after every search)
+     * @param table the transposition table, or null to search without one
+     * @param sharedNodeCount the positions visited by all the searchers, checked against the node limit
+     */
+    public AlphaBeta(final Position position, final TranspositionTable table, final AtomicLong sharedNodeCount) {
+        this.position = position;
+        this.sharedNodeCount = sharedNodeCount;
+        this.table = table;
+        this.movePickers = new MovePicker[MAX_PLY + 1];
+        for (int i = 0; i < this.movePickers.length; i++) {
+            this.movePickers[i] = new MovePicker(position);
+        }
+        this.killerMoves = new int[MAX_PLY + 1][2];
+        this.counterMoves = new int[BitBoard.NUM_PIECE_BITBOARDS * BoardUtils.NUM_TILES];
+        this.history = new int[BitBoard.NUM_PIECE_BITBOARDS * BoardUtils.NUM_TILES];
+        this.principalVariation = new int[MAX_PLY + 1][MAX_PLY + 1];
+        this.principalVariationLength = new int[MAX_PLY + 1];
+        this.nodeLimit = Long.MAX_VALUE;
+        this.deadline = Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the budget of the following searches
+     * @param nodeLimit the node count to stop at, counting the nodes of every searcher sharing the count
+     *                  (Long.MAX_VALUE for no limit)
+     * @param deadline the System.nanoTime() to stop at (Long.MAX_VALUE for no limit)
+     */
+    public void setLimits(final long nodeLimit, final long deadline) {
+        this.nodeLimit = nodeLimit;
+        this.deadline = deadline;
+        this.stopped = false;
+    }
+
+    /**
+     * Asks a running search to stop as soon as possible. It can be called from any thread.
+     */
+    public void stop() {
+        this.stopped = true;
+    }
+
+    /**
+     * Determines if the last search was stopped before it finished
+     * @return true if the search ran out of budget or was stopped
+     */
+    public boolean isStopped() {
+        return this.stopped;
+    }
+
+    /**
+     * Searches the position to a fixed depth
+     * @param depth the depth in plies
+     * @return the score from the point of view of the side to move
+     */
+    public int search(final int depth) {
+        return search(depth, -INFINITY, INFINITY);
+    }
+
+    /**
+     * Searches the position to a fixed depth within a window. The best move of the previous search is tried first.
+     * @param depth the depth in plies
+     * @param alpha the lower bound of the window
+     * @param beta the upper bound of the window
+     * @return the score from the point of view of the side to move, or a bound on it if outside the window
+     */
+    public int search(final int depth, final int alpha, final int beta) {
+        this.principalVariationLength[0] = 0;
+        return negamax(depth, alpha, beta, 0);
+    }
+
+    /**
+     * Gets the principal variation of the last search
+     * @return the packed moves of the line, starting with the best move
+     */
+    public int[] getPrincipalVariation() {
+        return Arrays.copyOf(this.principalVariation[0], this.principalVariationLength[0]);
+    }
+
+    /**
+     * Gets the best move found by the last search
+     * @return the packed move or {@link PackedMove#NULL_MOVE} if the side to move has no moves
+     */
+    public int getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * Gets the number of positions visited since the searcher was created
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Searches a position
+     * @param depth the plies left to search
+     * @param alpha the score the side to move is already sure of
+     * @param beta the score the opponent is already sure of
+     * @param ply the distance from the root
+     * @return the score from the point of view of the side to move
+     */
+    private int negamax(final int depth, int alpha, final int beta, final int ply) {
+        this.principalVariationLength[ply] = ply;
+        if (ply > 0 && (this.position.isRepetition() || this.position.getHalfMoveClock() >= 100)) {
+            return 0;
+        }
+        if (depth == 0) {
+            return quiescence(alpha, beta, ply);
+        }
+        if (isOutOfBudget()) {
+            return 0;
+        }
+        if (ply == MAX_PLY) {
+            return Evaluator.evaluate(this.position);
+        }
+
+        final long key = this.position.getZobristKey();
+        int hashMove = PackedMove.NULL_MOVE;
+        if (this.table != null) {
+            final long entry = this.table.probe(key);
+            if (entry != TranspositionTable.NO_ENTRY) {
+                hashMove = TranspositionTable.getMove(entry);
+                if (ply > 0 && TranspositionTable.getDepth(entry) >= depth) {
+                    final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+                    final int bound = TranspositionTable.getBound(entry);
+                    if (bound == TranspositionTable.EXACT ||
+                        (bound == TranspositionTable.LOWER_BOUND && score >= beta) ||
+                        (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+        }
+
+        final MovePicker movePicker = this.movePickers[ply];
+        final int lastMove = this.position.getLastMove();
+        // Without a table the root still tries the previous iteration's best move first
+        movePicker.init(hashMove == PackedMove.NULL_MOVE && ply == 0 ? this.bestMove : hashMove,
+                        this.killerMoves[ply][0],
+                        this.killerMoves[ply][1],
+                        lastMove == PackedMove.NULL_MOVE ? PackedMove.NULL_MOVE :
+                                                           this.counterMoves[MovePicker.historyIndex(lastMove)],
+                        this.history);
+
+        final int originalAlpha = alpha;
+        int bestScore = -INFINITY;
+        int bestMove = PackedMove.NULL_MOVE;
+        for (int move = movePicker.next(); move != PackedMove.NULL_MOVE; move = movePicker.next()) {
+            this.position.makeMove(move);
+            final int score = -negamax(depth - 1, -beta, -alpha, ply + 1);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                bestMove = move;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if (alpha >= beta) {
+                        if (!PackedMove.isCapture(move) && !PackedMove.isPromotion(move)) {
+                            updateQuietMoveStats(move, lastMove, depth, ply);
+                        }
+                        break;
+                    }
+                }
+            }
+        }
+        if (bestMove == PackedMove.NULL_MOVE) {
+            // No legal move
+            return this.position.isInCheck() ? -MATE + ply : 0;
+        }
+
+        if (this.table != null) {
+            final int bound;
+            if (bestScore <= originalAlpha) {
+                bound = TranspositionTable.UPPER_BOUND;
+            } else if (bestScore >= beta) {
+                bound = TranspositionTable.LOWER_BOUND;
+            } else {
+                bound = TranspositionTable.EXACT;
+            }
+            this.table.store(key, bestMove, scoreToTable(bestScore, ply), depth, bound);
+        }
+        if (ply == 0) {
+            this.bestMove = bestMove;
+        }
+        return bestScore;
+    }
+
+    /**
+     * Searches only the captures and promotions of a position until it is quiet, so the evaluation is never taken
+     * in the middle of an exchange. The side to move can always decline to capture, so the evaluation of the
+     * position (its stand-pat score) is a lower bound on its score. Captures that lose material
+     * ({@link StaticExchange}) are never picked, and captures that can't raise alpha even if they win their piece
+     * for nothing (delta pruning) are skipped.
+     * In check every move is searched, since standing pat isn't possible.
+     * @param alpha the score the side to move is already sure of
+     * @param beta the score the opponent is already sure of
+     * @param ply the distance from the root
+     * @return the score from the point of view of the side to move
+     */
+    private int quiescence(int alpha, final int beta, final int ply) {
+        this.principalVariationLength[ply] = ply;
+        if (isOutOfBudget()) {
+            return 0;
+        }
+        if (ply == MAX_PLY) {
+            return Evaluator.evaluate(this.position);
+        }
+
+        final boolean inCheck = this.position.isInCheck();
+        final MovePicker movePicker = this.movePickers[ply];
+        final int standPat;
+        int bestScore;
+        if (inCheck) {
+            movePicker.init(PackedMove.NULL_MOVE, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE, PackedMove.NULL_MOVE,
+                            this.history);
+            standPat = -INFINITY;
+            bestScore = -INFINITY;
+        } else {
+            standPat = Evaluator.evaluate(this.position);
+            if (standPat >= beta) {
+                return standPat;
+            }
+            if (standPat > alpha) {
+                alpha = standPat;
+            }
+            bestScore = standPat;
+            movePicker.initCapturesOnly();
+        }
+
+        for (int move = movePicker.next(); move != PackedMove.NULL_MOVE; move = movePicker.next()) {
+            if (!inCheck && !PackedMove.isPromotion(move) &&
+                standPat + BitBoard.pieceType(PackedMove.getCapturedPiece(move)).getPieceValue() + DELTA_MARGIN <= alpha) {
+                continue;
+            }
+            this.position.makeMove(move);
+            final int score = -quiescence(-beta, -alpha, ply + 1);
+            this.position.unmakeMove();
+            if (this.stopped) {
+                return 0;
+            }
+            if (score > bestScore) {
+                bestScore = score;
+                if (score > alpha) {
+                    alpha = score;
+                    updatePrincipalVariation(move, ply);
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        if (inCheck && bestScore == -INFINITY) {
+            // No way out of check
+            return -MATE + ply;
+        }
+        return bestScore;
+    }
+
+    /**
+     * Counts a node and checks the search's budget every {@link #CLOCK_CHECK_INTERVAL} nodes. The shared count is
+     * only added to then, so the searchers sharing it rarely touch it.
+     * @return true if the search has to stop
+     */
+    private boolean isOutOfBudget() {
+        if ((++this.nodeCount & (CLOCK_CHECK_INTERVAL - 1)) == 0 &&
+            (this.sharedNodeCount.addAndGet(CLOCK_CHECK_INTERVAL) >= this.nodeLimit ||
+             System.nanoTime() >= this.deadline)) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /**
+     * Sets the principal variation of a ply to a move followed by the principal variation below it
+     */
+    private void updatePrincipalVariation(final int move, final int ply) {
+        final int[] line = this.principalVariation[ply];
+        line[ply] = move;
+        final int childLength = this.principalVariationLength[ply + 1];
+        System.arraycopy(this.principalVariation[ply + 1], ply + 1, line, ply + 1, childLength - (ply + 1));
+        this.principalVariationLength[ply] = childLength;
+    }
+
+    /**
+     * Remembers a quiet move that caused a cutoff: it becomes the first killer move of the ply, the counter move of
+     * the previous move and scores higher in the history table (more so the deeper the search below it)
+     * @param move the quiet move
+     * @param lastMove the move made before it or {@link PackedMove#NULL_MOVE}
+     * @param depth the plies that were left to search
+     * @param ply the distance from the root
+     */
+    private void updateQuietMoveStats(final int move, final int lastMove, final int depth, final int ply) {
+        final int[] killers = this.killerMoves[ply];
+        if (killers[0] != move) {
+            killers[1] = killers[0];
+            killers[0] = move;
+        }
+        if (lastMove != PackedMove.NULL_MOVE) {
+            this.counterMoves[MovePicker.historyIndex(lastMove)] = move;
+        }
+        final int index = MovePicker.historyIndex(move);
+        this.history[index] += depth * depth;
+        if (this.history[index] >= HISTORY_LIMIT) {
+            for (int i = 0; i < this.history.length; i++) {
+                this.history[i] /= 2;
+            }
+        }
+    }
+
+    /**
+     * Mate scores count plies from the root, but the table is shared by every path to a position, so they are
+     * stored counting plies from the position itself
+     */
+    static int scoreToTable(final int score, final int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score + ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score - ply;
+        }
+        return score;
+    }
+
+    /**
+     * Undoes {@link #scoreToTable(int, int)}
+     */
+    static int scoreFromTable(final int score, final int ply) {
+        if (score >= MATE - MAX_PLY) {
+            return score - ply;
+        }
+        if (score <= -MATE + MAX_PLY) {
+            return score + ply;
+        }
+        return score;
+    }
+
+    /**
+     * Searches the starting position with and without a transposition table and prints the nodes visited
+     * @param args the depth to search (5 if not given)
+     */
+    public static void main(final String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        final Board board = Board.createStandardBoard();
+
+        final AlphaBeta plain = new AlphaBeta(new Position(board), null);
+        long start = System.nanoTime();
+        final int plainScore = plain.search(depth);
+        final long plainTime = System.nanoTime() - start;
+
+        final TranspositionTable table = new TranspositionTable(64);
+        final AlphaBeta hashed = new AlphaBeta(new Position(board), table);
+        start = System.nanoTime();
+        final int hashedScore = hashed.search(depth);
+        final long hashedTime = System.nanoTime() - start;
+
+        System.out.printf("depth %d without table: score %d, move %s, %d nodes, %d ms%n", depth, plainScore,
+                          PackedMove.toString(plain.getBestMove()), plain.getNodeCount(), plainTime / 1_000_000);
+        System.out.printf("depth %d with table:    score %d, move %s, %d nodes, %d ms%n", depth, hashedScore,
+                          PackedMove.toString(hashed.getBestMove()), hashed.getNodeCount(), hashedTime / 1_000_000);
+        System.out.println(table);
+    }
+}
@@ -0,0 +1,44 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Position;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: Evaluator.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Scores positions for the search
+ */
+public final class Evaluator {
+
+    /**
+     * Cached values() of the piece types, indexed by ordinal
+     */
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private Evaluator() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Scores a position by material
+     * @param position the position
+     * @return the score in centipawns from the point of view of the side to move
+     */
+    public static int evaluate(final Position position) {
+        final BitBoard bitBoard = position.getBitBoard();
+        int score = 0;
+        // The kings are always on the board, so they are left out
+        for (final PieceType pieceType : PIECE_TYPES) {
+            if (!pieceType.isKing()) {
+                score += pieceType.getPieceValue() * (Long.bitCount(bitBoard.getPieces(pieceType, Alliance.WHITE)) -
+                                                      Long.bitCount(bitBoard.getPieces(pieceType, Alliance.BLACK)));
+            }
+        }
+        return position.getSideToMove().isWhite() ? score : -score;
+    }
+}
@@ -0,0 +1,276 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+
+/**
+ * File: MovePicker.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Hands out the legal moves of a position one at a time, best guesses first, and only generates a kind of move when
+ * the earlier ones are used up. Most cutoffs come from the first move or two, so a node that cuts off on the
+ * transposition table's move never generates anything. The order is:
+ * <ol>
+ *     <li>the transposition table's move</li>
+ *     <li>the captures and promotions that don't lose material, most valuable victim first and then least valuable
+ *     attacker first (MVV-LVA)</li>
+ *     <li>the two killer moves of the ply (quiet moves that caused a cutoff in a sibling position)</li>
+ *     <li>the counter move (the quiet move that last refuted the opponent's previous move)</li>
+ *     <li>the other quiet moves, highest history score first</li>
+ *     <li>the captures that lose material ({@link StaticExchange})</li>
+ * </ol>
+ * The table's move, the killers and the counter move come from other positions, so they are checked with
+ * {@link MoveGenerator#isLegal(Position, int)} and skipped when they come up again later.
+ *
+ * A picker is reused for every node at its ply, so picking moves creates no objects.
+ */
+final class MovePicker {
+
+    /**
+     * The stages, in order
+     */
+    private static final int HASH_MOVE = 0;
+    private static final int GENERATE_CAPTURES = 1;
+    private static final int GOOD_CAPTURES = 2;
+    private static final int FIRST_KILLER = 3;
+    private static final int SECOND_KILLER = 4;
+    private static final int COUNTER_MOVE = 5;
+    private static final int GENERATE_QUIETS = 6;
+    private static final int QUIETS = 7;
+    private static final int BAD_CAPTURES = 8;
+    private static final int DONE = 9;
+
+    /**
+     * What a victim's value is multiplied by. Piece values differ by at least 10 and attackers by at most 9900 (a
+     * pawn and a king), so a more valuable victim always comes first whatever captures it.
+     */
+    private static final int VICTIM_WEIGHT = 1024;
+
+    /**
+     * The position the moves are picked for
+     */
+    private final Position position;
+    /**
+     * The generated captures, followed by the quiet moves once they are generated
+     */
+    private final MoveList moves;
+    /**
+     * The ordering score of each generated move
+     */
+    private final int[] scores;
+    /**
+     * The captures that lose material, in the order they were picked
+     */
+    private final int[] badCaptures;
+    private int badCaptureCount;
+    /**
+     * The stage the picker is in and the next move of the stage
+     */
+    private int stage;
+    private int index;
+    /**
+     * True to only pick the good captures (for the quiescence search)
+     */
+    private boolean capturesOnly;
+    /**
+     * The moves tried before generating
+     */
+    private int hashMove;
+    private int firstKiller;
+    private int secondKiller;
+    private int counterMove;
+    /**
+     * The history score of each quiet move, indexed by {@link #historyIndex(int)}
+     */
+    private int[] history;
+
+    /**
+     * Constructor
+     * @param position the position the moves are picked for
+     */
+    MovePicker(final Position position) {
+        this.position = position;
+        this.moves = new MoveList();
+        this.scores = new int[MoveList.DEFAULT_CAPACITY];
+        this.badCaptures = new int[MoveList.DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Starts picking every legal move of the current position
+     * @param hashMove the transposition table's move or {@link PackedMove#NULL_MOVE}
+     * @param firstKiller the first killer move of the ply or {@link PackedMove#NULL_MOVE}
+     * @param secondKiller the second killer move of the ply or {@link PackedMove#NULL_MOVE}
+     * @param counterMove the counter move of the previous move or {@link PackedMove#NULL_MOVE}
+     * @param history the history scores of the quiet moves
+     */
+    void init(final int hashMove,
+              final int firstKiller,
+              final int secondKiller,
+              final int counterMove,
+              final int[] history) {
+        this.stage = HASH_MOVE;
+        this.capturesOnly = false;
+        this.hashMove = hashMove;
+        this.firstKiller = firstKiller;
+        this.secondKiller = secondKiller;
+        this.counterMove = counterMove;
+        this.history = history;
+    }
+
+    /**
+     * Starts picking only the captures and promotions of the current position that don't lose material
+     */
+    void initCapturesOnly() {
+        this.stage = GENERATE_CAPTURES;
+        this.capturesOnly = true;
+        this.hashMove = PackedMove.NULL_MOVE;
+        this.firstKiller = PackedMove.NULL_MOVE;
+        this.secondKiller = PackedMove.NULL_MOVE;
+        this.counterMove = PackedMove.NULL_MOVE;
+    }
+
+    /**
+     * Gets the next move
+     * @return the packed move or {@link PackedMove#NULL_MOVE} once every move has been picked
+     */
+    int next() {
+        while (true) {
+            switch (this.stage) {
+                case HASH_MOVE:
+                    this.stage = GENERATE_CAPTURES;
+                    if (MoveGenerator.isLegal(this.position, this.hashMove)) {
+                        return this.hashMove;
+                    }
+                    break;
+                case GENERATE_CAPTURES:
+                    this.moves.clear();
+                    MoveGenerator.generateLegalCaptures(this.position, this.moves);
+                    for (int i = 0; i < this.moves.size(); i++) {
+                        this.scores[i] = scoreCapture(this.moves.get(i));
+                    }
+                    this.index = 0;
+                    this.badCaptureCount = 0;
+                    this.stage = GOOD_CAPTURES;
+                    break;
+                case GOOD_CAPTURES:
+                    while (this.index < this.moves.size()) {
+                        final int move = pickBest();
+                        if (move == this.hashMove) {
+                            continue;
+                        }
+                        if (!StaticExchange.isAtLeast(this.position, move, 0)) {
+                            this.badCaptures[this.badCaptureCount++] = move;
+                            continue;
+                        }
+                        return move;
+                    }
+                    this.stage = this.capturesOnly ? DONE : FIRST_KILLER;
+                    break;
+                case FIRST_KILLER:
+                    this.stage = SECOND_KILLER;
+                    if (this.firstKiller != this.hashMove && isLegalQuiet(this.firstKiller)) {
+                        return this.firstKiller;
+                    }
+                    break;
+                case SECOND_KILLER:
+                    this.stage = COUNTER_MOVE;
+                    if (this.secondKiller != this.hashMove && this.secondKiller != this.firstKiller &&
+                        isLegalQuiet(this.secondKiller)) {
+                        return this.secondKiller;
+                    }
+                    break;
+                case COUNTER_MOVE:
+                    this.stage = GENERATE_QUIETS;
+                    if (this.counterMove != this.hashMove && this.counterMove != this.firstKiller &&
+                        this.counterMove != this.secondKiller && isLegalQuiet(this.counterMove)) {
+                        return this.counterMove;
+                    }
+                    break;
+                case GENERATE_QUIETS:
+                    // The quiet moves go after the captures, which have all been picked
+                    this.index = this.moves.size();
+                    MoveGenerator.generateLegalQuiets(this.position, this.moves);
+                    for (int i = this.index; i < this.moves.size(); i++) {
+                        this.scores[i] = this.history[historyIndex(this.moves.get(i))];
+                    }
+                    this.stage = QUIETS;
+                    break;
+                case QUIETS:
+                    while (this.index < this.moves.size()) {
+                        final int move = pickBest();
+                        if (move != this.hashMove && move != this.firstKiller &&
+                            move != this.secondKiller && move != this.counterMove) {
+                            return move;
+                        }
+                    }
+                    this.index = 0;
+                    this.stage = BAD_CAPTURES;
+                    break;
+                case BAD_CAPTURES:
+                    if (this.index < this.badCaptureCount) {
+                        return this.badCaptures[this.index++];
+                    }
+                    this.stage = DONE;
+                    break;
+                default:
+                    return PackedMove.NULL_MOVE;
+            }
+        }
+    }
+
+    /**
+     * Gets the index of a move in a history table: the moved piece and the tile it moves to
+     * @param move the packed move
+     * @return the index, below {@link BitBoard#NUM_PIECE_BITBOARDS} times 64
+     */
+    static int historyIndex(final int move) {
+        return (PackedMove.getMovedPiece(move) << 6) | PackedMove.getDestinationCoordinate(move);
+    }
+
+    /**
+     * Moves the best scored move left in the stage to the front of what is left and picks it
+     * @return the move
+     */
+    private int pickBest() {
+        int best = this.index;
+        for (int i = this.index + 1; i < this.moves.size(); i++) {
+            if (this.scores[i] > this.scores[best]) {
+                best = i;
+            }
+        }
+        final int move = this.moves.get(best);
+        this.moves.swap(best, this.index);
+        this.scores[best] = this.scores[this.index];
+        this.index++;
+        return move;
+    }
+
+    /**
+     * Determines if a remembered quiet move (a killer or counter move) is legal in the position
+     */
+    private boolean isLegalQuiet(final int move) {
+        return move != PackedMove.NULL_MOVE &&
+               !PackedMove.isCapture(move) &&
+               !PackedMove.isPromotion(move) &&
+               MoveGenerator.isLegal(this.position, move);
+    }
+
+    /**
+     * Scores a capture or promotion by MVV-LVA. A promotion counts the piece the pawn becomes as a victim.
+     */
+    private static int scoreCapture(final int move) {
+        int victimValue = 0;
+        if (PackedMove.isCapture(move)) {
+            victimValue = BitBoard.pieceType(PackedMove.getCapturedPiece(move)).getPieceValue();
+        }
+        if (PackedMove.isPromotion(move)) {
+            victimValue += PackedMove.getPromotionType(move).getPieceValue();
+        }
+        return victimValue * VICTIM_WEIGHT - BitBoard.pieceType(PackedMove.getMovedPiece(move)).getPieceValue();
+    }
+}
@@ -0,0 +1,134 @@
+package com.chess.engine.search;
+
+/**
+ * File: SearchLimits.java
+ * Date: 10/17/26
+ */
+
+/**
+ * How far a search may go. Whichever limit is reached first stops it; a limit that isn't set doesn't apply.
+ */
+public final class SearchLimits {
+
+    /**
+     * The deepest iteration to search
+     */
+    private final int maxDepth;
+    /**
+     * The most positions to visit
+     */
+    private final long maxNodes;
+    /**
+     * The longest the search may take in milliseconds
+     */
+    private final long maxTimeMillis;
+
+    /**
+     * Constructor
+     * @param builder the builder
+     */
+    private SearchLimits(final Builder builder) {
+        this.maxDepth = builder.maxDepth;
+        this.maxNodes = builder.maxNodes;
+        this.maxTimeMillis = builder.maxTimeMillis;
+    }
+
+    /**
+     * Creates limits that only bound the depth
+     * @param depth the deepest iteration to search
+     * @return the limits
+     */
+    public static SearchLimits depth(final int depth) {
+        return new Builder().setMaxDepth(depth).build();
+    }
+
+    /**
+     * Creates limits that only bound the time
+     * @param millis the longest the search may take in milliseconds
+     * @return the limits
+     */
+    public static SearchLimits time(final long millis) {
+        return new Builder().setMaxTimeMillis(millis).build();
+    }
+
+    /**
+     * Gets the deepest iteration to search
+     * @return the depth in plies
+     */
+    public int getMaxDepth() {
+        return this.maxDepth;
+    }
+
+    /**
+     * Gets the most positions to visit
+     * @return the node limit
+     */
+    public long getMaxNodes() {
+        return this.maxNodes;
+    }
+
+    /**
+     * Gets the longest the search may take
+     * @return the time limit in milliseconds
+     */
+    public long getMaxTimeMillis() {
+        return this.maxTimeMillis;
+    }
+
+    /**
+     * Builds search limits
+     */
+    public static class Builder {
+
+        int maxDepth;
+        long maxNodes;
+        long maxTimeMillis;
+
+        /**
+         * Constructor for limits that don't limit anything except {@link AlphaBeta#MAX_PLY}
+         */
+        public Builder() {
+            this.maxDepth = AlphaBeta.MAX_PLY;
+            this.maxNodes = Long.MAX_VALUE;
+            this.maxTimeMillis = Long.MAX_VALUE;
+        }
+
+        /**
+         * Sets the deepest iteration to search
+         * @param maxDepth the depth in plies
+         * @return the builder object
+         */
+        public Builder setMaxDepth(final int maxDepth) {
+            this.maxDepth = Math.max(1, Math.min(maxDepth, AlphaBeta.MAX_PLY));
+            return this;
+        }
+
+        /**
+         * Sets the most positions to visit
+         * @param maxNodes the node limit
+         * @return the builder object
+         */
+        public Builder setMaxNodes(final long maxNodes) {
+            this.maxNodes = maxNodes;
+            return this;
+        }
+
+        /**
+         * Sets the longest the search may take
+         * @param maxTimeMillis the time limit in milliseconds
+         * @return the builder object
+         */
+        public Builder setMaxTimeMillis(final long maxTimeMillis) {
+            this.maxTimeMillis = maxTimeMillis;
+            return this;
+        }
+
+        /**
+         * Builds the limits
+         * @return the limits object
+         */
+        public SearchLimits build() {
+            return new SearchLimits(this);
+        }
+    }
+}
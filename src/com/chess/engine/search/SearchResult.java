@@ -0,0 +1,148 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.google.common.collect.ImmutableList;
+
+import java.util.List;
+
+/**
+ * File: SearchResult.java
+ * Date: 10/17/26
+ */
+
+/**
+ * The outcome of one completed iteration of a search
+ */
+public final class SearchResult {
+
+    /**
+     * The best move (null if the side to move has no moves)
+     */
+    private final Move bestMove;
+    /**
+     * The score from the point of view of the side to move
+     */
+    private final int score;
+    /**
+     * The depth of the iteration
+     */
+    private final int depth;
+    /**
+     * The positions visited by the whole search so far
+     */
+    private final long nodeCount;
+    /**
+     * The time the whole search has taken so far
+     */
+    private final long timeMillis;
+    /**
+     * The line both sides are expected to play, starting with the best move
+     */
+    private final List<Move> principalVariation;
+
+    /**
+     * Constructor
+     * @param principalVariation the expected line, starting with the best move (empty if there are no moves)
+     * @param score the score from the point of view of the side to move
+     * @param depth the depth of the iteration
+     * @param nodeCount the positions visited so far
+     * @param timeMillis the time taken so far
+     */
+    SearchResult(final List<Move> principalVariation,
+                 final int score,
+                 final int depth,
+                 final long nodeCount,
+                 final long timeMillis) {
+        this.principalVariation = ImmutableList.copyOf(principalVariation);
+        this.bestMove = principalVariation.isEmpty() ? null : principalVariation.get(0);
+        this.score = score;
+        this.depth = depth;
+        this.nodeCount = nodeCount;
+        this.timeMillis = timeMillis;
+    }
+
+    /**
+     * Gets the best move
+     * @return the move, or null if the side to move has no moves
+     */
+    public Move getBestMove() {
+        return this.bestMove;
+    }
+
+    /**
+     * Gets the score in centipawns. Mates score close to {@link AlphaBeta#MATE}.
+     * @return the score from the point of view of the side to move
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Determines if the score is a forced mate for either side
+     * @return true if the score is a mate score
+     */
+    public boolean isMateScore() {
+        return Math.abs(this.score) >= AlphaBeta.MATE - AlphaBeta.MAX_PLY;
+    }
+
+    /**
+     * Gets the depth of the iteration
+     * @return the depth in plies
+     */
+    public int getDepth() {
+        return this.depth;
+    }
+
+    /**
+     * Gets the positions visited by the search so far
+     * @return the node count
+     */
+    public long getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Gets the time the search has taken so far
+     * @return the time in milliseconds
+     */
+    public long getTimeMillis() {
+        return this.timeMillis;
+    }
+
+    /**
+     * Gets the search speed
+     * @return the nodes searched per second
+     */
+    public long getNodesPerSecond() {
+        return this.nodeCount * 1000 / Math.max(1, this.timeMillis);
+    }
+
+    /**
+     * Gets the expected line of play
+     * @return the moves, starting with the best move
+     */
+    public List<Move> getPrincipalVariation() {
+        return this.principalVariation;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("depth ").append(this.depth)
+               .append(" score ").append(this.score)
+               .append(" nodes ").append(this.nodeCount)
+               .append(" nps ").append(getNodesPerSecond())
+               .append(" time ").append(this.timeMillis)
+               .append(" pv");
+        for (final Move move : this.principalVariation) {
+            builder.append(' ')
+                   .append(BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()))
+                   .append(BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate()));
+            if (move.getPromotionType() != null) {
+                builder.append(move.getPromotionType().toString().toLowerCase());
+            }
+        }
+        return builder.toString();
+    }
+}
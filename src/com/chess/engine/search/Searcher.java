@@ -0,0 +1,268 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.GameState;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * File: Searcher.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Chooses a move for the current player of a {@link Board} by iterative deepening: the position is searched to
+ * depth 1, then 2, and so on until a limit is reached. The shallow iterations are cheap and fill the transposition
+ * table with the best moves, so the deeper ones try the best move first and cut off much more of the tree.
+ * When a limit stops an iteration part way, the result of the last completed iteration is returned.
+ *
+ * With more than one thread the search is a "lazy SMP" search: helper threads search the same position on their
+ * own copies at slightly different depths and share what they find only through the transposition table. The
+ * helpers fill the table ahead of the main thread, which then cuts off much of its tree. Only the main thread's
+ * iterations are reported.
+ */
+public final class Searcher {
+
+    /**
+     * From this depth on an iteration first searches a narrow window around the previous score
+     */
+    private static final int ASPIRATION_DEPTH = 4;
+    private static final int ASPIRATION_WINDOW = 50;
+
+    /**
+     * The transposition table kept between searches
+     */
+    private final TranspositionTable table;
+    /**
+     * The search running now (null if there is none)
+     */
+    private volatile AlphaBeta running;
+    /**
+     * The number of threads searching, including the main one
+     */
+    private int threadCount;
+    /**
+     * Runs the helper threads (null while only one thread searches)
+     */
+    private ExecutorService helperPool;
+    /**
+     * The helper tasks of the running search
+     */
+    private final List<Future<?>> helperFutures = new ArrayList<>();
+
+    /**
+     * Constructor
+     * @param table the transposition table to use
+     */
+    public Searcher(final TranspositionTable table) {
+        this.table = table;
+        this.threadCount = 1;
+    }
+
+    /**
+     * Sets the number of threads searching. It applies from the next search.
+     * @param threadCount the number of threads, including the one calling {@link #search}
+     */
+    public synchronized void setThreadCount(final int threadCount) {
+        if (threadCount < 1) {
+            throw new IllegalArgumentException("At least one thread must search, not " + threadCount);
+        }
+        if (threadCount != this.threadCount) {
+            shutdown();
+            this.threadCount = threadCount;
+            if (threadCount > 1) {
+                this.helperPool = Executors.newFixedThreadPool(threadCount - 1, runnable -> {
+                    final Thread thread = new Thread(runnable, "search-helper");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+        }
+    }
+
+    /**
+     * Gets the number of threads searching
+     * @return the number of threads, including the main one
+     */
+    public synchronized int getThreadCount() {
+        return this.threadCount;
+    }
+
+    /**
+     * Stops the helper threads. The searcher goes back to searching with one thread.
+     */
+    public synchronized void shutdown() {
+        if (this.helperPool != null) {
+            this.helperPool.shutdownNow();
+            this.helperPool = null;
+        }
+        this.threadCount = 1;
+    }
+
+    /**
+     * Searches for the best move
+     * @param board the board
+     * @param limits the limits of the search
+     * @return the result of the deepest completed iteration
+     */
+    public SearchResult search(final Board board, final SearchLimits limits) {
+        return search(board, limits, null);
+    }
+
+    /**
+     * Searches for the best move
+     * @param board the board
+     * @param limits the limits of the search
+     * @param listener told about every completed iteration (may be null)
+     * @return the result of the deepest completed iteration
+     */
+    public synchronized SearchResult search(final Board board,
+                                            final SearchLimits limits,
+                                            final Consumer<SearchResult> listener) {
+        final long start = System.nanoTime();
+        final Position position = new Position(board);
+        final GameState gameState = position.getGameState();
+        if (gameState.isGameOver()) {
+            return new SearchResult(new ArrayList<>(), gameState == GameState.CHECKMATE ? -AlphaBeta.MATE : 0, 0, 0, 0);
+        }
+
+        // Every thread counts its nodes against the one limit
+        final AtomicLong nodeCount = new AtomicLong();
+        final AlphaBeta alphaBeta = new AlphaBeta(position, this.table, nodeCount);
+        final long deadline = limits.getMaxTimeMillis() == Long.MAX_VALUE ?
+                              Long.MAX_VALUE : start + limits.getMaxTimeMillis() * 1_000_000;
+        this.table.newSearch();
+        this.running = alphaBeta;
+        final List<AlphaBeta> helpers = startHelpers(board, limits, deadline, nodeCount);
+
+        SearchResult result = null;
+        for (int depth = 1; depth <= limits.getMaxDepth(); depth++) {
+            // The first iteration always finishes, so there is always a move to return
+            alphaBeta.setLimits(depth == 1 ? Long.MAX_VALUE : limits.getMaxNodes(),
+                                depth == 1 ? Long.MAX_VALUE : deadline);
+            final int score = searchIteration(alphaBeta, depth, result);
+            if (alphaBeta.isStopped()) {
+                break;
+            }
+            result = new SearchResult(toMoves(board, alphaBeta.getPrincipalVariation()), score, depth,
+                                      countNodes(alphaBeta, helpers), (System.nanoTime() - start) / 1_000_000);
+            if (listener != null) {
+                listener.accept(result);
+            }
+            if (result.isMateScore() && depth >= AlphaBeta.MATE - Math.abs(score)) {
+                // The mate is proven and searching deeper can't find a shorter one
+                break;
+            }
+        }
+        this.running = null;
+        stopHelpers(helpers);
+        return result;
+    }
+
+    /**
+     * Starts the helper threads searching the board, counting their nodes against the main searcher's node limit
+     * @return the helpers' searchers
+     */
+    private List<AlphaBeta> startHelpers(final Board board,
+                                         final SearchLimits limits,
+                                         final long deadline,
+                                         final AtomicLong nodeCount) {
+        final List<AlphaBeta> helpers = new ArrayList<>();
+        this.helperFutures.clear();
+        for (int i = 1; i < this.threadCount; i++) {
+            final AlphaBeta helper = new AlphaBeta(new Position(board), this.table, nodeCount);
+            helper.setLimits(limits.getMaxNodes(), deadline);
+            // Half of the helpers run a ply ahead, so the threads don't all search the same depth at the same time
+            final int firstDepth = 1 + (i & 1);
+            this.helperFutures.add(this.helperPool.submit(() -> {
+                for (int depth = firstDepth; depth <= limits.getMaxDepth() && !helper.isStopped(); depth++) {
+                    helper.search(depth);
+                }
+            }));
+            helpers.add(helper);
+        }
+        return helpers;
+    }
+
+    /**
+     * Stops the helper threads and waits for them, so none is still using the table when the search returns
+     */
+    private void stopHelpers(final List<AlphaBeta> helpers) {
+        for (final AlphaBeta helper : helpers) {
+            helper.stop();
+        }
+        for (final Future<?> future : this.helperFutures) {
+            try {
+                future.get();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final ExecutionException e) {
+                throw new RuntimeException("A search helper failed", e.getCause());
+            }
+        }
+        this.helperFutures.clear();
+    }
+
+    /**
+     * Adds up the positions visited by every thread
+     */
+    private static long countNodes(final AlphaBeta alphaBeta, final List<AlphaBeta> helpers) {
+        long nodeCount = alphaBeta.getNodeCount();
+        for (final AlphaBeta helper : helpers) {
+            nodeCount += helper.getNodeCount();
+        }
+        return nodeCount;
+    }
+
+    /**
+     * Asks the running search to stop and return its last completed iteration. It can be called from any thread.
+     */
+    public void stop() {
+        final AlphaBeta alphaBeta = this.running;
+        if (alphaBeta != null) {
+            alphaBeta.stop();
+        }
+    }
+
+    /**
+     * Searches one iteration, first in a window around the previous score if there is one
+     */
+    private static int searchIteration(final AlphaBeta alphaBeta, final int depth, final SearchResult previous) {
+        if (previous != null && depth >= ASPIRATION_DEPTH && !previous.isMateScore()) {
+            final int alpha = previous.getScore() - ASPIRATION_WINDOW;
+            final int beta = previous.getScore() + ASPIRATION_WINDOW;
+            final int score = alphaBeta.search(depth, alpha, beta);
+            if (score > alpha && score < beta) {
+                return score;
+            }
+        }
+        return alphaBeta.search(depth);
+    }
+
+    /**
+     * Turns a line of packed moves into moves on the boards they are played on
+     * @param board the board the line starts from
+     * @param line the packed moves
+     * @return the moves
+     */
+    static List<Move> toMoves(final Board board, final int[] line) {
+        final List<Move> moves = new ArrayList<>(line.length);
+        Board current = board;
+        for (final int packedMove : line) {
+            final Move move = Move.MoveFactory.createMove(current, packedMove);
+            moves.add(move);
+            current = move.execute();
+        }
+        return moves;
+    }
+}
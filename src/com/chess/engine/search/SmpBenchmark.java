@@ -0,0 +1,112 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+/**
+ * File: SmpBenchmark.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Measures how the time to reach a fixed depth scales with the number of search threads.
+ * Run with: java com.chess.engine.search.SmpBenchmark [max threads] [depth] [table MB]
+ *
+ * Every thread count is timed several times and the fastest round is kept, since the JIT keeps speeding the search
+ * up well after the warm up, which would otherwise flatter whichever thread counts run last. The speedup only
+ * means something for thread counts up to the number of cores, which is printed first.
+ */
+public final class SmpBenchmark {
+
+    /**
+     * Openings played from the starting position to get the benchmark positions (tile pairs, from then to)
+     */
+    private static final int[][][] OPENINGS = {
+            {},
+            // 1.e4 e5 2.Nf3 Nc6 3.Bc4 Bc5
+            {{52, 36}, {12, 28}, {62, 45}, {1, 18}, {61, 34}, {5, 26}},
+            // 1.d4 d5 2.c4 e6 3.Nc3 Nf6
+            {{51, 35}, {11, 27}, {50, 34}, {12, 20}, {57, 42}, {6, 21}}
+    };
+
+    /**
+     * The number of times every thread count searches the positions
+     */
+    private static final int ROUNDS = 3;
+
+    private SmpBenchmark() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the benchmark with 1, 2, 4, ... threads
+     * @param args the most threads, the depth and the table size in MB
+     */
+    public static void main(final String[] args) {
+        final int maxThreads = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        final int depth = args.length > 1 ? Integer.parseInt(args[1]) : 7;
+        final int megabytes = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+
+        final Board[] boards = new Board[OPENINGS.length];
+        for (int i = 0; i < OPENINGS.length; i++) {
+            boards[i] = play(OPENINGS[i]);
+        }
+
+        // Let the JIT compile the search before anything is timed
+        final Searcher warmUp = new Searcher(new TranspositionTable(megabytes));
+        for (final Board board : boards) {
+            warmUp.search(board, SearchLimits.depth(depth));
+        }
+
+        final int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("%d cores, depth %d, best of %d rounds%n", cores, depth, ROUNDS);
+        System.out.printf("%8s %10s %14s %12s %8s%n", "threads", "time (ms)", "nodes", "nps", "speedup");
+        long baseline = 0;
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            final TranspositionTable table = new TranspositionTable(megabytes);
+            final Searcher searcher = new Searcher(table);
+            searcher.setThreadCount(threads);
+            long time = Long.MAX_VALUE;
+            long nodes = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long roundTime = 0;
+                long roundNodes = 0;
+                for (final Board board : boards) {
+                    // Every position starts from an empty table, as the one thread run did
+                    table.clear();
+                    final SearchResult result = searcher.search(board, SearchLimits.depth(depth));
+                    roundTime += result.getTimeMillis();
+                    roundNodes += result.getNodeCount();
+                }
+                if (roundTime < time) {
+                    time = roundTime;
+                    nodes = roundNodes;
+                }
+            }
+            searcher.shutdown();
+            if (threads == 1) {
+                baseline = time;
+            }
+            System.out.printf("%8d %10d %14d %12d %8.2f%s%n", threads, time, nodes,
+                              nodes * 1000 / Math.max(1, time), (double) baseline / Math.max(1, time),
+                              threads > cores ? " *" : "");
+        }
+        if (maxThreads > cores) {
+            System.out.printf("* more threads than cores: the threads take turns, so this is not a speedup%n");
+        }
+    }
+
+    /**
+     * Plays moves from the starting position
+     * @param moves the moves as pairs of tiles
+     * @return the board after the moves
+     */
+    private static Board play(final int[][] moves) {
+        Board board = Board.createStandardBoard();
+        for (final int[] tiles : moves) {
+            final Move move = Move.MoveFactory.createMove(board, tiles[0], tiles[1]);
+            board = board.getCurrentPlayer().makeMove(move).getBoard();
+        }
+        return board;
+    }
+}
@@ -0,0 +1,238 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MagicBitBoards;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.engine.pieces.Piece.PieceType;
+
+/**
+ * File: StaticExchange.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Static exchange evaluation (SEE): works out the material a capture wins or loses once both sides have made every
+ * capture they want on its destination tile, without making any moves. Each side recaptures with its least valuable
+ * attacker and can stop whenever going on would lose material. When a piece leaves the tile's line, the slider
+ * behind it (an x-ray attacker) joins the exchange. Pins and checks are ignored.
+ */
+public final class StaticExchange {
+
+    /**
+     * The piece types from least to most valuable, the order attackers are used in
+     */
+    private static final PieceType[] LEAST_VALUABLE_FIRST = {PieceType.PAWN, PieceType.KNIGHT, PieceType.BISHOP,
+                                                             PieceType.ROOK, PieceType.QUEEN, PieceType.KING};
+
+    /**
+     * The longest possible exchange (every piece on the board captures once)
+     */
+    private static final int MAX_EXCHANGE = 32;
+
+    private StaticExchange() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Works out the material balance of the exchange a move starts on its destination tile
+     * @param position the position the move is made in
+     * @param move the packed move
+     * @return the centipawns the side to move wins (negative if it loses material, 0 for castling)
+     */
+    public static int evaluate(final Position position, final int move) {
+        if (PackedMove.isCastle(move)) {
+            return 0;
+        }
+        final BitBoard bitBoard = position.getBitBoard();
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        final int[] gain = new int[MAX_EXCHANGE];
+        gain[0] = getCaptureValue(move);
+        int victimValue = getMovedValue(move);
+
+        long occupancy = getOccupancyAfter(bitBoard, move);
+        long attackers = getAllAttackers(bitBoard, destinationCoordinate, occupancy);
+        Alliance side = position.getOpponent();
+        int depth = 0;
+        while (true) {
+            final long sideAttackers = attackers & bitBoard.getPieces(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            final PieceType attackerType = getLeastValuableType(bitBoard, sideAttackers, side);
+            // A king can only recapture if the other side has nothing left to take it with
+            if (attackerType.isKing() && (attackers & bitBoard.getPieces(opponentOf(side))) != 0) {
+                break;
+            }
+            depth++;
+            gain[depth] = victimValue - gain[depth - 1];
+            victimValue = attackerType.getPieceValue();
+
+            final long attackerMask = sideAttackers & bitBoard.getPieces(attackerType, side);
+            occupancy ^= attackerMask & -attackerMask;
+            attackers = addXRayAttackers(bitBoard, destinationCoordinate, occupancy, attackers, attackerType);
+            side = opponentOf(side);
+        }
+        // Each side stops the exchange as soon as carrying on would be worse
+        while (depth > 0) {
+            gain[depth - 1] = -Math.max(-gain[depth - 1], gain[depth]);
+            depth--;
+        }
+        return gain[0];
+    }
+
+    /**
+     * Determines if a move wins at least a given amount of material once the exchange on its destination tile is
+     * over. It gives the same answer as comparing {@link #evaluate(Position, int)} with the threshold, but stops as
+     * soon as the answer is known and creates no objects, so the search can call it for every capture.
+     * @param position the position the move is made in
+     * @param move the packed move
+     * @param threshold the centipawns the move has to win (0 to ask if it doesn't lose material)
+     * @return true if the side to move wins at least the threshold
+     */
+    public static boolean isAtLeast(final Position position, final int move, final int threshold) {
+        if (PackedMove.isCastle(move)) {
+            return threshold <= 0;
+        }
+        // The balance is what the side that just captured has won past the threshold if the exchange stops here
+        int balance = getCaptureValue(move) - threshold;
+        if (balance < 0) {
+            return false;
+        }
+        balance -= getMovedValue(move);
+        if (balance >= 0) {
+            // Even losing the moving piece for nothing keeps the threshold
+            return true;
+        }
+
+        final BitBoard bitBoard = position.getBitBoard();
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        long occupancy = getOccupancyAfter(bitBoard, move);
+        long attackers = getAllAttackers(bitBoard, destinationCoordinate, occupancy);
+        Alliance side = position.getOpponent();
+        while (true) {
+            final long sideAttackers = attackers & bitBoard.getPieces(side);
+            if (sideAttackers == 0) {
+                break;
+            }
+            final PieceType attackerType = getLeastValuableType(bitBoard, sideAttackers, side);
+            final long attackerMask = sideAttackers & bitBoard.getPieces(attackerType, side);
+            occupancy ^= attackerMask & -attackerMask;
+            attackers = addXRayAttackers(bitBoard, destinationCoordinate, occupancy, attackers, attackerType);
+            side = opponentOf(side);
+
+            // Negated because the other side now owns the balance; the -1 makes a draw count against it
+            balance = -balance - 1 - attackerType.getPieceValue();
+            if (balance >= 0) {
+                // The side that just recaptured wins, unless it was a king walking into an attacked tile
+                if (attackerType.isKing() && (attackers & bitBoard.getPieces(side)) != 0) {
+                    side = opponentOf(side);
+                }
+                break;
+            }
+        }
+        // The side left to move is the one that lost the exchange
+        return side != position.getSideToMove();
+    }
+
+    /**
+     * Gets the value of what a move takes plus what a promotion adds
+     */
+    private static int getCaptureValue(final int move) {
+        int value = 0;
+        if (PackedMove.isCapture(move)) {
+            value = BitBoard.pieceType(PackedMove.getCapturedPiece(move)).getPieceValue();
+        }
+        if (PackedMove.isPromotion(move)) {
+            value += PackedMove.getPromotionType(move).getPieceValue() - PieceType.PAWN.getPieceValue();
+        }
+        return value;
+    }
+
+    /**
+     * Gets the value of the piece that stands on the destination tile after a move
+     */
+    private static int getMovedValue(final int move) {
+        if (PackedMove.isPromotion(move)) {
+            return PackedMove.getPromotionType(move).getPieceValue();
+        }
+        return BitBoard.pieceType(PackedMove.getMovedPiece(move)).getPieceValue();
+    }
+
+    /**
+     * Gets the occupied tiles once a move has left its tile (and taken a pawn en passant)
+     */
+    private static long getOccupancyAfter(final BitBoard bitBoard, final int move) {
+        final int currentCoordinate = PackedMove.getCurrentCoordinate(move);
+        final int destinationCoordinate = PackedMove.getDestinationCoordinate(move);
+        long occupancy = bitBoard.getAllPieces() ^ BitBoard.tileMask(currentCoordinate);
+        if (PackedMove.getFlag(move) == PackedMove.EN_PASSANT) {
+            // The captured pawn is beside the moving pawn, on its row and the destination's column
+            occupancy ^= BitBoard.tileMask((currentCoordinate & ~7) | (destinationCoordinate & 7));
+        }
+        return occupancy | BitBoard.tileMask(destinationCoordinate);
+    }
+
+    /**
+     * Gets the pieces of both alliances on occupied tiles that attack a tile
+     */
+    private static long getAllAttackers(final BitBoard bitBoard, final int tileCoordinate, final long occupancy) {
+        return (bitBoard.getAttackers(tileCoordinate, Alliance.WHITE, occupancy) |
+                bitBoard.getAttackers(tileCoordinate, Alliance.BLACK, occupancy)) & occupancy;
+    }
+
+    /**
+     * Adds the sliders uncovered by a piece leaving the tile's line and removes the pieces already used
+     */
+    private static long addXRayAttackers(final BitBoard bitBoard,
+                                         final int tileCoordinate,
+                                         final long occupancy,
+                                         final long attackers,
+                                         final PieceType attackerType) {
+        long newAttackers = attackers;
+        // Pawns, bishops and queens attack along diagonals, so a bishop or queen may be behind them
+        if (attackerType == PieceType.PAWN || attackerType == PieceType.BISHOP || attackerType == PieceType.QUEEN) {
+            newAttackers |= MagicBitBoards.getBishopAttacks(tileCoordinate, occupancy) & getDiagonalSliders(bitBoard);
+        }
+        if (attackerType == PieceType.ROOK || attackerType == PieceType.QUEEN) {
+            newAttackers |= MagicBitBoards.getRookAttacks(tileCoordinate, occupancy) & getStraightSliders(bitBoard);
+        }
+        return newAttackers & occupancy;
+    }
+
+    /**
+     * Gets the bishops and queens of both alliances
+     */
+    private static long getDiagonalSliders(final BitBoard bitBoard) {
+        return bitBoard.getPieces(PieceType.BISHOP, Alliance.WHITE) | bitBoard.getPieces(PieceType.BISHOP, Alliance.BLACK) |
+               bitBoard.getPieces(PieceType.QUEEN, Alliance.WHITE) | bitBoard.getPieces(PieceType.QUEEN, Alliance.BLACK);
+    }
+
+    /**
+     * Gets the rooks and queens of both alliances
+     */
+    private static long getStraightSliders(final BitBoard bitBoard) {
+        return bitBoard.getPieces(PieceType.ROOK, Alliance.WHITE) | bitBoard.getPieces(PieceType.ROOK, Alliance.BLACK) |
+               bitBoard.getPieces(PieceType.QUEEN, Alliance.WHITE) | bitBoard.getPieces(PieceType.QUEEN, Alliance.BLACK);
+    }
+
+    /**
+     * Gets the type of the least valuable piece among an alliance's attackers
+     */
+    private static PieceType getLeastValuableType(final BitBoard bitBoard, final long sideAttackers, final Alliance side) {
+        for (final PieceType pieceType : LEAST_VALUABLE_FIRST) {
+            if ((sideAttackers & bitBoard.getPieces(pieceType, side)) != 0) {
+                return pieceType;
+            }
+        }
+        throw new IllegalStateException("No attacker");
+    }
+
+    /**
+     * Gets the other alliance
+     */
+    private static Alliance opponentOf(final Alliance alliance) {
+        return alliance.isWhite() ? Alliance.BLACK : Alliance.WHITE;
+    }
+}
@@ -0,0 +1,291 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * File: TranspositionTable.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Remembers searched positions by their Zobrist key so a position reached again (by another move order, or by
+ * another search thread) doesn't have to be searched again.
+ *
+ * The table is a flat array of longs that any number of threads can probe and store into without locks.
+ * Every entry is two longs: the key xor'ed with the data, then the data. A thread can read an entry while
+ * another thread is half way through writing it, but then the key xor'ed back out of the first long won't
+ * match, so the torn entry is treated as a miss instead of being trusted.
+ *
+ * Entries are grouped in buckets of {@link #BUCKET_SIZE}. A position can be stored in any entry of its bucket,
+ * and when the bucket is full the entry replaced is the shallowest one, with entries from older searches
+ * counting as shallower the older they are.
+ */
+public final class TranspositionTable {
+
+    /**
+     * The bounds an entry's score can be
+     */
+    public static final int UPPER_BOUND = 1;
+    public static final int LOWER_BOUND = 2;
+    public static final int EXACT = 3;
+
+    /**
+     * Returned by {@link #probe(long)} when the position isn't in the table
+     */
+    public static final long NO_ENTRY = 0L;
+
+    /**
+     * The number of entries sharing a bucket (four entries of two longs fill one 64 byte cache line)
+     */
+    private static final int BUCKET_SIZE = 4;
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int BYTES_PER_ENTRY = LONGS_PER_ENTRY * Long.BYTES;
+
+    /**
+     * The layout of an entry's data. The bound is never 0, so neither is a stored entry.
+     */
+    private static final int MOVE_BITS = 26;
+    private static final int BOUND_SHIFT = 26;
+    private static final int DEPTH_SHIFT = 28;
+    private static final int AGE_SHIFT = 36;
+    private static final int SCORE_SHIFT = 42;
+    private static final int MAX_AGE = 64;
+    private static final int SCORE_OFFSET = 1 << 15;
+
+    /**
+     * The entries, {@link #LONGS_PER_ENTRY} longs each
+     */
+    private final long[] table;
+    /**
+     * Masks a key to the index of its bucket's first long
+     */
+    private final int bucketMask;
+    /**
+     * The age of the current search, stored in every entry it writes
+     */
+    private volatile int age;
+
+    /**
+     * Usage counters
+     */
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Constructor
+     * @param megabytes the most memory the table may use (it is rounded down to a power of two number of entries)
+     */
+    public TranspositionTable(final int megabytes) {
+        if (megabytes < 1) {
+            throw new IllegalArgumentException("The table needs at least 1 MB, not " + megabytes);
+        }
+        final long maxEntries = ((long) megabytes << 20) / BYTES_PER_ENTRY;
+        final long entries = Math.min(Long.highestOneBit(maxEntries), 1L << 29);
+        this.table = new long[(int) (entries * LONGS_PER_ENTRY)];
+        this.bucketMask = (int) (entries * LONGS_PER_ENTRY - 1) & ~(BUCKET_SIZE * LONGS_PER_ENTRY - 1);
+    }
+
+    /**
+     * Looks up a position
+     * @param key the Zobrist key of the position
+     * @return the entry's data (read with the static getters) or {@link #NO_ENTRY}
+     */
+    public long probe(final long key) {
+        this.probes.increment();
+        final int bucket = (int) key & this.bucketMask;
+        for (int i = bucket; i < bucket + BUCKET_SIZE * LONGS_PER_ENTRY; i += LONGS_PER_ENTRY) {
+            final long data = this.table[i + 1];
+            if ((this.table[i] ^ data) == key && data != NO_ENTRY) {
+                this.hits.increment();
+                return data;
+            }
+        }
+        return NO_ENTRY;
+    }
+
+    /**
+     * Stores the result of searching a position
+     * @param key the Zobrist key of the position
+     * @param move the best move found as a packed move, or 0 if there is none
+     * @param score the score (mate scores must already be relative to this position)
+     * @param depth the depth searched
+     * @param bound whether the score is {@link #EXACT}, a {@link #LOWER_BOUND} or an {@link #UPPER_BOUND}
+     */
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        this.stores.increment();
+        final int bucket = (int) key & this.bucketMask;
+        final int currentAge = this.age;
+        int replace = bucket;
+        int replaceWorth = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + BUCKET_SIZE * LONGS_PER_ENTRY; i += LONGS_PER_ENTRY) {
+            final long data = this.table[i + 1];
+            if (data == NO_ENTRY || (this.table[i] ^ data) == key) {
+                replace = i;
+                replaceWorth = Integer.MIN_VALUE;
+                // Don't lose the best move of a position searched again without finding one
+                if (move == 0 && data != NO_ENTRY) {
+                    storeEntry(i, key, getMove(data), score, depth, bound, currentAge);
+                    return;
+                }
+                break;
+            }
+            // Every search an entry has missed makes it worth as much as a few plies less
+            final int worth = getDepth(data) - 4 * ((currentAge - getAge(data)) & (MAX_AGE - 1));
+            if (worth < replaceWorth) {
+                replace = i;
+                replaceWorth = worth;
+            }
+        }
+        if (replaceWorth != Integer.MIN_VALUE) {
+            this.collisions.increment();
+        }
+        storeEntry(replace, key, move, score, depth, bound, currentAge);
+    }
+
+    /**
+     * Writes an entry
+     */
+    private void storeEntry(final int index,
+                            final long key,
+                            final int move,
+                            final int score,
+                            final int depth,
+                            final int bound,
+                            final int entryAge) {
+        final long data = (move & ((1L << MOVE_BITS) - 1)) |
+                          ((long) bound << BOUND_SHIFT) |
+                          ((long) Math.min(depth, 0xFF) << DEPTH_SHIFT) |
+                          ((long) entryAge << AGE_SHIFT) |
+                          ((long) (score + SCORE_OFFSET) << SCORE_SHIFT);
+        this.table[index] = key ^ data;
+        this.table[index + 1] = data;
+    }
+
+    /**
+     * Starts a new search, so the entries of earlier searches are replaced first
+     */
+    public void newSearch() {
+        this.age = (this.age + 1) & (MAX_AGE - 1);
+    }
+
+    /**
+     * Removes every entry and resets the counters
+     */
+    public void clear() {
+        Arrays.fill(this.table, 0L);
+        this.age = 0;
+        this.probes.reset();
+        this.hits.reset();
+        this.stores.reset();
+        this.collisions.reset();
+    }
+
+    /**
+     * Gets the number of entries the table holds
+     * @return the capacity in entries
+     */
+    public int getCapacity() {
+        return this.table.length / LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Estimates how full the table is from its first thousand entries
+     * @return the permille of sampled entries written by the current search
+     */
+    public int getHashFull() {
+        final int sample = Math.min(1000, getCapacity());
+        final int currentAge = this.age;
+        int used = 0;
+        for (int i = 0; i < sample; i++) {
+            final long data = this.table[i * LONGS_PER_ENTRY + 1];
+            if (data != NO_ENTRY && getAge(data) == currentAge) {
+                used++;
+            }
+        }
+        return used * 1000 / sample;
+    }
+
+    /**
+     * Gets the number of lookups
+     * @return the number of probes
+     */
+    public long getProbeCount() {
+        return this.probes.sum();
+    }
+
+    /**
+     * Gets the number of lookups that found their position
+     * @return the number of hits
+     */
+    public long getHitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * Gets the number of entries written
+     * @return the number of stores
+     */
+    public long getStoreCount() {
+        return this.stores.sum();
+    }
+
+    /**
+     * Gets the number of stores that replaced an entry of another position
+     * @return the number of collisions
+     */
+    public long getCollisionCount() {
+        return this.collisions.sum();
+    }
+
+    /**
+     * Gets the best move of an entry
+     * @param entry the entry data
+     * @return the packed move or 0
+     */
+    public static int getMove(final long entry) {
+        return (int) (entry & ((1L << MOVE_BITS) - 1));
+    }
+
+    /**
+     * Gets the bound of an entry's score
+     * @param entry the entry data
+     * @return {@link #EXACT}, {@link #LOWER_BOUND} or {@link #UPPER_BOUND}
+     */
+    public static int getBound(final long entry) {
+        return (int) (entry >>> BOUND_SHIFT) & 0x3;
+    }
+
+    /**
+     * Gets the depth an entry was searched to
+     * @param entry the entry data
+     * @return the depth
+     */
+    public static int getDepth(final long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Gets the score of an entry
+     * @param entry the entry data
+     * @return the score
+     */
+    public static int getScore(final long entry) {
+        return (int) ((entry >>> SCORE_SHIFT) & 0xFFFF) - SCORE_OFFSET;
+    }
+
+    private static int getAge(final long entry) {
+        return (int) (entry >>> AGE_SHIFT) & (MAX_AGE - 1);
+    }
+
+    @Override
+    public String toString() {
+        final long probeCount = getProbeCount();
+        return String.format("%d entries, %d probes, %d hits (%.1f%%), %d stores, %d collisions, %d permille full",
+                             getCapacity(), probeCount, getHitCount(),
+                             probeCount == 0 ? 0.0 : 100.0 * getHitCount() / probeCount,
+                             getStoreCount(), getCollisionCount(), getHashFull());
+    }
+}
@@ -6,6 +6,9 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
+import com.chess.pgn.PgnGame;
+import com.chess.pgn.PgnReader;
+import com.chess.pgn.PgnUtilities;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -122,7 +125,10 @@ public class Table {
         openPGN.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
-                System.out.println("Open up that pgn file!");
+                final JFileChooser chooser = new JFileChooser();
+                if (chooser.showOpenDialog(gameFrame) == JFileChooser.APPROVE_OPTION) {
+                    loadPGNFile(chooser.getSelectedFile());
+                }
             }
         });
         fileMenu.add(openPGN);
@@ -139,6 +145,29 @@ public class Table {
         return fileMenu;
     }
 
+    /**
+     * Shows the position at the end of the first game of a PGN file
+     * @param pgnFile the PGN file
+     */
+    private void loadPGNFile(final File pgnFile) {
+        try (final PgnReader reader = PgnReader.open(pgnFile.toPath())) {
+            final PgnGame game = reader.next();
+            if (game == null) {
+                JOptionPane.showMessageDialog(this.gameFrame, "There are no games in " + pgnFile.getName());
+                return;
+            }
+            this.chessBoard = PgnUtilities.replayGame(game);
+            this.sourceTile = null;
+            this.destinationTile = null;
+            this.humanMovePiece = null;
+            this.gameFrame.setTitle("JChess - " + game);
+            this.boardPanel.drawBoard(this.chessBoard);
+        } catch (final IOException | IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this.gameFrame, "Couldn't load " + pgnFile.getName() + ": " + e.getMessage(),
+                                          "Load PGN File", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
     /**
      * Visual component that represents the board
      */
@@ -0,0 +1,83 @@
+package com.chess.pgn;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File: AsciiSequence.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Reads the bytes of a buffer as characters without copying or decoding them, so text read from a file
+ * (FEN, EPD and PGN are all ASCII) can be parsed straight out of the buffer.
+ * Bytes above 127 are read as the Latin-1 character with the same value.
+ */
+public final class AsciiSequence implements CharSequence {
+
+    /**
+     * The bytes (read with absolute gets, so the buffer's position doesn't matter)
+     */
+    private final ByteBuffer buffer;
+    /**
+     * The index in the buffer of the first character
+     */
+    private final int offset;
+    /**
+     * The number of characters
+     */
+    private final int length;
+
+    /**
+     * Constructor for a view of the buffer from its position to its limit
+     * @param buffer the buffer
+     */
+    public AsciiSequence(final ByteBuffer buffer) {
+        this(buffer, buffer.position(), buffer.limit());
+    }
+
+    /**
+     * Constructor for a view of part of a buffer
+     * @param buffer the buffer
+     * @param start the index of the first byte
+     * @param end the index after the last byte
+     */
+    public AsciiSequence(final ByteBuffer buffer, final int start, final int end) {
+        if (start < 0 || end < start || end > buffer.limit()) {
+            throw new IndexOutOfBoundsException("Bad range " + start + " to " + end + " of " + buffer.limit() + " bytes");
+        }
+        this.buffer = buffer;
+        this.offset = start;
+        this.length = end - start;
+    }
+
+    @Override
+    public int length() {
+        return this.length;
+    }
+
+    @Override
+    public char charAt(final int index) {
+        if (index < 0 || index >= this.length) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + this.length);
+        }
+        return (char) (this.buffer.get(this.offset + index) & 0xFF);
+    }
+
+    @Override
+    public AsciiSequence subSequence(final int start, final int end) {
+        if (start < 0 || end < start || end > this.length) {
+            throw new IndexOutOfBoundsException("Bad range " + start + " to " + end + " of " + this.length);
+        }
+        return new AsciiSequence(this.buffer, this.offset + start, this.offset + end);
+    }
+
+    @Override
+    public String toString() {
+        final byte[] bytes = new byte[this.length];
+        for (int i = 0; i < this.length; i++) {
+            bytes[i] = this.buffer.get(this.offset + i);
+        }
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,371 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Position;
+import com.chess.engine.pieces.Piece.PieceType;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * File: FenUtilities.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Reads and writes positions in Forsyth-Edwards Notation (FEN).
+ *
+ * The reader walks the characters once with an index instead of splitting the text into fields, so it can parse
+ * a line in the middle of a larger buffer (a file of EPD records, say) without creating a string for it.
+ * The move counters are optional, so the first four fields of an EPD record parse as a position too.
+ */
+public final class FenUtilities {
+
+    /**
+     * The FEN of the starting position
+     */
+    public static final String STARTING_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
+    /**
+     * The piece index of every FEN letter or {@link Position#NO_PIECE}
+     */
+    private static final int[] PIECE_INDICES = initPieceIndices();
+    /**
+     * The FEN letter of every piece index
+     */
+    private static final char[] PIECE_LETTERS = initPieceLetters();
+    /**
+     * The piece indices of the kings
+     */
+    private static final int WHITE_KING = BitBoard.pieceIndex(PieceType.KING, Alliance.WHITE);
+    private static final int BLACK_KING = BitBoard.pieceIndex(PieceType.KING, Alliance.BLACK);
+    /**
+     * The largest move counter a position can take back after a move (it keeps the half move clock in 16 bits)
+     */
+    private static final int MAX_MOVE_COUNTER = 0xFFFF;
+
+    private FenUtilities() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Creates a board from FEN. The move counters are read but not kept since a board doesn't keep them.
+     * @param fen the FEN
+     * @return the board
+     * @throws IllegalArgumentException if the FEN isn't a valid position
+     */
+    public static Board createGameFromFEN(final CharSequence fen) {
+        return createPositionFromFEN(fen).toBoard();
+    }
+
+    /**
+     * Creates a position from FEN
+     * @param fen the FEN
+     * @return the position
+     * @throws IllegalArgumentException if the FEN isn't a valid position
+     */
+    public static Position createPositionFromFEN(final CharSequence fen) {
+        return createPositionFromFEN(fen, 0, fen.length());
+    }
+
+    /**
+     * Creates a position from FEN held as ASCII in a buffer
+     * @param buffer the buffer
+     * @param start the index of the first byte of the FEN
+     * @param end the index after the last byte of the FEN
+     * @return the position
+     */
+    public static Position createPositionFromFEN(final ByteBuffer buffer, final int start, final int end) {
+        final AsciiSequence fen = new AsciiSequence(buffer, start, end);
+        return createPositionFromFEN(fen, 0, fen.length());
+    }
+
+    /**
+     * Creates a position from FEN in part of a character sequence. Anything after the move counters
+     * (or after the en passant field if there are no counters, like the operations of an EPD record) is ignored.
+     * @param fen the characters
+     * @param start the index of the first character of the FEN
+     * @param end the index after the last character that may be read
+     * @return the position
+     * @throws IllegalArgumentException if the FEN can't be read or either side doesn't have exactly one king
+     */
+    public static Position createPositionFromFEN(final CharSequence fen, final int start, final int end) {
+        final int[] pieceIndices = new int[BoardUtils.NUM_TILES];
+        Arrays.fill(pieceIndices, Position.NO_PIECE);
+
+        // Piece placement, from the eighth rank down
+        int index = skipSpaces(fen, start, end);
+        int tile = 0;
+        int column = 0;
+        int whiteKings = 0;
+        int blackKings = 0;
+        while (index < end && !Character.isWhitespace(fen.charAt(index))) {
+            final char c = fen.charAt(index++);
+            if (c == '/') {
+                if (column != BoardUtils.NUM_TILES_PER_ROW) {
+                    throw invalid(fen, start, end, "a rank doesn't have 8 tiles");
+                }
+                column = 0;
+            } else if (c >= '1' && c <= '8') {
+                column += c - '0';
+                tile += c - '0';
+            } else if (c < PIECE_INDICES.length && PIECE_INDICES[c] != Position.NO_PIECE) {
+                column++;
+                if (tile >= BoardUtils.NUM_TILES) {
+                    throw invalid(fen, start, end, "too many tiles");
+                }
+                pieceIndices[tile++] = PIECE_INDICES[c];
+                if (PIECE_INDICES[c] == WHITE_KING) {
+                    whiteKings++;
+                } else if (PIECE_INDICES[c] == BLACK_KING) {
+                    blackKings++;
+                }
+            } else {
+                throw invalid(fen, start, end, "'" + c + "' isn't a piece");
+            }
+            if (column > BoardUtils.NUM_TILES_PER_ROW) {
+                throw invalid(fen, start, end, "a rank has more than 8 tiles");
+            }
+        }
+        if (tile != BoardUtils.NUM_TILES || column != BoardUtils.NUM_TILES_PER_ROW) {
+            throw invalid(fen, start, end, "the board doesn't have 64 tiles");
+        }
+        // The players and the move generator both look for the one king of each side
+        if (whiteKings != 1) {
+            throw invalid(fen, start, end, "white has " + whiteKings + " kings");
+        }
+        if (blackKings != 1) {
+            throw invalid(fen, start, end, "black has " + blackKings + " kings");
+        }
+
+        // Side to move
+        index = skipSpaces(fen, index, end);
+        final Alliance sideToMove;
+        if (isField(fen, index, end, 'w')) {
+            sideToMove = Alliance.WHITE;
+        } else if (isField(fen, index, end, 'b')) {
+            sideToMove = Alliance.BLACK;
+        } else {
+            throw invalid(fen, start, end, "the side to move isn't w or b");
+        }
+
+        // Castling rights
+        index = skipSpaces(fen, index + 1, end);
+        int castlingRights = 0;
+        if (isField(fen, index, end, '-')) {
+            index++;
+        } else {
+            while (index < end && !Character.isWhitespace(fen.charAt(index))) {
+                switch (fen.charAt(index++)) {
+                    case 'K':
+                        castlingRights |= Position.WHITE_KING_SIDE_CASTLE;
+                        break;
+                    case 'Q':
+                        castlingRights |= Position.WHITE_QUEEN_SIDE_CASTLE;
+                        break;
+                    case 'k':
+                        castlingRights |= Position.BLACK_KING_SIDE_CASTLE;
+                        break;
+                    case 'q':
+                        castlingRights |= Position.BLACK_QUEEN_SIDE_CASTLE;
+                        break;
+                    default:
+                        throw invalid(fen, start, end, "bad castling rights");
+                }
+            }
+            if (castlingRights == 0) {
+                throw invalid(fen, start, end, "missing castling rights");
+            }
+        }
+
+        // En passant tile
+        index = skipSpaces(fen, index, end);
+        int enPassantCoordinate = Position.NO_EN_PASSANT;
+        if (isField(fen, index, end, '-')) {
+            index++;
+        } else if (index + 2 <= end && (index + 2 == end || Character.isWhitespace(fen.charAt(index + 2)))) {
+            enPassantCoordinate = getCoordinate(fen.charAt(index), fen.charAt(index + 1));
+            if (enPassantCoordinate == -1) {
+                throw invalid(fen, start, end, "bad en passant tile");
+            }
+            index += 2;
+        } else {
+            throw invalid(fen, start, end, "missing en passant tile");
+        }
+
+        // Move counters, if there are any
+        int halfMoveClock = 0;
+        int fullMoveNumber = 1;
+        index = skipSpaces(fen, index, end);
+        if (index < end && isDigit(fen.charAt(index))) {
+            while (index < end && isDigit(fen.charAt(index))) {
+                halfMoveClock = halfMoveClock * 10 + fen.charAt(index++) - '0';
+                if (halfMoveClock > MAX_MOVE_COUNTER) {
+                    throw invalid(fen, start, end, "the half move clock is over " + MAX_MOVE_COUNTER);
+                }
+            }
+            index = skipSpaces(fen, index, end);
+            if (index < end && isDigit(fen.charAt(index))) {
+                fullMoveNumber = 0;
+                while (index < end && isDigit(fen.charAt(index))) {
+                    fullMoveNumber = fullMoveNumber * 10 + fen.charAt(index++) - '0';
+                    if (fullMoveNumber > MAX_MOVE_COUNTER) {
+                        throw invalid(fen, start, end, "the full move number is over " + MAX_MOVE_COUNTER);
+                    }
+                }
+            }
+        }
+        final Position position = new Position(pieceIndices, sideToMove, castlingRights, enPassantCoordinate,
+                                               halfMoveClock, fullMoveNumber);
+        // The side to move could take the other king
+        final BitBoard bitBoard = position.getBitBoard();
+        if (bitBoard.isTileAttacked(bitBoard.getKingPosition(position.getOpponent()), sideToMove)) {
+            throw invalid(fen, start, end, "the side not to move is in check");
+        }
+        return position;
+    }
+
+    /**
+     * Writes the FEN of a board. A board doesn't keep the move counters, so they are written as 0 and 1.
+     * @param board the board
+     * @return the FEN
+     */
+    public static String createFENFromGame(final Board board) {
+        return createFENFromPosition(new Position(board));
+    }
+
+    /**
+     * Writes the FEN of a position
+     * @param position the position
+     * @return the FEN
+     */
+    public static String createFENFromPosition(final Position position) {
+        return appendFEN(position, new StringBuilder(90)).toString();
+    }
+
+    /**
+     * Appends the FEN of a position to a builder, so many positions can be written without a string for each
+     * @param position the position
+     * @param builder the builder
+     * @return the builder
+     */
+    public static StringBuilder appendFEN(final Position position, final StringBuilder builder) {
+        for (int tile = 0; tile < BoardUtils.NUM_TILES; tile++) {
+            if (tile > 0 && tile % BoardUtils.NUM_TILES_PER_ROW == 0) {
+                builder.append('/');
+            }
+            final int pieceIndex = position.getPieceIndex(tile);
+            if (pieceIndex != Position.NO_PIECE) {
+                builder.append(PIECE_LETTERS[pieceIndex]);
+                continue;
+            }
+            int empty = 1;
+            while ((tile + 1) % BoardUtils.NUM_TILES_PER_ROW != 0 && position.getPieceIndex(tile + 1) == Position.NO_PIECE) {
+                empty++;
+                tile++;
+            }
+            builder.append((char) ('0' + empty));
+        }
+
+        builder.append(position.getSideToMove().isWhite() ? " w " : " b ");
+
+        final int castlingRights = position.getCastlingRights();
+        if (castlingRights == 0) {
+            builder.append('-');
+        } else {
+            if ((castlingRights & Position.WHITE_KING_SIDE_CASTLE) != 0) {
+                builder.append('K');
+            }
+            if ((castlingRights & Position.WHITE_QUEEN_SIDE_CASTLE) != 0) {
+                builder.append('Q');
+            }
+            if ((castlingRights & Position.BLACK_KING_SIDE_CASTLE) != 0) {
+                builder.append('k');
+            }
+            if ((castlingRights & Position.BLACK_QUEEN_SIDE_CASTLE) != 0) {
+                builder.append('q');
+            }
+        }
+
+        builder.append(' ');
+        if (position.getEnPassantCoordinate() == Position.NO_EN_PASSANT) {
+            builder.append('-');
+        } else {
+            builder.append(BoardUtils.getPositionAtCoordinate(position.getEnPassantCoordinate()));
+        }
+        return builder.append(' ').append(position.getHalfMoveClock()).append(' ').append(position.getFullMoveNumber());
+    }
+
+    /**
+     * Skips spaces
+     * @return the index of the first character that isn't a space (or the end)
+     */
+    private static int skipSpaces(final CharSequence fen, final int index, final int end) {
+        int i = index;
+        while (i < end && Character.isWhitespace(fen.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Determines if a field is a single character
+     */
+    private static boolean isField(final CharSequence fen, final int index, final int end, final char field) {
+        return index < end && fen.charAt(index) == field && (index + 1 == end || Character.isWhitespace(fen.charAt(index + 1)));
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Gets the tile coordinate of a file and rank
+     * @return the tile coordinate or -1 if the characters don't name a tile
+     */
+    private static int getCoordinate(final char file, final char rank) {
+        final int column = file - 'a';
+        final int row = rank - '1';
+        if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW || row < 0 || row >= BoardUtils.NUM_TILES_PER_ROW) {
+            return -1;
+        }
+        return (BoardUtils.NUM_TILES_PER_ROW - 1 - row) * BoardUtils.NUM_TILES_PER_ROW + column;
+    }
+
+    /**
+     * Creates the exception for bad FEN (the FEN is only turned into a string here)
+     */
+    private static IllegalArgumentException invalid(final CharSequence fen, final int start, final int end, final String reason) {
+        return new IllegalArgumentException("Invalid FEN string (" + reason + "): " + fen.subSequence(start, end));
+    }
+
+    /**
+     * Creates the table of the piece index of every FEN letter
+     */
+    private static int[] initPieceIndices() {
+        final int[] pieceIndices = new int[128];
+        Arrays.fill(pieceIndices, Position.NO_PIECE);
+        for (final PieceType pieceType : PieceType.values()) {
+            final char letter = pieceType.toString().charAt(0);
+            pieceIndices[letter] = BitBoard.pieceIndex(pieceType, Alliance.WHITE);
+            pieceIndices[Character.toLowerCase(letter)] = BitBoard.pieceIndex(pieceType, Alliance.BLACK);
+        }
+        return pieceIndices;
+    }
+
+    /**
+     * Creates the table of the FEN letter of every piece index
+     */
+    private static char[] initPieceLetters() {
+        final char[] letters = new char[PieceType.values().length * 2];
+        for (final PieceType pieceType : PieceType.values()) {
+            final char letter = pieceType.toString().charAt(0);
+            letters[BitBoard.pieceIndex(pieceType, Alliance.WHITE)] = letter;
+            letters[BitBoard.pieceIndex(pieceType, Alliance.BLACK)] = Character.toLowerCase(letter);
+        }
+        return letters;
+    }
+}
@@ -0,0 +1,333 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File: GameStore.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Reads games from a binary game store written by a {@link GameStoreWriter}. The file is memory mapped, so a game
+ * is found by its id through the offset index and replayed straight from the mapped bytes, with no text to parse.
+ *
+ * The file is laid out as:
+ * <pre>
+ *   header   magic, version, game count, string count (ints), index offset, strings offset (longs)
+ *   records  for every game: ply count (unsigned short), result (byte), tag count (byte),
+ *            the string id of the starting FEN plus one (0 for the standard position),
+ *            the name and value string id of every tag, then a 16-bit move per ply
+ *            (the string ids and the FEN id are written as variable length ints)
+ *   index    the file offset of every game's record (longs)
+ *   strings  every distinct tag name, tag value and FEN: a length (unsigned short) and UTF-8 bytes
+ * </pre>
+ * A move is its origin tile in bits 0-5, its destination tile in bits 6-11 and its promotion in bits 12-14
+ * (0 for none, then knight, bishop, rook and queen). The rest of a move (the pieces, whether it is a castle or an
+ * en passant capture) is worked out from the position it is played in.
+ *
+ * Files larger than a mapping can hold are mapped in overlapping segments, each one long enough to hold every
+ * record starting in it. A store can be read by any number of threads.
+ */
+public final class GameStore implements Closeable {
+
+    /**
+     * Identifies a game store file
+     */
+    static final int MAGIC = 0x4A434753;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    /**
+     * The results in the order of their codes. A result that isn't one of these is stored as unknown.
+     */
+    static final String[] RESULTS = {PgnGame.UNKNOWN_RESULT, PgnGame.WHITE_WINS, PgnGame.BLACK_WINS, PgnGame.DRAW};
+
+    /**
+     * The most moves a game can have, and the most tags
+     */
+    static final int MAX_PLIES = 0xFFFF;
+    static final int MAX_TAGS = 0xFF;
+    /**
+     * The most UTF-8 bytes a string can have
+     */
+    static final int MAX_STRING_BYTES = 0xFFFF;
+
+    /**
+     * The promotion types in the order of their codes (0 is no promotion)
+     */
+    private static final PieceType[] PROMOTION_TYPES = {null, PieceType.KNIGHT, PieceType.BISHOP, PieceType.ROOK, PieceType.QUEEN};
+
+    /**
+     * The size of a mapped segment, and the most bytes a record can have (so every segment is mapped this much
+     * longer than its size)
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+    private static final int MAX_RECORD_SIZE = 4 + 5 + MAX_TAGS * 10 + MAX_PLIES * 2;
+
+    /**
+     * The channel the file is mapped from
+     */
+    private final FileChannel channel;
+    /**
+     * The records, in segments of {@link #SEGMENT_SIZE} bytes
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * The offset index
+     */
+    private final MappedByteBuffer index;
+    /**
+     * The strings by their id
+     */
+    private final String[] strings;
+    /**
+     * The number of games
+     */
+    private final int gameCount;
+
+    /**
+     * Constructor
+     * @param path the path of the store
+     * @throws IOException if the file can't be read or isn't a game store
+     */
+    private GameStore(final Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (header.hasRemaining() && this.channel.read(header, header.position()) >= 0) {
+            // Read the whole header
+        }
+        header.flip();
+        if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+            throw new IOException(path + " isn't a game store");
+        }
+        final int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException(path + " is a version " + version + " game store, not version " + VERSION);
+        }
+        this.gameCount = header.getInt();
+        final int stringCount = header.getInt();
+        final long indexOffset = header.getLong();
+        final long stringsOffset = header.getLong();
+
+        final int segmentCount = (int) ((indexOffset + SEGMENT_SIZE - 1) / SEGMENT_SIZE);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            final long start = i * SEGMENT_SIZE;
+            this.segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, start,
+                                                Math.min(SEGMENT_SIZE + MAX_RECORD_SIZE, indexOffset - start));
+        }
+        this.index = this.channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, (long) this.gameCount * Long.BYTES);
+
+        final MappedByteBuffer stringBytes = this.channel.map(FileChannel.MapMode.READ_ONLY, stringsOffset,
+                                                              this.channel.size() - stringsOffset);
+        this.strings = new String[stringCount];
+        final byte[] bytes = new byte[MAX_STRING_BYTES];
+        for (int i = 0; i < stringCount; i++) {
+            final int length = stringBytes.getShort() & 0xFFFF;
+            stringBytes.get(bytes, 0, length);
+            this.strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Opens a game store
+     * @param path the path of the store
+     * @return the store
+     * @throws IOException if the file can't be read or isn't a game store
+     */
+    public static GameStore open(final Path path) throws IOException {
+        return new GameStore(path);
+    }
+
+    /**
+     * Gets the number of games
+     * @return the number of games (their ids go from 0 up to one less)
+     */
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * Gets the number of moves of a game
+     * @param gameId the id of the game
+     * @return the number of plies
+     */
+    public int getPlyCount(final int gameId) {
+        final ByteBuffer record = record(gameId);
+        return record.getShort(record.position()) & 0xFFFF;
+    }
+
+    /**
+     * Gets the result of a game
+     * @param gameId the id of the game
+     * @return the result (see {@link PgnGame#getResult()})
+     */
+    public String getResult(final int gameId) {
+        final ByteBuffer record = record(gameId);
+        return RESULTS[record.get(record.position() + 2)];
+    }
+
+    /**
+     * Gets the tags of a game
+     * @param gameId the id of the game
+     * @return the tags by name
+     */
+    public ImmutableMap<String, String> getTags(final int gameId) {
+        final ByteBuffer record = record(gameId);
+        final int tagCount = record.get(record.position() + 3) & 0xFF;
+        record.position(record.position() + 4);
+        readVarInt(record);
+        return readTags(record, tagCount);
+    }
+
+    /**
+     * Plays the first moves of a game
+     * @param gameId the id of the game
+     * @param plies the number of moves to play (more than the game has plays them all)
+     * @return the position after the moves
+     */
+    public Position createPosition(final int gameId, final int plies) {
+        final ByteBuffer record = record(gameId);
+        final int plyCount = record.getShort() & 0xFFFF;
+        record.get();
+        final int tagCount = record.get() & 0xFF;
+        final int fenId = readVarInt(record);
+        for (int i = 0; i < 2 * tagCount; i++) {
+            readVarInt(record);
+        }
+        final Position position = fenId == 0 ?
+                                  FenUtilities.createPositionFromFEN(FenUtilities.STARTING_FEN) :
+                                  FenUtilities.createPositionFromFEN(this.strings[fenId - 1]);
+        final int end = Math.min(plies, plyCount);
+        for (int i = 0; i < end; i++) {
+            final int move = record.getShort() & 0xFFFF;
+            position.makeMove(position.encodeMove(getCurrentCoordinate(move),
+                                                  getDestinationCoordinate(move),
+                                                  getPromotionType(move)));
+        }
+        return position;
+    }
+
+    /**
+     * Plays every move of a game
+     * @param gameId the id of the game
+     * @return the position at the end of the game
+     */
+    public Position createPosition(final int gameId) {
+        return createPosition(gameId, MAX_PLIES);
+    }
+
+    /**
+     * Plays every move of a game and makes a board of the last position
+     * @param gameId the id of the game
+     * @return the board at the end of the game
+     */
+    public Board createBoard(final int gameId) {
+        return createPosition(gameId).toBoard();
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * Gets a game's record
+     * @param gameId the id of the game
+     * @return a buffer positioned at the start of the record
+     */
+    private ByteBuffer record(final int gameId) {
+        if (gameId < 0 || gameId >= this.gameCount) {
+            throw new IndexOutOfBoundsException("No game " + gameId + " in a store of " + this.gameCount);
+        }
+        final long offset = this.index.getLong(gameId * Long.BYTES);
+        final ByteBuffer record = this.segments[(int) (offset / SEGMENT_SIZE)].duplicate();
+        record.position((int) (offset % SEGMENT_SIZE));
+        return record;
+    }
+
+    /**
+     * Reads the tags of a record positioned after its FEN id
+     */
+    private ImmutableMap<String, String> readTags(final ByteBuffer record, final int tagCount) {
+        final ImmutableMap.Builder<String, String> tags = ImmutableMap.builder();
+        for (int i = 0; i < tagCount; i++) {
+            final String name = this.strings[readVarInt(record)];
+            tags.put(name, this.strings[readVarInt(record)]);
+        }
+        return tags.build();
+    }
+
+    /**
+     * Packs a move into 16 bits
+     * @param currentCoordinate the tile the piece moves from
+     * @param destinationCoordinate the tile the piece moves to
+     * @param promotionType the type a pawn is promoted to or null
+     * @return the move
+     */
+    static int encodeMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+        int promotion = 0;
+        while (PROMOTION_TYPES[promotion] != promotionType) {
+            promotion++;
+        }
+        return currentCoordinate | (destinationCoordinate << 6) | (promotion << 12);
+    }
+
+    static int getCurrentCoordinate(final int move) {
+        return move & 0x3F;
+    }
+
+    static int getDestinationCoordinate(final int move) {
+        return (move >>> 6) & 0x3F;
+    }
+
+    static PieceType getPromotionType(final int move) {
+        return PROMOTION_TYPES[(move >>> 12) & 0x7];
+    }
+
+    /**
+     * Reads a variable length int (seven bits a byte, low bits first, the top bit set on every byte but the last)
+     */
+    static int readVarInt(final ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    /**
+     * Reads every game of a store and prints how fast they were replayed
+     * @param args the path of the store
+     * @throws IOException if the store can't be read
+     */
+    public static void main(final String[] args) throws IOException {
+        try (final GameStore store = open(Paths.get(args[0]))) {
+            final long start = System.nanoTime();
+            long plies = 0;
+            for (int i = 0; i < store.getGameCount(); i++) {
+                plies += store.createPosition(i).getPly();
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games, %d plies replayed in %.2f s (%.0f games/s)%n",
+                              store.getGameCount(), plies, seconds, store.getGameCount() / seconds);
+        }
+    }
+}
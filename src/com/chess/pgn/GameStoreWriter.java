@@ -0,0 +1,251 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.player.MoveTransition;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File: GameStoreWriter.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Writes games to a binary game store (see {@link GameStore} for the layout). The records are streamed to the
+ * file as games are added, while the offset index and the distinct strings are kept in memory and written after
+ * the records when the writer is closed. The header is written last, so a store that wasn't closed can't be
+ * mistaken for a complete one.
+ *
+ * A writer is not thread safe.
+ */
+public final class GameStoreWriter implements Closeable {
+
+    /**
+     * The path of the store
+     */
+    private final Path path;
+    /**
+     * The stream the records are written to
+     */
+    private final DataOutputStream output;
+    /**
+     * The offset in the file the next record is written at
+     */
+    private long offset;
+    /**
+     * The offset of every game's record
+     */
+    private long[] offsets;
+    /**
+     * The number of games written
+     */
+    private int gameCount;
+    /**
+     * The id of every distinct string, and the strings in the order of their ids
+     */
+    private final Map<String, Integer> stringIds;
+    private final List<String> strings;
+    /**
+     * The moves of the game being added
+     */
+    private final int[] moves;
+
+    /**
+     * Constructor
+     * @param path the path of the store (replaced if it exists)
+     * @throws IOException if the file can't be created
+     */
+    public GameStoreWriter(final Path path) throws IOException {
+        this.path = path;
+        this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16));
+        // Room for the header, which is written on close
+        this.output.write(new byte[GameStore.HEADER_SIZE]);
+        this.offset = GameStore.HEADER_SIZE;
+        this.offsets = new long[1024];
+        this.stringIds = new HashMap<>();
+        this.strings = new ArrayList<>();
+        this.moves = new int[GameStore.MAX_PLIES];
+    }
+
+    /**
+     * Replays a game and adds it to the store
+     * @param game the game
+     * @return the id of the game in the store
+     * @throws IllegalArgumentException if the FEN tag or a move can't be read or isn't legal, the game is too long, or
+     *                                  a tag is longer than a string in the store can be
+     * @throws IOException if the game can't be written
+     */
+    public int addGame(final PgnGame game) throws IOException {
+        if (game.getMoves().size() > GameStore.MAX_PLIES || game.getTags().size() > GameStore.MAX_TAGS) {
+            throw new IllegalArgumentException("Too many moves or tags in " + game);
+        }
+        // The strings are only written on close, so they are checked now while the game can still be rejected
+        for (final Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            if (!fitsInStore(tag.getKey()) || !fitsInStore(tag.getValue())) {
+                throw new IllegalArgumentException("A tag of " + game + " is too long");
+            }
+        }
+        final String fen = game.getTag("FEN");
+        Board board = fen != null ? FenUtilities.createGameFromFEN(fen) : Board.createStandardBoard();
+        int plies = 0;
+        for (final String san : game.getMoves()) {
+            final Move move = PgnUtilities.createMove(board, san);
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                throw new IllegalArgumentException("Illegal move " + san + " in " + game);
+            }
+            this.moves[plies++] = GameStore.encodeMove(move.getCurrentCoordinate(),
+                                                       move.getDestinationCoordinate(),
+                                                       move.getPromotionType());
+            board = transition.getBoard();
+        }
+
+        if (this.gameCount == this.offsets.length) {
+            this.offsets = Arrays.copyOf(this.offsets, this.offsets.length * 2);
+        }
+        this.offsets[this.gameCount] = this.offset;
+        this.output.writeShort(plies);
+        this.output.writeByte(getResultCode(game.getResult()));
+        this.output.writeByte(game.getTags().size());
+        this.offset += 4;
+        writeVarInt(fen == null ? 0 : getStringId(fen) + 1);
+        for (final Map.Entry<String, String> tag : game.getTags().entrySet()) {
+            writeVarInt(getStringId(tag.getKey()));
+            writeVarInt(getStringId(tag.getValue()));
+        }
+        for (int i = 0; i < plies; i++) {
+            this.output.writeShort(this.moves[i]);
+        }
+        this.offset += 2L * plies;
+        return this.gameCount++;
+    }
+
+    /**
+     * Gets the number of games added
+     * @return the number of games
+     */
+    public int getGameCount() {
+        return this.gameCount;
+    }
+
+    /**
+     * Writes the index, the strings and the header, and closes the file
+     * @throws IOException if the file can't be written
+     */
+    @Override
+    public void close() throws IOException {
+        final long indexOffset = this.offset;
+        for (int i = 0; i < this.gameCount; i++) {
+            this.output.writeLong(this.offsets[i]);
+        }
+        final long stringsOffset = indexOffset + (long) this.gameCount * Long.BYTES;
+        for (final String string : this.strings) {
+            // Every string was checked to fit when its game was added
+            final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            this.output.writeShort(bytes.length);
+            this.output.write(bytes);
+        }
+        this.output.close();
+
+        final ByteBuffer header = ByteBuffer.allocate(GameStore.HEADER_SIZE);
+        header.putInt(GameStore.MAGIC)
+              .putInt(GameStore.VERSION)
+              .putInt(this.gameCount)
+              .putInt(this.strings.size())
+              .putLong(indexOffset)
+              .putLong(stringsOffset)
+              .flip();
+        try (final FileChannel channel = FileChannel.open(this.path, StandardOpenOption.WRITE)) {
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    /**
+     * Gets the code of a result, which is the code of the unknown result for anything that isn't a known result
+     */
+    private static int getResultCode(final String result) {
+        for (int code = 0; code < GameStore.RESULTS.length; code++) {
+            if (GameStore.RESULTS[code].equals(result)) {
+                return code;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Determines if a string's UTF-8 bytes fit in the store. A char is at most 3 bytes, so only long strings are
+     * encoded to find out.
+     */
+    private static boolean fitsInStore(final String string) {
+        return string.length() * 3 <= GameStore.MAX_STRING_BYTES ||
+               string.getBytes(StandardCharsets.UTF_8).length <= GameStore.MAX_STRING_BYTES;
+    }
+
+    /**
+     * Gets the id of a string, giving it the next id if it is new
+     */
+    private int getStringId(final String string) {
+        Integer id = this.stringIds.get(string);
+        if (id == null) {
+            id = this.strings.size();
+            this.stringIds.put(string, id);
+            this.strings.add(string);
+        }
+        return id;
+    }
+
+    /**
+     * Writes a variable length int (see {@link GameStore#readVarInt(ByteBuffer)})
+     */
+    private void writeVarInt(final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            this.output.writeByte((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+            this.offset++;
+        }
+        this.output.writeByte(remaining);
+        this.offset++;
+    }
+
+    /**
+     * Converts a PGN file to a game store, skipping games that can't be replayed
+     * @param args the path of the PGN file and the path of the store
+     * @throws IOException if a file can't be read or written
+     */
+    public static void main(final String[] args) throws IOException {
+        final long start = System.nanoTime();
+        long skipped = 0;
+        try (final PgnReader reader = PgnReader.open(Paths.get(args[0]));
+             final GameStoreWriter writer = new GameStoreWriter(Paths.get(args[1]))) {
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                try {
+                    writer.addGame(game);
+                } catch (final IllegalArgumentException e) {
+                    skipped++;
+                }
+            }
+            System.out.printf("%d games written (%d skipped) in %.2f s%n",
+                              writer.getGameCount(), skipped, (System.nanoTime() - start) / 1e9);
+        }
+        System.out.printf("%d bytes of PGN, %d bytes stored%n", Files.size(Paths.get(args[0])), Files.size(Paths.get(args[1])));
+    }
+}
@@ -0,0 +1,76 @@
+package com.chess.pgn;
+
+import com.chess.engine.board.Board;
+
+/**
+ * File: ImportedGame.java
+ * Date: 10/17/26
+ */
+
+/**
+ * A game read and replayed by a {@link PgnImporter}
+ */
+public final class ImportedGame {
+
+    /**
+     * The game as it was read
+     */
+    private final PgnGame game;
+    /**
+     * The board after the last move (null if the game couldn't be replayed)
+     */
+    private final Board finalBoard;
+    /**
+     * Why the game couldn't be replayed (null if it could)
+     */
+    private final String error;
+
+    /**
+     * Constructor
+     * @param game the game as it was read
+     * @param finalBoard the board after the last move or null
+     * @param error why the game couldn't be replayed or null
+     */
+    ImportedGame(final PgnGame game, final Board finalBoard, final String error) {
+        this.game = game;
+        this.finalBoard = finalBoard;
+        this.error = error;
+    }
+
+    /**
+     * Gets the game
+     * @return the game as it was read
+     */
+    public PgnGame getGame() {
+        return this.game;
+    }
+
+    /**
+     * Gets the board after the last move
+     * @return the board or null if the game couldn't be replayed
+     */
+    public Board getFinalBoard() {
+        return this.finalBoard;
+    }
+
+    /**
+     * Determines if every move of the game was legal
+     * @return true if the game was replayed
+     */
+    public boolean isReplayed() {
+        return this.error == null;
+    }
+
+    /**
+     * Gets why the game couldn't be replayed
+     * @return the error or null if the game was replayed
+     */
+    public String getError() {
+        return this.error;
+    }
+
+    @Override
+    public String toString() {
+        return this.game + (this.error == null ? "" : " (" + this.error + ")");
+    }
+}
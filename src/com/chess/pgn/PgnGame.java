@@ -0,0 +1,93 @@
+package com.chess.pgn;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File: PgnGame.java
+ * Date: 10/17/26
+ */
+
+/**
+ * A game read from PGN: its tag pairs, its moves in standard algebraic notation (SAN) and its result.
+ * The moves aren't checked against a board until the game is replayed (see {@link PgnUtilities}).
+ */
+public final class PgnGame {
+
+    /**
+     * The results a game can have
+     */
+    public static final String WHITE_WINS = "1-0";
+    public static final String BLACK_WINS = "0-1";
+    public static final String DRAW = "1/2-1/2";
+    public static final String UNKNOWN_RESULT = "*";
+
+    /**
+     * The tag pairs, in the order they were read
+     */
+    private final ImmutableMap<String, String> tags;
+    /**
+     * The moves in SAN, without move numbers, comments, variations or annotation glyphs
+     */
+    private final ImmutableList<String> moves;
+    /**
+     * The result at the end of the movetext
+     */
+    private final String result;
+
+    /**
+     * Constructor
+     * @param tags the tag pairs
+     * @param moves the moves in SAN
+     * @param result the result
+     */
+    public PgnGame(final Map<String, String> tags, final List<String> moves, final String result) {
+        this.tags = ImmutableMap.copyOf(tags);
+        this.moves = ImmutableList.copyOf(moves);
+        this.result = result;
+    }
+
+    /**
+     * Gets the tag pairs
+     * @return the tags by name
+     */
+    public ImmutableMap<String, String> getTags() {
+        return this.tags;
+    }
+
+    /**
+     * Gets the value of a tag
+     * @param name the name of the tag (for example White)
+     * @return the value or null if the game doesn't have the tag
+     */
+    public String getTag(final String name) {
+        return this.tags.get(name);
+    }
+
+    /**
+     * Gets the moves
+     * @return the moves in SAN
+     */
+    public ImmutableList<String> getMoves() {
+        return this.moves;
+    }
+
+    /**
+     * Gets the result
+     * @return {@link #WHITE_WINS}, {@link #BLACK_WINS}, {@link #DRAW} or {@link #UNKNOWN_RESULT}
+     */
+    public String getResult() {
+        return this.result;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s - %s, %s %s (%d plies) %s",
+                             this.tags.getOrDefault("White", "?"), this.tags.getOrDefault("Black", "?"),
+                             this.tags.getOrDefault("Event", "?"), this.tags.getOrDefault("Date", "?"),
+                             this.moves.size(), this.result);
+    }
+}
@@ -0,0 +1,424 @@
+package com.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * File: PgnImporter.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Imports a PGN file on several threads.
+ *
+ * A splitter thread reads the file in chunks and cuts each chunk at the start of its last game, carrying the
+ * bytes after the cut over to the next chunk, so every chunk holds whole games. A chunk only grows when one game
+ * doesn't fit in it, and never past {@link #MAX_CHUNK_SIZE} (or the chunk size, if that is larger). Worker
+ * threads read the games of a chunk with a {@link PgnReader} and replay them on boards (see {@link PgnUtilities}),
+ * and put the results on a bounded queue that consumers {@link #take()} from.
+ *
+ * Every stage waits for the one after it: workers block while the queue is full, and the splitter blocks while
+ * as many chunks as it may have in memory are still being worked on. A slow consumer therefore slows down the
+ * whole import instead of letting games pile up, and the memory used is bounded by the chunk size, the number
+ * of chunks in flight and the queue capacity, however large the file is.
+ *
+ * Games come off the queue in the order their workers finish them, not the order of the file.
+ */
+public final class PgnImporter implements Closeable {
+
+    /**
+     * The default size of a chunk
+     */
+    private static final int DEFAULT_CHUNK_SIZE = 4 << 20;
+    /**
+     * The largest a chunk grows to hold one game. A file with no game boundary in that many bytes isn't imported.
+     */
+    private static final int MAX_CHUNK_SIZE = 64 << 20;
+    /**
+     * Put on the queue after the last game
+     */
+    private static final ImportedGame END = new ImportedGame(null, null, null);
+
+    /**
+     * The file imported
+     */
+    private final Path path;
+    /**
+     * The smallest size of a chunk (a chunk grows if one game doesn't fit in it)
+     */
+    private final int chunkSize;
+    /**
+     * The largest size of a chunk
+     */
+    private final int maxChunkSize;
+    /**
+     * The replayed games waiting for a consumer
+     */
+    private final BlockingQueue<ImportedGame> results;
+    /**
+     * The threads reading and replaying chunks
+     */
+    private final ExecutorService workers;
+    /**
+     * One permit for every chunk that may be in memory
+     */
+    private final Semaphore chunkPermits;
+    /**
+     * The thread splitting the file into chunks
+     */
+    private final Thread splitter;
+    /**
+     * The chunks not finished yet, plus one while the splitter is running
+     */
+    private final AtomicInteger pendingChunks;
+
+    /**
+     * Counters
+     */
+    private final LongAdder games = new LongAdder();
+    private final LongAdder failedGames = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private volatile long startNanos;
+    private volatile long endNanos;
+    /**
+     * Why reading the file failed (null if it didn't)
+     */
+    private volatile IOException failure;
+    /**
+     * Set when the import is closed. The queue might not be ended after that, so an empty queue is the end.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     * @param path the PGN file
+     * @param threads the number of threads replaying games
+     * @param queueCapacity the number of replayed games that can wait for a consumer
+     */
+    public PgnImporter(final Path path, final int threads, final int queueCapacity) {
+        this(path, threads, queueCapacity, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param path the PGN file
+     * @param threads the number of threads replaying games
+     * @param queueCapacity the number of replayed games that can wait for a consumer
+     * @param chunkSize the size of the chunks the file is split into
+     */
+    public PgnImporter(final Path path, final int threads, final int queueCapacity, final int chunkSize) {
+        this(path, threads, queueCapacity, chunkSize, Math.max(chunkSize, MAX_CHUNK_SIZE));
+    }
+
+    /**
+     * Constructor
+     * @param path the PGN file
+     * @param threads the number of threads replaying games
+     * @param queueCapacity the number of replayed games that can wait for a consumer
+     * @param chunkSize the size of the chunks the file is split into
+     * @param maxChunkSize the largest a chunk may grow to hold one game
+     */
+    PgnImporter(final Path path,
+                final int threads,
+                final int queueCapacity,
+                final int chunkSize,
+                final int maxChunkSize) {
+        this.path = path;
+        this.chunkSize = chunkSize;
+        this.maxChunkSize = Math.max(chunkSize, maxChunkSize);
+        this.results = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "PGN import worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Every worker can have a chunk and the next one waiting
+        this.chunkPermits = new Semaphore(threads * 2);
+        this.pendingChunks = new AtomicInteger(1);
+        this.splitter = new Thread(this::split, "PGN import splitter");
+        this.splitter.setDaemon(true);
+    }
+
+    /**
+     * Starts the import
+     * @return this importer
+     */
+    public PgnImporter start() {
+        this.startNanos = System.nanoTime();
+        this.splitter.start();
+        return this;
+    }
+
+    /**
+     * Takes the next replayed game, waiting for one if none is ready
+     * @return the game or null if every game has been taken, or the import was closed and the games already on the
+     *         queue have been taken
+     * @throws IOException if the file couldn't be read
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public ImportedGame take() throws IOException, InterruptedException {
+        final ImportedGame game = this.closed ? this.results.poll() : this.results.take();
+        if (game == null || game == END) {
+            // Leave the end on the queue for any other consumers, which may already be waiting
+            this.results.offer(END);
+            if (this.failure != null) {
+                throw this.failure;
+            }
+            return null;
+        }
+        return game;
+    }
+
+    /**
+     * Gets the number of games replayed so far (including the games that couldn't be)
+     * @return the number of games
+     */
+    public long getGameCount() {
+        return this.games.sum();
+    }
+
+    /**
+     * Gets the number of games that couldn't be replayed: a move couldn't be read or wasn't legal, or the starting
+     * position wasn't valid
+     * @return the number of games
+     */
+    public long getFailedGameCount() {
+        return this.failedGames.sum();
+    }
+
+    /**
+     * Gets the number of bytes read from the file so far
+     * @return the number of bytes
+     */
+    public long getBytesRead() {
+        return this.bytesRead.sum();
+    }
+
+    /**
+     * Gets the number of games replayed per second, up to now or up to the end of the import
+     * @return the games per second
+     */
+    public double getGamesPerSecond() {
+        final long end = this.endNanos != 0 ? this.endNanos : System.nanoTime();
+        return getGameCount() * 1e9 / Math.max(1, end - this.startNanos);
+    }
+
+    /**
+     * Stops the import. Games already on the queue can still be taken, and then {@link #take()} returns null.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        this.splitter.interrupt();
+        // Chunks still waiting for a worker are dropped, and interrupted workers can't end the queue
+        this.workers.shutdownNow();
+        // Wakes a consumer waiting on an empty queue. If the queue is full, take() ends it once it is empty.
+        this.results.offer(END);
+    }
+
+    /**
+     * Reads the file in chunks of whole games and hands them to the workers
+     */
+    private void split() {
+        try (final FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            byte[] carried = new byte[0];
+            int carriedLength = 0;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                this.chunkPermits.acquire();
+                final byte[] chunk = new byte[Math.min(this.maxChunkSize, Math.max(this.chunkSize, carriedLength * 2))];
+                System.arraycopy(carried, 0, chunk, 0, carriedLength);
+                int length = carriedLength;
+                while (length < chunk.length) {
+                    final int read = channel.read(ByteBuffer.wrap(chunk, length, chunk.length - length));
+                    if (read < 0) {
+                        endOfFile = true;
+                        break;
+                    }
+                    length += read;
+                    this.bytesRead.add(read);
+                }
+                final int cut = endOfFile ? length : lastGameStart(chunk, length);
+                if (cut == 0) {
+                    if (length >= this.maxChunkSize) {
+                        throw new IOException("No game of " + this.path + " ends within " + this.maxChunkSize +
+                                              " bytes");
+                    }
+                    // One game fills the chunk, so try again with a larger chunk
+                    this.chunkPermits.release();
+                    carried = chunk;
+                    carriedLength = length;
+                    continue;
+                }
+                carriedLength = length - cut;
+                carried = Arrays.copyOfRange(chunk, cut, length);
+                this.pendingChunks.incrementAndGet();
+                this.workers.execute(() -> replayChunk(chunk, cut));
+            }
+        } catch (final IOException e) {
+            this.failure = e;
+        } catch (final RuntimeException e) {
+            this.failure = new IOException("Couldn't split " + this.path, e);
+        } catch (final InterruptedException e) {
+            // Closed, so the end doesn't need to be queued
+            Thread.currentThread().interrupt();
+        } finally {
+            // Whatever stopped the splitter, the queue has to end once the chunks already handed out are done
+            finishChunk();
+        }
+    }
+
+    /**
+     * Reads and replays the games of a chunk
+     * @param chunk the bytes
+     * @param length the number of bytes holding games
+     */
+    private void replayChunk(final byte[] chunk, final int length) {
+        try (final PgnReader reader = new PgnReader(chunk, length)) {
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                this.results.put(replay(game));
+            }
+        } catch (final IOException e) {
+            // Can't happen when reading bytes in memory
+            this.failure = e;
+        } catch (final RuntimeException e) {
+            this.failure = new IOException("Couldn't read the games of a chunk of " + this.path, e);
+        } catch (final InterruptedException e) {
+            // Closed, so the end doesn't need to be queued
+            Thread.currentThread().interrupt();
+        } finally {
+            this.chunkPermits.release();
+            finishChunk();
+        }
+    }
+
+    /**
+     * Replays a game. Any game that can't be replayed, whatever the reason, is rejected on its own so the rest of
+     * its chunk is still replayed.
+     * @param game the game
+     * @return the result
+     */
+    private ImportedGame replay(final PgnGame game) {
+        this.games.increment();
+        try {
+            return new ImportedGame(game, PgnUtilities.replayGame(game), null);
+        } catch (final RuntimeException e) {
+            this.failedGames.increment();
+            return new ImportedGame(game, null, String.valueOf(e.getMessage()));
+        }
+    }
+
+    /**
+     * Marks a chunk (or the splitter) done and ends the queue after the last one. It is called however the chunk or
+     * the splitter stopped, since a consumer would otherwise wait for the end forever.
+     */
+    private void finishChunk() {
+        if (this.pendingChunks.decrementAndGet() == 0) {
+            this.endNanos = System.nanoTime();
+            try {
+                this.results.put(END);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Finds where the last game of a chunk starts: the first of its tag lines, which is a line starting with a
+     * bracket after a line that isn't a tag, or for a game without tags, a line starting with a move number or a
+     * result after a blank line that follows the previous game's result
+     * @param chunk the bytes
+     * @param length the number of bytes read
+     * @return the index of the game's first byte, or 0 if the chunk holds at most the start of one game
+     */
+    static int lastGameStart(final byte[] chunk, final int length) {
+        for (int i = length - 1; i > 0; i--) {
+            final byte c = chunk[i];
+            if (chunk[i - 1] != '\n' || (c != '[' && c != '*' && (c < '0' || c > '9'))) {
+                continue;
+            }
+            // Find the last byte of the last line before this one that isn't blank
+            int j = i - 1;
+            int newLines = 0;
+            while (j >= 0 && isSpace(chunk[j])) {
+                newLines += chunk[j] == '\n' ? 1 : 0;
+                j--;
+            }
+            if (j < 0) {
+                return 0;
+            }
+            if (c != '[') {
+                if (newLines > 1 && endsWithResult(chunk, j)) {
+                    return i;
+                }
+                continue;
+            }
+            while (j > 0 && chunk[j - 1] != '\n') {
+                j--;
+            }
+            while (chunk[j] == ' ' || chunk[j] == '\t') {
+                j++;
+            }
+            if (chunk[j] != '[') {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Determines if the token ending at a byte is a game result
+     * @param chunk the bytes
+     * @param last the index of the token's last byte
+     */
+    private static boolean endsWithResult(final byte[] chunk, final int last) {
+        int first = last;
+        while (first > 0 && !isSpace(chunk[first - 1])) {
+            first--;
+        }
+        final String token = new String(chunk, first, last + 1 - first, StandardCharsets.ISO_8859_1);
+        return token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*");
+    }
+
+    private static boolean isSpace(final byte c) {
+        return c == '\n' || c == '\r' || c == ' ' || c == '\t';
+    }
+
+    /**
+     * Imports a PGN file and prints how fast the games were replayed
+     * @param args the path of the file, the number of threads (every core if not given)
+     *             and the queue capacity (1024 if not given)
+     * @throws Exception if the file can't be read
+     */
+    public static void main(final String[] args) throws Exception {
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+        long games = 0;
+        long plies = 0;
+        try (final PgnImporter importer = new PgnImporter(Paths.get(args[0]), threads, queueCapacity).start()) {
+            for (ImportedGame game = importer.take(); game != null; game = importer.take()) {
+                plies += game.getGame().getMoves().size();
+                if (++games % 100_000 == 0) {
+                    System.out.printf("%d games (%.0f games/s)%n", games, importer.getGamesPerSecond());
+                }
+            }
+            System.out.printf("%d games (%d couldn't be replayed), %d plies, %d MB with %d threads: %.0f games/s%n",
+                              importer.getGameCount(), importer.getFailedGameCount(), plies,
+                              importer.getBytesRead() >> 20, threads, importer.getGamesPerSecond());
+        }
+    }
+}
@@ -0,0 +1,448 @@
+package com.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * File: PgnReader.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Reads the games of a PGN file one at a time.
+ *
+ * The file is read through a channel into one buffer, and each game is tokenized straight from the buffer's bytes:
+ * tag pairs, move numbers, SAN moves and the result are picked out, while comments, variations, annotation glyphs
+ * and escaped lines are skipped. When a game runs past the end of the buffer the unread bytes are moved to the
+ * front, the buffer is refilled and the game is tokenized again from its start. The buffer only grows if a single
+ * game doesn't fit in it, so a file of any size is read in the memory of the buffer and one game.
+ *
+ * A reader is not thread safe.
+ */
+public final class PgnReader implements Closeable {
+
+    /**
+     * The default size of the buffer
+     */
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+    /**
+     * Returned by {@link #parseGame} when the game doesn't end before the end of the buffer
+     */
+    private static final int INCOMPLETE = -1;
+    /**
+     * The number of move strings remembered (a power of two)
+     */
+    private static final int MOVE_CACHE_SIZE = 1 << 12;
+
+    /**
+     * The channel the file is read from (null when reading bytes already in memory)
+     */
+    private final ReadableByteChannel channel;
+    /**
+     * The bytes read but not parsed yet are between the buffer's position and limit
+     */
+    private ByteBuffer buffer;
+    /**
+     * Whether the channel has no more bytes
+     */
+    private boolean endOfInput;
+    /**
+     * The number of bytes read from the channel
+     */
+    private long bytesRead;
+
+    /**
+     * The game being parsed
+     */
+    private final Map<String, String> tags;
+    private final List<String> moves;
+    private String result;
+    /**
+     * The strings of the moves read recently, by the hash of their bytes. Games repeat the same few thousand
+     * moves, so most moves are found here instead of being decoded into a new string.
+     */
+    private final String[] moveCache;
+
+    /**
+     * Constructor
+     * @param channel the channel the PGN is read from (closed with the reader)
+     */
+    public PgnReader(final ReadableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor
+     * @param channel the channel the PGN is read from (closed with the reader)
+     * @param bufferSize the initial size of the buffer in bytes
+     */
+    public PgnReader(final ReadableByteChannel channel, final int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(bufferSize);
+        this.buffer.flip();
+        this.tags = new LinkedHashMap<>();
+        this.moves = new ArrayList<>();
+        this.moveCache = new String[MOVE_CACHE_SIZE];
+    }
+
+    /**
+     * Constructor for a reader of PGN already in memory (a chunk of a file, say)
+     * @param bytes the bytes (read in place, not copied)
+     * @param length the number of bytes holding PGN
+     */
+    public PgnReader(final byte[] bytes, final int length) {
+        this.channel = null;
+        this.buffer = ByteBuffer.wrap(bytes, 0, length);
+        this.endOfInput = true;
+        this.bytesRead = length;
+        this.tags = new LinkedHashMap<>();
+        this.moves = new ArrayList<>();
+        this.moveCache = new String[MOVE_CACHE_SIZE];
+    }
+
+    /**
+     * Opens a PGN file
+     * @param path the path of the file
+     * @return the reader
+     * @throws IOException if the file can't be opened
+     */
+    public static PgnReader open(final Path path) throws IOException {
+        return new PgnReader(FileChannel.open(path, StandardOpenOption.READ));
+    }
+
+    /**
+     * Reads the next game
+     * @return the game or null if there are no more games
+     * @throws IOException if the file can't be read
+     */
+    public PgnGame next() throws IOException {
+        while (true) {
+            final int end = parseGame(this.buffer.array(), this.buffer.position(), this.buffer.limit(), this.endOfInput);
+            if (end == INCOMPLETE) {
+                fill();
+                continue;
+            }
+            this.buffer.position(end);
+            if (!this.tags.isEmpty() || !this.moves.isEmpty()) {
+                return new PgnGame(this.tags, this.moves, this.result);
+            }
+            if (this.endOfInput && !this.buffer.hasRemaining()) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of bytes read from the channel so far
+     * @return the number of bytes
+     */
+    public long getBytesRead() {
+        return this.bytesRead;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.channel != null) {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer (growing it if they fill it) and reads more after them
+     */
+    private void fill() throws IOException {
+        this.buffer.compact();
+        if (!this.buffer.hasRemaining()) {
+            final ByteBuffer larger = ByteBuffer.allocate(this.buffer.capacity() * 2);
+            this.buffer.flip();
+            larger.put(this.buffer);
+            this.buffer = larger;
+        }
+        final int read = this.channel.read(this.buffer);
+        if (read < 0) {
+            this.endOfInput = true;
+        } else {
+            this.bytesRead += read;
+        }
+        this.buffer.flip();
+    }
+
+    /**
+     * Tokenizes one game into {@link #tags}, {@link #moves} and {@link #result}
+     * @param bytes the bytes
+     * @param start the index of the first unread byte
+     * @param limit the index after the last byte read
+     * @param atEnd whether there are no bytes after the limit (so the limit ends the game)
+     * @return the index after the game or {@link #INCOMPLETE} if more bytes are needed
+     */
+    private int parseGame(final byte[] bytes, final int start, final int limit, final boolean atEnd) {
+        this.tags.clear();
+        this.moves.clear();
+        this.result = PgnGame.UNKNOWN_RESULT;
+        boolean inMoveText = false;
+        int i = start;
+        while (i < limit) {
+            final byte c = bytes[i];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                i++;
+            } else if (c == '[') {
+                if (inMoveText) {
+                    // The next game's tags without a result before them
+                    return i;
+                }
+                i = parseTag(bytes, i + 1, limit);
+                if (i == INCOMPLETE) {
+                    return atEnd ? limit : INCOMPLETE;
+                }
+            } else if (c == '{') {
+                i = indexOf(bytes, i + 1, limit, (byte) '}');
+                if (i == INCOMPLETE) {
+                    return atEnd ? limit : INCOMPLETE;
+                }
+                i++;
+            } else if (c == ';' || (c == '%' && (i == 0 || bytes[i - 1] == '\n'))) {
+                i = indexOf(bytes, i + 1, limit, (byte) '\n');
+                if (i == INCOMPLETE) {
+                    return atEnd ? limit : INCOMPLETE;
+                }
+            } else if (c == '(') {
+                i = skipVariation(bytes, i + 1, limit);
+                if (i == INCOMPLETE) {
+                    return atEnd ? limit : INCOMPLETE;
+                }
+            } else if (c == ')') {
+                i++;
+            } else {
+                final int end = tokenEnd(bytes, i, limit);
+                if (end == limit && !atEnd) {
+                    return INCOMPLETE;
+                }
+                inMoveText = true;
+                if (isResult(bytes, i, end)) {
+                    this.result = new String(bytes, i, end - i, StandardCharsets.ISO_8859_1);
+                    return end;
+                }
+                addMove(bytes, i, end);
+                i = end;
+            }
+        }
+        return atEnd ? limit : INCOMPLETE;
+    }
+
+    /**
+     * Parses a tag pair after its opening bracket
+     * @return the index after the closing bracket or {@link #INCOMPLETE}
+     */
+    private int parseTag(final byte[] bytes, final int start, final int limit) {
+        int i = start;
+        while (i < limit && bytes[i] == ' ') {
+            i++;
+        }
+        final int nameStart = i;
+        while (i < limit && bytes[i] != ' ' && bytes[i] != '"' && bytes[i] != ']') {
+            i++;
+        }
+        final int nameEnd = i;
+        final int quote = indexOf(bytes, i, limit, (byte) '"');
+        final int close = indexOf(bytes, i, limit, (byte) ']');
+        if (close == INCOMPLETE) {
+            return INCOMPLETE;
+        }
+        if (quote == INCOMPLETE || quote > close) {
+            // A tag without a value
+            this.tags.put(new String(bytes, nameStart, nameEnd - nameStart, StandardCharsets.ISO_8859_1), "");
+            return close + 1;
+        }
+        final StringBuilder value = new StringBuilder();
+        i = quote + 1;
+        while (i < limit && bytes[i] != '"') {
+            if (bytes[i] == '\\' && i + 1 < limit) {
+                i++;
+            }
+            value.append((char) (bytes[i++] & 0xFF));
+        }
+        final int end = indexOf(bytes, i, limit, (byte) ']');
+        if (i >= limit || end == INCOMPLETE) {
+            return INCOMPLETE;
+        }
+        this.tags.put(new String(bytes, nameStart, nameEnd - nameStart, StandardCharsets.ISO_8859_1), value.toString());
+        return end + 1;
+    }
+
+    /**
+     * Skips a variation (which can hold comments and variations of its own) after its opening parenthesis
+     * @return the index after the closing parenthesis or {@link #INCOMPLETE}
+     */
+    private static int skipVariation(final byte[] bytes, final int start, final int limit) {
+        int depth = 1;
+        int i = start;
+        while (i < limit) {
+            final byte c = bytes[i++];
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                if (--depth == 0) {
+                    return i;
+                }
+            } else if (c == '{') {
+                i = indexOf(bytes, i, limit, (byte) '}');
+                if (i == INCOMPLETE) {
+                    return INCOMPLETE;
+                }
+                i++;
+            } else if (c == ';') {
+                i = indexOf(bytes, i, limit, (byte) '\n');
+                if (i == INCOMPLETE) {
+                    return INCOMPLETE;
+                }
+            }
+        }
+        return INCOMPLETE;
+    }
+
+    /**
+     * Adds a move token, dropping a move number in front of it and annotation glyphs after it
+     */
+    private void addMove(final byte[] bytes, final int start, final int end) {
+        int i = start;
+        if (bytes[i] == '$') {
+            // Numeric annotation glyph
+            return;
+        }
+        if (bytes[i] >= '0' && bytes[i] <= '9') {
+            int j = i;
+            while (j < end && bytes[j] >= '0' && bytes[j] <= '9') {
+                j++;
+            }
+            if (j < end && bytes[j] != '.') {
+                // Castling written with zeros (0-0)
+                j = i;
+            }
+            while (j < end && bytes[j] == '.') {
+                j++;
+            }
+            i = j;
+        }
+        int e = end;
+        while (e > i && (bytes[e - 1] == '!' || bytes[e - 1] == '?')) {
+            e--;
+        }
+        if (e > i) {
+            this.moves.add(getMoveString(bytes, i, e));
+        }
+    }
+
+    /**
+     * Gets the string of a move, from the cache if it was read recently
+     */
+    private String getMoveString(final byte[] bytes, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        final int slot = (hash ^ (hash >>> 12)) & (MOVE_CACHE_SIZE - 1);
+        final String cached = this.moveCache[slot];
+        if (cached != null && cached.length() == end - start) {
+            int i = start;
+            while (i < end && cached.charAt(i - start) == bytes[i]) {
+                i++;
+            }
+            if (i == end) {
+                return cached;
+            }
+        }
+        final String move = new String(bytes, start, end - start, StandardCharsets.ISO_8859_1);
+        this.moveCache[slot] = move;
+        return move;
+    }
+
+    /**
+     * Determines if a token is a game result
+     */
+    private static boolean isResult(final byte[] bytes, final int start, final int end) {
+        switch (end - start) {
+            case 1:
+                return bytes[start] == '*';
+            case 3:
+                return (bytes[start] == '1' && bytes[start + 1] == '-' && bytes[start + 2] == '0') ||
+                       (bytes[start] == '0' && bytes[start + 1] == '-' && bytes[start + 2] == '1');
+            case 7:
+                return bytes[start] == '1' && bytes[start + 1] == '/' && bytes[start + 2] == '2' &&
+                       bytes[start + 3] == '-' && bytes[start + 4] == '1' && bytes[start + 5] == '/' &&
+                       bytes[start + 6] == '2';
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Gets the end of a token (the first space or character that starts something else)
+     */
+    private static int tokenEnd(final byte[] bytes, final int start, final int limit) {
+        int i = start;
+        while (i < limit) {
+            final byte c = bytes[i];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t' ||
+                c == '{' || c == '(' || c == ')' || c == ';' || c == '[') {
+                break;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Finds a byte
+     * @return its index or {@link #INCOMPLETE} if it isn't before the limit
+     */
+    private static int indexOf(final byte[] bytes, final int start, final int limit, final byte b) {
+        for (int i = start; i < limit; i++) {
+            if (bytes[i] == b) {
+                return i;
+            }
+        }
+        return INCOMPLETE;
+    }
+
+    /**
+     * Reads every game of a file and prints the read speed
+     * @param args the path of the file and "replay" to also replay the moves of every game on a board
+     * @throws IOException if the file can't be read
+     */
+    public static void main(final String[] args) throws IOException {
+        final boolean replay = args.length > 1 && args[1].equals("replay");
+        final long start = System.nanoTime();
+        long games = 0;
+        long plies = 0;
+        long illegal = 0;
+        try (final PgnReader reader = open(Paths.get(args[0]))) {
+            for (PgnGame game = reader.next(); game != null; game = reader.next()) {
+                games++;
+                plies += game.getMoves().size();
+                if (replay) {
+                    try {
+                        PgnUtilities.replayGame(game);
+                    } catch (final IllegalArgumentException e) {
+                        illegal++;
+                    }
+                }
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games, %d plies, %d MB in %.2f s (%.1f MB/s, %.0f games/s)%s%n",
+                              games, plies, reader.getBytesRead() >> 20, seconds,
+                              reader.getBytesRead() / 1e6 / seconds, games / seconds,
+                              replay ? ", " + illegal + " games with illegal moves" : "");
+        }
+    }
+}
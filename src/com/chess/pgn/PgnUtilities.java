@@ -0,0 +1,206 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.player.MoveTransition;
+
+/**
+ * File: PgnUtilities.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Turns the moves of a PGN game, written in standard algebraic notation (SAN), into moves on a board
+ */
+public final class PgnUtilities {
+
+    private PgnUtilities() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Plays the moves of a game from its starting position (the FEN tag if it has one)
+     * @param game the game
+     * @return the board after the last move
+     * @throws IllegalArgumentException if the FEN tag isn't a valid position, or a move can't be read or isn't legal
+     */
+    public static Board replayGame(final PgnGame game) {
+        final String fen = game.getTag("FEN");
+        Board board = fen != null ? FenUtilities.createGameFromFEN(fen) : Board.createStandardBoard();
+        for (final String san : game.getMoves()) {
+            final Move move = createMove(board, san);
+            if (move == Move.NULL_MOVE) {
+                throw new IllegalArgumentException("Illegal move " + san + " in " + game);
+            }
+            final MoveTransition transition = board.getCurrentPlayer().makeMove(move);
+            if (!transition.getMoveStatus().isDone()) {
+                throw new IllegalArgumentException("Illegal move " + san + " in " + game);
+            }
+            board = transition.getBoard();
+        }
+        return board;
+    }
+
+    /**
+     * Finds the legal move a SAN move names
+     * @param board the board
+     * @param san the move in SAN (check marks and annotation glyphs are allowed, and so is castling with zeros)
+     * @return the move, or the null move if no legal move (or more than one) matches
+     */
+    public static Move createMove(final Board board, final CharSequence san) {
+        int end = san.length();
+        while (end > 0 && isSuffix(san.charAt(end - 1))) {
+            end--;
+        }
+        if (isCastle(san, end, 3)) {
+            return findCastle(board, true);
+        }
+        if (isCastle(san, end, 5)) {
+            return findCastle(board, false);
+        }
+
+        int start = 0;
+        PieceType pieceType = PieceType.PAWN;
+        if (end > 0 && isPieceLetter(san.charAt(0))) {
+            pieceType = getPieceType(san.charAt(0));
+            start = 1;
+        }
+        PieceType promotionType = null;
+        if (pieceType == PieceType.PAWN && end >= 2 && isPieceLetter(san.charAt(end - 1))) {
+            promotionType = getPieceType(san.charAt(end - 1));
+            end -= san.charAt(end - 2) == '=' ? 2 : 1;
+        }
+        if (end - start < 2) {
+            return Move.NULL_MOVE;
+        }
+        final int destinationCoordinate = getCoordinate(san.charAt(end - 2), san.charAt(end - 1));
+        if (destinationCoordinate == -1) {
+            return Move.NULL_MOVE;
+        }
+
+        // What is left between the piece and the destination says which piece moves
+        int fromColumn = -1;
+        int fromRow = -1;
+        for (int i = start; i < end - 2; i++) {
+            final char c = san.charAt(i);
+            if (c >= 'a' && c <= 'h') {
+                fromColumn = c - 'a';
+            } else if (c >= '1' && c <= '8') {
+                fromRow = BoardUtils.NUM_TILES_PER_ROW - (c - '0');
+            } else if (c != 'x' && c != ':' && c != '-') {
+                return Move.NULL_MOVE;
+            }
+        }
+
+        // The pieces that could make the move, each looked up in the board's index of legal moves
+        final Alliance alliance = board.getCurrentPlayer().getAlliance();
+        final BitBoard bitBoard = board.getBitBoard();
+        long candidates = bitBoard.getAttackers(destinationCoordinate, alliance, bitBoard.getAllPieces()) &
+                          bitBoard.getPieces(pieceType, alliance);
+        if (pieceType == PieceType.PAWN && fromColumn == -1) {
+            // A pawn push comes from one or two tiles behind
+            final int oneBehind = destinationCoordinate - BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+            candidates = BoardUtils.isValidTileCoordinate(oneBehind) ? BitBoard.tileMask(oneBehind) : 0L;
+            if (BoardUtils.isValidTileCoordinate(oneBehind) && !bitBoard.isOccupied(oneBehind)) {
+                final int twoBehind = oneBehind - BoardUtils.NUM_TILES_PER_ROW * alliance.getDirection();
+                if (BoardUtils.isValidTileCoordinate(twoBehind)) {
+                    candidates |= BitBoard.tileMask(twoBehind);
+                }
+            }
+            candidates &= bitBoard.getPieces(pieceType, alliance);
+        }
+
+        Move found = Move.NULL_MOVE;
+        for (; candidates != 0; candidates &= candidates - 1) {
+            final int currentCoordinate = BitBoard.firstTile(candidates);
+            if ((fromColumn != -1 && currentCoordinate % BoardUtils.NUM_TILES_PER_ROW != fromColumn) ||
+                (fromRow != -1 && currentCoordinate / BoardUtils.NUM_TILES_PER_ROW != fromRow)) {
+                continue;
+            }
+            final Move move = board.getLegalMove(currentCoordinate, destinationCoordinate, promotionType);
+            if (move == Move.NULL_MOVE || move.isCastlingMove()) {
+                continue;
+            }
+            if (found != Move.NULL_MOVE) {
+                // Ambiguous
+                return Move.NULL_MOVE;
+            }
+            found = move;
+        }
+        return found;
+    }
+
+    /**
+     * Finds a castle move of the player to move
+     * @param board the board
+     * @param kingSide true for the king side castle, false for the queen side castle
+     * @return the move or the null move if the player can't castle that way
+     */
+    private static Move findCastle(final Board board, final boolean kingSide) {
+        for (final Move move : board.getCurrentPlayer().getLegalMoves()) {
+            if (move.isCastlingMove() && (move.getDestinationCoordinate() > move.getCurrentCoordinate()) == kingSide) {
+                return move;
+            }
+        }
+        return Move.NULL_MOVE;
+    }
+
+    /**
+     * Determines if a move is O-O (length 3) or O-O-O (length 5), written with letters or zeros
+     */
+    private static boolean isCastle(final CharSequence san, final int end, final int length) {
+        if (end != length) {
+            return false;
+        }
+        final char o = san.charAt(0);
+        if (o != 'O' && o != '0') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            if (san.charAt(i) != (i % 2 == 1 ? '-' : o)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSuffix(final char c) {
+        return c == '+' || c == '#' || c == '!' || c == '?';
+    }
+
+    private static boolean isPieceLetter(final char c) {
+        return c == 'N' || c == 'B' || c == 'R' || c == 'Q' || c == 'K';
+    }
+
+    private static PieceType getPieceType(final char letter) {
+        switch (letter) {
+            case 'N':
+                return PieceType.KNIGHT;
+            case 'B':
+                return PieceType.BISHOP;
+            case 'R':
+                return PieceType.ROOK;
+            case 'Q':
+                return PieceType.QUEEN;
+            default:
+                return PieceType.KING;
+        }
+    }
+
+    /**
+     * Gets the tile coordinate of a file and rank
+     * @return the tile coordinate or -1 if the characters don't name a tile
+     */
+    private static int getCoordinate(final char file, final char rank) {
+        final int column = file - 'a';
+        final int row = BoardUtils.NUM_TILES_PER_ROW - (rank - '0');
+        if (column < 0 || column >= BoardUtils.NUM_TILES_PER_ROW || rank < '1' || rank > '8') {
+            return -1;
+        }
+        return row * BoardUtils.NUM_TILES_PER_ROW + column;
+    }
+}
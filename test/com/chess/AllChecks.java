@@ -0,0 +1,47 @@
+package com.chess;
+
+import com.chess.engine.player.PlayerCheck;
+import com.chess.engine.search.MovePickerCheck;
+import com.chess.engine.search.SearchCheck;
+import com.chess.engine.search.StaticExchangeCheck;
+import com.chess.engine.search.TranspositionTableCheck;
+import com.chess.pgn.FenCheck;
+import com.chess.pgn.GameStoreCheck;
+import com.chess.pgn.PgnImporterCheck;
+
+import java.io.IOException;
+
+/**
+ * File: AllChecks.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Runs every behavior check in this source tree and exits with status 1 if any of them failed.
+ *
+ * Run with: java com.chess.AllChecks
+ */
+public final class AllChecks {
+
+    private AllChecks() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs every check
+     * @param args not used
+     * @throws IOException if the files of games can't be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Checks checks = new Checks();
+        PlayerCheck.run(checks);
+        FenCheck.run(checks);
+        PgnImporterCheck.run(checks);
+        GameStoreCheck.run(checks);
+        StaticExchangeCheck.run(checks);
+        TranspositionTableCheck.run(checks);
+        MovePickerCheck.run(checks);
+        SearchCheck.run(checks);
+        checks.finish();
+    }
+}
@@ -0,0 +1,67 @@
+package com.chess;
+
+/**
+ * File: Checks.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Collects the outcomes of behavior checks. Every check class in this source tree reports to one of these,
+ * either from its own main method or from {@link AllChecks}, which runs them all. Each outcome is printed on one
+ * line, and {@link #finish()} prints a summary and exits with status 1 if any check failed.
+ */
+public final class Checks {
+
+    /**
+     * The width the name of a check is padded to
+     */
+    private static final int NAME_WIDTH = 44;
+
+    /**
+     * The number of checks reported and the number that failed
+     */
+    private int count;
+    private int failures;
+
+    /**
+     * Starts a group of checks, printing its title
+     * @param title what the group checks
+     */
+    public void startGroup(final String title) {
+        System.out.printf("%n%s%n", title);
+    }
+
+    /**
+     * Reports the outcome of a check
+     * @param ok true if the check passed
+     * @param name the name of the check
+     * @param detail what was found
+     */
+    public void report(final boolean ok, final String name, final String detail) {
+        this.count++;
+        if (!ok) {
+            this.failures++;
+        }
+        System.out.printf("%-4s %-" + NAME_WIDTH + "s %s%n", ok ? "ok" : "FAIL", name, detail);
+    }
+
+    /**
+     * Determines if every check reported so far passed
+     * @return true if none failed
+     */
+    public boolean hasPassed() {
+        return this.failures == 0;
+    }
+
+    /**
+     * Prints how many checks passed and exits with status 1 if any failed
+     */
+    public void finish() {
+        if (hasPassed()) {
+            System.out.printf("All passed (%d checks)%n", this.count);
+        } else {
+            System.out.printf("FAILED (%d of %d checks)%n", this.failures, this.count);
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.chess.engine.player;
+
+import com.chess.Checks;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.pgn.FenUtilities;
+
+/**
+ * File: PlayerCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks what {@link Player#makeMove(Move)} says about legal moves, moves that leave the king attacked and moves no
+ * piece can make.
+ *
+ * Run with: java com.chess.engine.player.PlayerCheck, or with every other check through {@link com.chess.AllChecks}.
+ */
+public final class PlayerCheck {
+
+    /**
+     * A white rook on e2 pinned to its king on e1 by a black rook on e8
+     */
+    private static final String PINNED_ROOK = "4r1k1/8/8/8/8/8/4R3/4K3 w - - 0 1";
+    /**
+     * A white king on d1 beside the e-file a black rook on e8 holds
+     */
+    private static final String ATTACKED_FILE = "4r1k1/8/8/8/8/8/8/3K4 w - - 0 1";
+
+    private PlayerCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        checks.startGroup("Player.makeMove");
+        final Board pinned = FenUtilities.createGameFromFEN(PINNED_ROOK);
+        checkMove(checks, "pinned rook moves along the pin", pinned, quietMove(pinned, "e2", "e5"), MoveStatus.DONE);
+        checkMove(checks, "pinned rook takes the pinning rook", pinned, attackMove(pinned, "e2", "e8"),
+                  MoveStatus.DONE);
+        checkMove(checks, "pinned rook steps off the pin", pinned, quietMove(pinned, "e2", "d2"),
+                  MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        checkMove(checks, "rook moves diagonally", pinned, quietMove(pinned, "e2", "d3"), MoveStatus.ILLEGAL_MOVE);
+        checkMove(checks, "null move", pinned, Move.NULL_MOVE, MoveStatus.ILLEGAL_MOVE);
+
+        final Board attackedFile = FenUtilities.createGameFromFEN(ATTACKED_FILE);
+        checkMove(checks, "king steps away from the file", attackedFile, quietMove(attackedFile, "d1", "c1"),
+                  MoveStatus.DONE);
+        checkMove(checks, "king steps onto the file", attackedFile, quietMove(attackedFile, "d1", "e1"),
+                  MoveStatus.LEAVES_PLAYER_IN_CHECK);
+        checkMove(checks, "king moves two tiles", attackedFile, quietMove(attackedFile, "d1", "b1"),
+                  MoveStatus.ILLEGAL_MOVE);
+    }
+
+    /**
+     * Makes a move for the current player and compares the status with the expected one
+     */
+    private static void checkMove(final Checks checks,
+                                  final String name,
+                                  final Board board,
+                                  final Move move,
+                                  final MoveStatus expected) {
+        final MoveStatus status = board.getCurrentPlayer().makeMove(move).getMoveStatus();
+        final boolean ok = status == expected;
+        checks.report(ok, name, ok ? status.toString() : status + " (expected " + expected + ")");
+    }
+
+    /**
+     * Creates a move to an empty tile, whether or not the piece can make it
+     */
+    private static Move quietMove(final Board board, final String from, final String to) {
+        return new Move.MajorMove(board, board.getPiece(BoardUtils.getCoordinateAtPosition(from)),
+                                  BoardUtils.getCoordinateAtPosition(to));
+    }
+
+    /**
+     * Creates a capture, whether or not the piece can make it
+     */
+    private static Move attackMove(final Board board, final String from, final String to) {
+        final int destinationCoordinate = BoardUtils.getCoordinateAtPosition(to);
+        return new Move.AttackMove(board, board.getPiece(BoardUtils.getCoordinateAtPosition(from)),
+                                   destinationCoordinate, board.getPiece(destinationCoordinate));
+    }
+}
@@ -0,0 +1,184 @@
+package com.chess.engine.search;
+
+import com.chess.Checks;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * File: MovePickerCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks the staged move ordering of {@link MovePicker} over the positions of random games: it hands out every
+ * legal move exactly once whatever moves it is told to try first, tries the table's move first when it is legal,
+ * leaves the captures that lose material for last, and in the quiescence search hands out exactly the captures and
+ * promotions that don't lose material.
+ *
+ * Run with: java com.chess.engine.search.MovePickerCheck, or with every other check through
+ * {@link com.chess.AllChecks}.
+ */
+public final class MovePickerCheck {
+
+    /**
+     * The number of random games and the most plies of each
+     */
+    private static final int GAMES = 100;
+    private static final int MAX_PLIES = 150;
+
+    private MovePickerCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        checks.startGroup("MovePicker");
+        final SplittableRandom random = new SplittableRandom(3);
+        final MoveList legalMoves = new MoveList();
+        final MoveList captures = new MoveList();
+        final int[] history = new int[BitBoard.NUM_PIECE_BITBOARDS * BoardUtils.NUM_TILES];
+        // Moves of earlier positions, which are often not legal in the current one
+        final int[] earlierMoves = new int[64];
+        int positions = 0;
+        for (int game = 0; game < GAMES; game++) {
+            final Position position = FenUtilities.createPositionFromFEN(FenUtilities.STARTING_FEN);
+            final MovePicker picker = new MovePicker(position);
+            for (int ply = 0; ply < MAX_PLIES; ply++) {
+                legalMoves.clear();
+                MoveGenerator.generateLegalMoves(position, legalMoves);
+                if (legalMoves.isEmpty()) {
+                    break;
+                }
+                for (int i = 0; i < history.length; i++) {
+                    history[i] = random.nextInt(1000);
+                }
+                final int[] tried = new int[4];
+                for (int i = 0; i < tried.length; i++) {
+                    tried[i] = random.nextBoolean() ? legalMoves.get(random.nextInt(legalMoves.size())) :
+                                                      earlierMoves[random.nextInt(earlierMoves.length)];
+                }
+                picker.init(tried[0], tried[1], tried[2], tried[3], history);
+                final String error = checkAllMoves(position, picker, legalMoves, tried[0]);
+                if (error != null) {
+                    checks.report(false, "every legal move once", FenUtilities.createFENFromPosition(position) +
+                                                                  ": " + error);
+                    return;
+                }
+
+                captures.clear();
+                MoveGenerator.generateLegalCaptures(position, captures);
+                picker.initCapturesOnly();
+                final String captureError = checkCaptures(position, picker, captures);
+                if (captureError != null) {
+                    checks.report(false, "captures that don't lose material",
+                                  FenUtilities.createFENFromPosition(position) + ": " + captureError);
+                    return;
+                }
+                positions++;
+
+                final int move = legalMoves.get(random.nextInt(legalMoves.size()));
+                earlierMoves[random.nextInt(earlierMoves.length)] = move;
+                position.makeMove(move);
+            }
+        }
+        checks.report(true, "every legal move once", positions + " positions, table move first when legal, " +
+                                                     "losing captures last");
+        checks.report(true, "captures that don't lose material", positions + " positions");
+    }
+
+    /**
+     * Picks every move of a position and compares them with its legal moves
+     * @return what is wrong, or null if nothing is
+     */
+    private static String checkAllMoves(final Position position,
+                                        final MovePicker picker,
+                                        final MoveList legalMoves,
+                                        final int hashMove) {
+        final MoveList picked = new MoveList();
+        boolean losingCaptures = false;
+        for (int move = picker.next(); move != PackedMove.NULL_MOVE; move = picker.next()) {
+            final boolean losingCapture = move != hashMove &&
+                                          (PackedMove.isCapture(move) || PackedMove.isPromotion(move)) &&
+                                          !StaticExchange.isAtLeast(position, move, 0);
+            if (losingCaptures && !losingCapture) {
+                return PackedMove.toString(move) + " comes after a capture that loses material";
+            }
+            losingCaptures |= losingCapture;
+            picked.add(move);
+        }
+        if (MoveGenerator.isLegal(position, hashMove) && picked.get(0) != hashMove) {
+            return "the table's move " + PackedMove.toString(hashMove) + " isn't first";
+        }
+        return compare(picked, legalMoves);
+    }
+
+    /**
+     * Picks the captures of a position for the quiescence search and compares them with the legal captures and
+     * promotions that don't lose material
+     * @return what is wrong, or null if nothing is
+     */
+    private static String checkCaptures(final Position position, final MovePicker picker, final MoveList captures) {
+        final MoveList expected = new MoveList();
+        for (int i = 0; i < captures.size(); i++) {
+            if (StaticExchange.isAtLeast(position, captures.get(i), 0)) {
+                expected.add(captures.get(i));
+            }
+        }
+        final MoveList picked = new MoveList();
+        for (int move = picker.next(); move != PackedMove.NULL_MOVE; move = picker.next()) {
+            picked.add(move);
+        }
+        return compare(picked, expected);
+    }
+
+    /**
+     * Compares two lists of moves, ignoring their order
+     * @return what differs, or null if they hold the same moves
+     */
+    private static String compare(final MoveList picked, final MoveList expected) {
+        final int[] pickedMoves = sorted(picked);
+        final int[] expectedMoves = sorted(expected);
+        for (int i = 1; i < pickedMoves.length; i++) {
+            if (pickedMoves[i] == pickedMoves[i - 1]) {
+                return PackedMove.toString(pickedMoves[i]) + " is picked twice";
+            }
+        }
+        if (!Arrays.equals(pickedMoves, expectedMoves)) {
+            return "picked " + pickedMoves.length + " moves, expected " + expectedMoves.length;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the moves of a list in ascending order
+     */
+    private static int[] sorted(final MoveList moves) {
+        final int[] array = new int[moves.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = moves.get(i);
+        }
+        Arrays.sort(array);
+        return array;
+    }
+}
@@ -0,0 +1,282 @@
+package com.chess.engine.search;
+
+import com.chess.Checks;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.BoardUtils;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+/**
+ * File: SearchCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks what the search finds: {@link Searcher} has to find forced mates at their shortest distance and score
+ * checkmate and stalemate at the root, and {@link AlphaBeta}, with all its move ordering, has to agree with a plain
+ * alpha-beta search that tries the moves in the order they are generated. Move ordering only decides how much of
+ * the tree is cut off, so both searches must find the same score and one of the same best moves.
+ *
+ * Run with: java com.chess.engine.search.SearchCheck, or with every other check through {@link com.chess.AllChecks}.
+ */
+public final class SearchCheck {
+
+    /**
+     * Forced mates: a name, the position, the mating move and the number of moves to mate
+     */
+    private static final Object[][] MATES = {
+            {"scholar's mate", "r1bqkb1r/pppp1ppp/2n2n2/4p2Q/2B1P3/8/PPPP1PPP/RNB1K1NR w KQkq - 4 4", "h5f7", 1},
+            {"back rank mate", "6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1", "a1a8", 1},
+            {"fool's mate for black", "rnbqkbnr/pppp1ppp/8/4p3/6P1/5P2/PPPPP2P/RNBQKBNR b KQkq - 0 2", "d8h4", 1},
+            {"queen mates next to the king", "k7/8/1QK5/8/8/8/8/8 w - - 0 1", "b6b7", 1},
+            {"knight sacrifice then bishop mate", "r2qkb1r/pp2nppp/3p4/2pNN1B1/2BnP3/3P4/PPP2PPP/R2bK2R w KQkq - 1 1",
+             "d5f6", 2},
+            {"rooks roll the king to the edge", "6k1/8/8/8/8/8/R7/1R4K1 w - - 0 1", "a2a7", 2}
+    };
+
+    /**
+     * Positions the ordered search is compared with the plain one on, and the depth to compare up to
+     */
+    private static final Object[][] POSITIONS = {
+            {"starting position", FenUtilities.STARTING_FEN, 4},
+            {"kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1", 3},
+            {"rook endgame", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1", 5},
+            {"open middlegame", "r1bq1rk1/pp2bppp/2n1pn2/3p4/2PP4/2N1PN2/PP2BPPP/R2QKB1R w KQ - 0 8", 3},
+            {"hanging pieces", "r3k2r/ppp2ppp/2n5/3qp3/1b1P4/2N1BN2/PPP2PPP/R2QK2R w KQkq - 0 1", 3},
+            {"promotion race", "8/1P4k1/8/8/8/8/6p1/K7 w - - 0 1", 5},
+            {"stalemate in the tree", "k7/8/1QK5/8/8/8/8/8 w - - 0 1", 4}
+    };
+
+    /**
+     * The deepest search the mate checks allow
+     */
+    private static final int MATE_DEPTH = 6;
+
+    private SearchCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        checks.startGroup("Searcher and AlphaBeta");
+        for (final Object[] mate : MATES) {
+            checkMate(checks, (String) mate[0], (String) mate[1], (String) mate[2], (Integer) mate[3]);
+        }
+        checkGameOver(checks, "checkmated at the root", "rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3",
+                      -AlphaBeta.MATE);
+        checkGameOver(checks, "stalemated at the root", "5k2/5P2/5K2/8/8/8/8/8 b - - 0 1", 0);
+        checkGameOver(checks, "stalemated a queen down", "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1", 0);
+        for (final Object[] position : POSITIONS) {
+            checkOrdering(checks, (String) position[0], (String) position[1], (Integer) position[2]);
+        }
+    }
+
+    /**
+     * Searches a forced mate, which has to be found with its mating move at its shortest distance
+     */
+    private static void checkMate(final Checks checks,
+                                  final String name,
+                                  final String fen,
+                                  final String expectedMove,
+                                  final int movesToMate) {
+        final Searcher searcher = new Searcher(new TranspositionTable(16));
+        final SearchResult result = searcher.search(FenUtilities.createGameFromFEN(fen),
+                                                    SearchLimits.depth(MATE_DEPTH));
+        final String move = toString(result.getBestMove());
+        final int expectedScore = AlphaBeta.MATE - (2 * movesToMate - 1);
+        checks.report(move.equals(expectedMove) && result.getScore() == expectedScore,
+                      "mate in " + movesToMate + ": " + name,
+                      move + " scores " + result.getScore() + " (expected " + expectedMove + " scoring " +
+                      expectedScore + ")");
+    }
+
+    /**
+     * Searches a position where the game is over, which has no best move and a known score
+     */
+    private static void checkGameOver(final Checks checks,
+                                      final String name,
+                                      final String fen,
+                                      final int expectedScore) {
+        final Searcher searcher = new Searcher(new TranspositionTable(1));
+        final SearchResult result = searcher.search(FenUtilities.createGameFromFEN(fen), SearchLimits.depth(4));
+        final boolean ok = result.getScore() == expectedScore && result.getPrincipalVariation().isEmpty();
+        checks.report(ok, name, "scores " + result.getScore() + " with " + result.getPrincipalVariation().size() +
+                                " moves (expected " + expectedScore + " with none)");
+    }
+
+    /**
+     * Searches a position with {@link AlphaBeta}, without a table so only the move ordering differs, and with the
+     * plain search at every depth up to a limit. The score has to be the same, and the best move has to be one of
+     * the moves the plain search finds that score for.
+     */
+    private static void checkOrdering(final Checks checks, final String name, final String fen, final int maxDepth) {
+        final Position position = FenUtilities.createPositionFromFEN(fen);
+        final AlphaBeta ordered = new AlphaBeta(new Position(position), null);
+        final PlainSearch plain = new PlainSearch(position);
+        final StringBuilder detail = new StringBuilder();
+        boolean ok = true;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            final int score = ordered.search(depth);
+            final int bestMove = ordered.getBestMove();
+            final MoveList bestMoves = new MoveList();
+            final int plainScore = plain.searchRoot(depth, bestMoves);
+            final boolean same = score == plainScore && bestMoves.contains(bestMove);
+            ok &= same;
+            detail.append(depth == 1 ? "" : ", ").append(PackedMove.toString(bestMove)).append(' ').append(score);
+            if (!same) {
+                detail.append(" (plain ").append(bestMoves).append(' ').append(plainScore).append(')');
+            }
+        }
+        checks.report(ok, "ordered search agrees: " + name, detail.toString());
+    }
+
+    /**
+     * Writes a move in coordinate notation
+     */
+    private static String toString(final Move move) {
+        if (move == null) {
+            return "none";
+        }
+        return BoardUtils.getPositionAtCoordinate(move.getCurrentCoordinate()) +
+               BoardUtils.getPositionAtCoordinate(move.getDestinationCoordinate());
+    }
+
+    /**
+     * A fail-soft alpha-beta search without any move ordering, transposition table or budget: every node tries its
+     * moves in the order {@link MoveGenerator} generates them. Its quiescence search follows the same rules as
+     * {@link AlphaBeta}'s, since they decide the score: it stands pat unless in check, only searches the captures and
+     * promotions that don't lose material, and skips captures that can't raise alpha even with the margin.
+     */
+    private static final class PlainSearch {
+
+        /**
+         * The margin {@link AlphaBeta} allows in delta pruning
+         */
+        private static final int DELTA_MARGIN = 200;
+
+        private final Position position;
+
+        PlainSearch(final Position position) {
+            this.position = position;
+        }
+
+        /**
+         * Searches every root move with a full window, so the score of each is exact
+         * @param depth the depth in plies
+         * @param bestMoves filled with every move that scores the best score
+         * @return the best score
+         */
+        int searchRoot(final int depth, final MoveList bestMoves) {
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(this.position, moves);
+            int bestScore = -AlphaBeta.INFINITY;
+            for (int i = 0; i < moves.size(); i++) {
+                this.position.makeMove(moves.get(i));
+                final int score = -search(depth - 1, -AlphaBeta.INFINITY, AlphaBeta.INFINITY, 1);
+                this.position.unmakeMove();
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMoves.clear();
+                }
+                if (score == bestScore) {
+                    bestMoves.add(moves.get(i));
+                }
+            }
+            return bestScore;
+        }
+
+        private int search(final int depth, int alpha, final int beta, final int ply) {
+            if (this.position.isRepetition() || this.position.getHalfMoveClock() >= 100) {
+                return 0;
+            }
+            if (depth == 0) {
+                return quiescence(alpha, beta, ply);
+            }
+            final MoveList moves = new MoveList();
+            MoveGenerator.generateLegalMoves(this.position, moves);
+            if (moves.isEmpty()) {
+                return this.position.isInCheck() ? -AlphaBeta.MATE + ply : 0;
+            }
+            int bestScore = -AlphaBeta.INFINITY;
+            for (int i = 0; i < moves.size(); i++) {
+                this.position.makeMove(moves.get(i));
+                final int score = -search(depth - 1, -beta, -alpha, ply + 1);
+                this.position.unmakeMove();
+                if (score > bestScore) {
+                    bestScore = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+            return bestScore;
+        }
+
+        private int quiescence(int alpha, final int beta, final int ply) {
+            final boolean inCheck = this.position.isInCheck();
+            final MoveList moves = new MoveList();
+            final int standPat;
+            int bestScore;
+            if (inCheck) {
+                MoveGenerator.generateLegalMoves(this.position, moves);
+                standPat = -AlphaBeta.INFINITY;
+                bestScore = -AlphaBeta.INFINITY;
+            } else {
+                standPat = Evaluator.evaluate(this.position);
+                if (standPat >= beta) {
+                    return standPat;
+                }
+                alpha = Math.max(alpha, standPat);
+                bestScore = standPat;
+                MoveGenerator.generateLegalCaptures(this.position, moves);
+            }
+            for (int i = 0; i < moves.size(); i++) {
+                final int move = moves.get(i);
+                if (!inCheck && !StaticExchange.isAtLeast(this.position, move, 0)) {
+                    continue;
+                }
+                if (!inCheck && !PackedMove.isPromotion(move) &&
+                    standPat + BitBoard.pieceType(PackedMove.getCapturedPiece(move)).getPieceValue() + DELTA_MARGIN <=
+                    alpha) {
+                    continue;
+                }
+                this.position.makeMove(move);
+                final int score = -quiescence(-beta, -alpha, ply + 1);
+                this.position.unmakeMove();
+                if (score > bestScore) {
+                    bestScore = score;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+            if (inCheck && bestScore == -AlphaBeta.INFINITY) {
+                return -AlphaBeta.MATE + ply;
+            }
+            return bestScore;
+        }
+    }
+}
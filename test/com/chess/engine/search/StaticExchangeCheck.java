@@ -0,0 +1,158 @@
+package com.chess.engine.search;
+
+import com.chess.Checks;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+import java.util.SplittableRandom;
+
+/**
+ * File: StaticExchangeCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks {@link StaticExchange} against exchanges worked out by hand, and checks that
+ * {@link StaticExchange#isAtLeast(Position, int, int)} agrees with {@link StaticExchange#evaluate(Position, int)}
+ * for every legal move of positions from random games.
+ *
+ * Run with: java com.chess.engine.search.StaticExchangeCheck [random games], or with every other check through
+ * {@link com.chess.AllChecks}.
+ */
+public final class StaticExchangeCheck {
+
+    /**
+     * The exchanges: a name, the position, the move in coordinate notation and the centipawns it wins
+     */
+    private static final Object[][] EXCHANGES = {
+            {"rook takes an undefended pawn", "1k1r4/1pp4p/p7/4p3/8/P5P1/1PP4P/2K1R3 w - - 0 1", "e1e5", 100},
+            {"knight takes a defended pawn", "1k1r3q/1ppn3p/p4b2/4p3/8/P2N2P1/1PP1R1BP/2K1Q3 w - - 0 1", "d3e5", -220},
+            {"pawn takes a pawn", "4k3/8/8/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5", 100},
+            {"pawn takes a defended pawn", "4k3/8/2p5/3p4/4P3/8/8/4K3 w - - 0 1", "e4d5", 0},
+            {"pawn takes a defended queen", "4k3/8/2n5/3q4/4P3/8/8/4K3 w - - 0 1", "e4d5", 900},
+            {"doubled rooks win a pawn", "3rk3/8/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2d5", 100},
+            {"doubled rooks against doubled rooks", "3rk3/3r4/8/3p4/8/8/3R4/3RK3 w - - 0 1", "d2d5", -400},
+            {"en passant", "4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1", "e5d6", 100},
+            {"capture that promotes", "3r2k1/4P3/8/8/8/8/8/4K3 w - - 0 1", "e7d8q", 500 + 800},
+            {"king takes an undefended queen", "4k3/8/8/8/8/8/4q3/4K3 w - - 0 1", "e1e2", 900},
+            {"queen takes a pawn defended by a pawn", "4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1", "d1d5", 100 - 900},
+            {"bishop behind a pawn x-rays", "4k3/8/2p5/3p4/4P3/8/6B1/4K3 w - - 0 1", "e4d5", 100},
+            {"quiet move to an attacked tile", "4k3/8/8/8/3p4/8/8/2B1K3 w - - 0 1", "c1e3", -330},
+            {"castling", "4k3/8/8/8/8/8/8/4K2R w K - 0 1", "e1g1", 0}
+    };
+
+    /**
+     * The number of random games played when it isn't given
+     */
+    private static final int DEFAULT_GAMES = 200;
+
+    private StaticExchangeCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args the number of random games ({@link #DEFAULT_GAMES} if not given)
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks, args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_GAMES);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        run(checks, DEFAULT_GAMES);
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     * @param games the number of random games
+     */
+    public static void run(final Checks checks, final int games) {
+        checks.startGroup("StaticExchange");
+        for (final Object[] exchange : EXCHANGES) {
+            checkExchange(checks, (String) exchange[0], (String) exchange[1], (String) exchange[2],
+                          (Integer) exchange[3]);
+        }
+        checkRandomGames(checks, games);
+    }
+
+    /**
+     * Evaluates one exchange and compares the threshold test just below, at and just above its value
+     */
+    private static void checkExchange(final Checks checks,
+                                      final String name,
+                                      final String fen,
+                                      final String moveText,
+                                      final int expected) {
+        final Position position = FenUtilities.createPositionFromFEN(fen);
+        final int move = findMove(position, moveText);
+        if (move == PackedMove.NULL_MOVE) {
+            checks.report(false, name, moveText + " isn't legal");
+            return;
+        }
+        final int value = StaticExchange.evaluate(position, move);
+        final boolean ok = value == expected &&
+                           StaticExchange.isAtLeast(position, move, expected - 1) &&
+                           StaticExchange.isAtLeast(position, move, expected) &&
+                           !StaticExchange.isAtLeast(position, move, expected + 1);
+        checks.report(ok, name, moveText + " = " + value + (value == expected ? "" : " (expected " + expected + ")"));
+    }
+
+    /**
+     * Plays random games and compares the two ways of judging every legal move along the way
+     */
+    private static void checkRandomGames(final Checks checks, final int games) {
+        final SplittableRandom random = new SplittableRandom(5);
+        final MoveList moves = new MoveList();
+        long checked = 0;
+        for (int game = 0; game < games; game++) {
+            final Position position = FenUtilities.createPositionFromFEN(FenUtilities.STARTING_FEN);
+            for (int ply = 0; ply < 150; ply++) {
+                moves.clear();
+                MoveGenerator.generateLegalMoves(position, moves);
+                if (moves.isEmpty()) {
+                    break;
+                }
+                for (int i = 0; i < moves.size(); i++) {
+                    final int move = moves.get(i);
+                    final int value = StaticExchange.evaluate(position, move);
+                    for (int threshold = value - 1; threshold <= value + 1; threshold++) {
+                        if (StaticExchange.isAtLeast(position, move, threshold) != (value >= threshold)) {
+                            checks.report(false, "random games", FenUtilities.createFENFromPosition(position) + " " +
+                                                                 PackedMove.toString(move) + " = " + value +
+                                                                 " but isAtLeast disagrees at " + threshold);
+                            return;
+                        }
+                    }
+                    checked++;
+                }
+                position.makeMove(moves.get(random.nextInt(moves.size())));
+            }
+        }
+        checks.report(true, "random games", checked + " moves agree");
+    }
+
+    /**
+     * Finds a legal move by its coordinate notation
+     * @return the packed move or {@link PackedMove#NULL_MOVE} if no legal move has that notation
+     */
+    private static int findMove(final Position position, final String moveText) {
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            if (PackedMove.toString(moves.get(i)).equals(moveText)) {
+                return moves.get(i);
+            }
+        }
+        return PackedMove.NULL_MOVE;
+    }
+}
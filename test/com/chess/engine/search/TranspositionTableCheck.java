@@ -0,0 +1,311 @@
+package com.chess.engine.search;
+
+import com.chess.Checks;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+import com.chess.pgn.FenUtilities;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * File: TranspositionTableCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks that {@link TranspositionTable} gives back every field it packs into an entry, replaces the shallowest and
+ * oldest entries of a full bucket, keeps mate scores relative to the position, and never hands out a torn entry
+ * while other threads write the same bucket.
+ *
+ * Run with: java com.chess.engine.search.TranspositionTableCheck, or with every other check through
+ * {@link com.chess.AllChecks}.
+ */
+public final class TranspositionTableCheck {
+
+    /**
+     * Scores that have to survive the packing: zero, small, negative, mate, the extremes of the 16 bits kept
+     */
+    private static final int[] SCORES = {
+            0, 1, -1, 35, -900, AlphaBeta.MATE - 1, -(AlphaBeta.MATE - 1), AlphaBeta.MATE - AlphaBeta.MAX_PLY,
+            -AlphaBeta.MATE + AlphaBeta.MAX_PLY, AlphaBeta.INFINITY, -AlphaBeta.INFINITY, Short.MAX_VALUE,
+            Short.MIN_VALUE
+    };
+    /**
+     * Depths that have to survive the packing
+     */
+    private static final int[] DEPTHS = {0, 1, 7, 64, 255};
+    /**
+     * The bounds an entry can have
+     */
+    private static final int[] BOUNDS = {TranspositionTable.UPPER_BOUND, TranspositionTable.LOWER_BOUND,
+                                         TranspositionTable.EXACT};
+
+    /**
+     * How long the threads write and read the same bucket
+     */
+    private static final long CONCURRENT_MILLIS = 500;
+
+    private TranspositionTableCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        checks.startGroup("TranspositionTable");
+        checkRoundTrip(checks);
+        checkMisses(checks);
+        checkKeepsMove(checks);
+        checkReplacesShallowest(checks);
+        checkReplacesOldest(checks);
+        checkMateScores(checks);
+        checkConcurrentWrites(checks);
+    }
+
+    /**
+     * Stores every combination of move, score, depth and bound and reads each back
+     */
+    private static void checkRoundTrip(final Checks checks) {
+        final TranspositionTable table = new TranspositionTable(1);
+        final SplittableRandom random = new SplittableRandom(1);
+        final int[] moves = moves();
+        int stored = 0;
+        for (final int move : moves) {
+            for (final int score : SCORES) {
+                for (final int depth : DEPTHS) {
+                    for (final int bound : BOUNDS) {
+                        final long key = random.nextLong();
+                        table.store(key, move, score, depth, bound);
+                        final long entry = table.probe(key);
+                        if (entry == TranspositionTable.NO_ENTRY ||
+                            TranspositionTable.getMove(entry) != move ||
+                            TranspositionTable.getScore(entry) != score ||
+                            TranspositionTable.getDepth(entry) != depth ||
+                            TranspositionTable.getBound(entry) != bound) {
+                            checks.report(false, "round trip", String.format(
+                                    "stored move %x, score %d, depth %d, bound %d but read %s",
+                                    move, score, depth, bound, describe(entry)));
+                            return;
+                        }
+                        stored++;
+                    }
+                }
+            }
+        }
+        final long deep = random.nextLong();
+        table.store(deep, moves[1], 0, 300, TranspositionTable.EXACT);
+        final int deepDepth = TranspositionTable.getDepth(table.probe(deep));
+        checks.report(true, "round trip", stored + " entries read back with every field");
+        checks.report(deepDepth == 255, "depth past 8 bits is capped", "300 reads back as " + deepDepth);
+    }
+
+    /**
+     * Probes keys that were never stored, including one that shares a bucket with a stored key
+     */
+    private static void checkMisses(final Checks checks) {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 0x1234_5678_9abc_def0L;
+        table.store(key, moves()[0], 10, 3, TranspositionTable.EXACT);
+        final boolean ok = table.probe(sameBucket(key, 1)) == TranspositionTable.NO_ENTRY &&
+                           table.probe(~key) == TranspositionTable.NO_ENTRY &&
+                           table.probe(key) != TranspositionTable.NO_ENTRY &&
+                           table.getProbeCount() == 3 && table.getHitCount() == 1;
+        checks.report(ok, "unknown keys miss", table.toString());
+    }
+
+    /**
+     * Stores a position again without a best move, which keeps the move it had
+     */
+    private static void checkKeepsMove(final Checks checks) {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 42;
+        final int move = moves()[0];
+        table.store(key, move, 10, 3, TranspositionTable.EXACT);
+        table.store(key, PackedMove.NULL_MOVE, -20, 5, TranspositionTable.UPPER_BOUND);
+        final long entry = table.probe(key);
+        final boolean ok = TranspositionTable.getMove(entry) == move && TranspositionTable.getScore(entry) == -20 &&
+                           TranspositionTable.getDepth(entry) == 5;
+        checks.report(ok, "storing no move keeps the best move", describe(entry));
+    }
+
+    /**
+     * Fills a bucket and stores one more position, which has to replace the shallowest entry
+     */
+    private static void checkReplacesShallowest(final Checks checks) {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 7;
+        final int[] depths = {5, 3, 8, 6};
+        for (int i = 0; i < depths.length; i++) {
+            table.store(sameBucket(key, i), moves()[0], i, depths[i], TranspositionTable.EXACT);
+        }
+        table.store(sameBucket(key, depths.length), moves()[0], 0, 1, TranspositionTable.EXACT);
+        final StringBuilder kept = new StringBuilder();
+        for (int i = 0; i <= depths.length; i++) {
+            kept.append(table.probe(sameBucket(key, i)) != TranspositionTable.NO_ENTRY ? 'y' : 'n');
+        }
+        checks.report(kept.toString().equals("ynyyy") && table.getCollisionCount() == 1,
+                      "a full bucket loses its shallowest entry", "kept " + kept + " of depths 5 3 8 6 1");
+    }
+
+    /**
+     * Fills a bucket with one deep entry from an old search and shallow ones from the current search. The old
+     * entry is replaced first, even though it is deeper.
+     */
+    private static void checkReplacesOldest(final Checks checks) {
+        final TranspositionTable table = new TranspositionTable(1);
+        final long key = 11;
+        table.store(sameBucket(key, 0), moves()[0], 0, 10, TranspositionTable.EXACT);
+        for (int i = 0; i < 3; i++) {
+            table.newSearch();
+        }
+        for (int i = 1; i <= 4; i++) {
+            table.store(sameBucket(key, i), moves()[0], 0, 2, TranspositionTable.EXACT);
+        }
+        final StringBuilder kept = new StringBuilder();
+        for (int i = 0; i <= 4; i++) {
+            kept.append(table.probe(sameBucket(key, i)) != TranspositionTable.NO_ENTRY ? 'y' : 'n');
+        }
+        checks.report(kept.toString().equals("nyyyy"), "an old deep entry goes before new ones",
+                      "kept " + kept + " of depth 10 three searches ago, then four of depth 2");
+    }
+
+    /**
+     * Mate scores are stored counting plies from the position, so they can be used wherever it is reached
+     */
+    private static void checkMateScores(final Checks checks) {
+        final int mateIn3 = AlphaBeta.MATE - 5;
+        boolean ok = AlphaBeta.scoreToTable(mateIn3, 3) == AlphaBeta.MATE - 2 &&
+                     AlphaBeta.scoreToTable(-mateIn3, 3) == -(AlphaBeta.MATE - 2) &&
+                     AlphaBeta.scoreFromTable(AlphaBeta.MATE - 2, 7) == AlphaBeta.MATE - 9 &&
+                     AlphaBeta.scoreToTable(500, 9) == 500;
+        for (int ply = 0; ply < AlphaBeta.MAX_PLY && ok; ply++) {
+            for (final int score : new int[]{AlphaBeta.MATE - ply - 1, -(AlphaBeta.MATE - ply - 1), 0, 250, -250}) {
+                ok &= AlphaBeta.scoreFromTable(AlphaBeta.scoreToTable(score, ply), ply) == score;
+            }
+        }
+        checks.report(ok, "mate scores are relative to the position", "mate in 3 from ply 3 is stored as mate in 1");
+    }
+
+    /**
+     * Several threads store positions that all share one bucket while others probe them. Each position's fields
+     * follow from its key, so a hit whose fields don't match its key was pieced together from two writes.
+     */
+    private static void checkConcurrentWrites(final Checks checks) {
+        final long[] keys = new long[16];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = sameBucket(0x0bad_cafeL, i * 7919 + 1);
+        }
+        final int[] moves = moves();
+        final TranspositionTable table = new TranspositionTable(1);
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong torn = new AtomicLong();
+        final Thread[] threads = new Thread[6];
+        for (int t = 0; t < threads.length; t++) {
+            final boolean writer = t < 4;
+            final SplittableRandom random = new SplittableRandom(t);
+            threads[t] = new Thread(() -> {
+                while (running.get()) {
+                    final int i = random.nextInt(keys.length);
+                    if (writer) {
+                        table.store(keys[i], moves[i % moves.length], expectedScore(i), expectedDepth(i),
+                                    TranspositionTable.LOWER_BOUND);
+                        continue;
+                    }
+                    final long entry = table.probe(keys[i]);
+                    if (entry != TranspositionTable.NO_ENTRY) {
+                        hits.incrementAndGet();
+                        if (TranspositionTable.getMove(entry) != moves[i % moves.length] ||
+                            TranspositionTable.getScore(entry) != expectedScore(i) ||
+                            TranspositionTable.getDepth(entry) != expectedDepth(i) ||
+                            TranspositionTable.getBound(entry) != TranspositionTable.LOWER_BOUND) {
+                            torn.incrementAndGet();
+                        }
+                    }
+                }
+            }, "table check " + (writer ? "writer" : "reader"));
+            threads[t].start();
+        }
+        try {
+            Thread.sleep(CONCURRENT_MILLIS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        running.set(false);
+        for (final Thread thread : threads) {
+            try {
+                thread.join();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checks.report(torn.get() == 0 && hits.get() > 0, "no torn entries under concurrent writes",
+                      hits.get() + " hits, " + torn.get() + " with fields of another position");
+    }
+
+    /**
+     * The score every writer stores for the key at an index
+     */
+    private static int expectedScore(final int index) {
+        return index * 97 - 700;
+    }
+
+    /**
+     * The depth every writer stores for the key at an index, varied so the bucket keeps replacing entries
+     */
+    private static int expectedDepth(final int index) {
+        return index % 5 + 1;
+    }
+
+    /**
+     * Makes a key that falls in the same bucket as another: the bucket comes from the low bits
+     */
+    private static long sameBucket(final long key, final int variant) {
+        return key + ((long) variant << 40);
+    }
+
+    /**
+     * Gets real moves of a position, followed by the largest value the move field holds and by no move
+     */
+    private static int[] moves() {
+        final Position position = FenUtilities.createPositionFromFEN(
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        final MoveList moveList = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moveList);
+        final int[] moves = new int[moveList.size() + 2];
+        for (int i = 0; i < moveList.size(); i++) {
+            moves[i] = moveList.get(i);
+        }
+        moves[moveList.size()] = (1 << PackedMove.MOVE_BITS) - 1;
+        moves[moveList.size() + 1] = PackedMove.NULL_MOVE;
+        return moves;
+    }
+
+    /**
+     * Describes an entry's fields
+     */
+    private static String describe(final long entry) {
+        if (entry == TranspositionTable.NO_ENTRY) {
+            return "no entry";
+        }
+        return String.format("move %x, score %d, depth %d, bound %d",
+                             TranspositionTable.getMove(entry), TranspositionTable.getScore(entry),
+                             TranspositionTable.getDepth(entry), TranspositionTable.getBound(entry));
+    }
+}
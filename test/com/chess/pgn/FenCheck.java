@@ -0,0 +1,169 @@
+package com.chess.pgn;
+
+import com.chess.Checks;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.MoveGenerator;
+import com.chess.engine.board.MoveList;
+import com.chess.engine.board.PackedMove;
+import com.chess.engine.board.Position;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * File: FenCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks that {@link FenUtilities} writes back exactly the FEN it read, through a position and through a board, and
+ * that it rejects FEN that isn't a valid position with an {@link IllegalArgumentException}.
+ *
+ * Run with: java com.chess.pgn.FenCheck, or with every other check through {@link com.chess.AllChecks}.
+ */
+public final class FenCheck {
+
+    /**
+     * Positions that are written back exactly as they are read
+     */
+    private static final String[] VALID = {
+            FenUtilities.STARTING_FEN,
+            "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1",
+            "rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+            "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+            "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+            "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+            "4k3/8/8/8/8/8/8/4K2R w K - 49 120",
+            "4k3/8/8/8/8/8/8/4K2R w K - 65535 65535",
+            "K1k5/8/P7/8/8/8/8/8 b - - 0 1"
+    };
+
+    /**
+     * FEN that has to be rejected, and why
+     */
+    private static final String[][] INVALID = {
+            {"empty", ""},
+            {"seven ranks", "rnbqkbnr/pppppppp/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"},
+            {"nine tiles in a rank", "rnbqkbnr/pppppppp/9/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1"},
+            {"not a piece", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNX w KQkq - 0 1"},
+            {"no side to move", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR"},
+            {"bad side to move", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR x KQkq - 0 1"},
+            {"bad castling rights", "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQxq - 0 1"},
+            {"bad en passant tile", "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e9 0 1"},
+            {"no kings", "8/8/8/8/8/8/8/8 w - - 0 1"},
+            {"no white king", "4k3/8/8/8/8/8/4P3/8 w - - 0 1"},
+            {"no black king", "8/8/8/8/8/8/4P3/4K3 w - - 0 1"},
+            {"two white kings", "4k3/8/8/8/8/8/8/3KK3 w - - 0 1"},
+            {"two black kings", "k3k3/8/8/8/8/8/8/4K3 w - - 0 1"},
+            {"side not to move in check", "4k3/8/8/8/8/8/8/4RK2 w - - 0 1"},
+            {"black's king attacked by a pawn", "8/8/8/8/8/3k4/4P3/4K3 w - - 0 1"},
+            {"white's king attacked by a knight", "4k3/8/8/8/8/8/2n5/4K3 b - - 0 1"},
+            {"half move clock over 16 bits", "4k3/8/8/8/8/8/8/4K2R w K - 70000 1"},
+            {"full move number over 16 bits", "4k3/8/8/8/8/8/8/4K2R w K - 0 70000"},
+            {"counter past int", "4k3/8/8/8/8/8/8/4K2R w K - 99999999999 1"}
+    };
+
+    private FenCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     */
+    public static void main(final String[] args) {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     */
+    public static void run(final Checks checks) {
+        checks.startGroup("FenUtilities");
+        for (final String fen : VALID) {
+            checkRoundTrip(checks, fen);
+        }
+        for (final String[] entry : INVALID) {
+            checkRejected(checks, entry[0], entry[1]);
+        }
+        checkBuffer(checks);
+        checkTakeBack(checks, "4k3/8/8/8/8/8/8/4K2R w K - 65535 65535");
+    }
+
+    /**
+     * Reads a FEN and writes it back through a position and through a board. A board doesn't keep the move
+     * counters, so only the first four fields are compared for it.
+     */
+    private static void checkRoundTrip(final Checks checks, final String fen) {
+        try {
+            final String positionFen = FenUtilities.createFENFromPosition(FenUtilities.createPositionFromFEN(fen));
+            final Board board = FenUtilities.createGameFromFEN(fen);
+            final String boardFen = FenUtilities.createFENFromGame(board);
+            final boolean ok = positionFen.equals(fen) && withoutCounters(boardFen).equals(withoutCounters(fen));
+            checks.report(ok, "round trip", ok ? fen : fen + " became " + positionFen + " and " + boardFen);
+        } catch (final RuntimeException e) {
+            checks.report(false, "round trip", fen + " threw " + e);
+        }
+    }
+
+    /**
+     * Reads a FEN that has to be rejected
+     */
+    private static void checkRejected(final Checks checks, final String name, final String fen) {
+        try {
+            FenUtilities.createPositionFromFEN(fen);
+            checks.report(false, "rejects " + name, "no error");
+        } catch (final IllegalArgumentException e) {
+            checks.report(true, "rejects " + name, e.getMessage());
+        } catch (final RuntimeException e) {
+            checks.report(false, "rejects " + name, "threw " + e);
+        }
+    }
+
+    /**
+     * Reads a FEN held as ASCII in the middle of a buffer, after another record and before an EPD operation
+     */
+    private static void checkBuffer(final Checks checks) {
+        final String fen = VALID[3];
+        final String text = VALID[1] + "\n" + fen + " bm e5;\n";
+        final ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.US_ASCII));
+        final int start = text.indexOf('\n') + 1;
+        final Position position = FenUtilities.createPositionFromFEN(buffer, start, text.length());
+        final String written = FenUtilities.createFENFromPosition(position);
+        checks.report(written.equals(fen), "read from a buffer", written);
+    }
+
+    /**
+     * Makes every legal move of a position and takes it back, which must restore the FEN, move counters included
+     */
+    private static void checkTakeBack(final Checks checks, final String fen) {
+        final Position position = FenUtilities.createPositionFromFEN(fen);
+        final MoveList moves = new MoveList();
+        MoveGenerator.generateLegalMoves(position, moves);
+        for (int i = 0; i < moves.size(); i++) {
+            position.makeMove(moves.get(i));
+            position.unmakeMove();
+            final String written = FenUtilities.createFENFromPosition(position);
+            if (!written.equals(fen)) {
+                checks.report(false, "moves taken back", PackedMove.toString(moves.get(i)) + " left " + written);
+                return;
+            }
+        }
+        checks.report(true, "moves taken back", moves.size() + " moves from " + fen);
+    }
+
+    /**
+     * Gets the placement, side to move, castling rights and en passant tile of a FEN
+     */
+    private static String withoutCounters(final String fen) {
+        int end = fen.length();
+        for (int i = 0; i < 2; i++) {
+            end = fen.lastIndexOf(' ', end - 1);
+        }
+        return fen.substring(0, end);
+    }
+}
@@ -0,0 +1,149 @@
+package com.chess.pgn;
+
+import com.chess.Checks;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Position;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * File: GameStoreCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks that games written with a {@link GameStoreWriter} read back from the {@link GameStore} with the same tags,
+ * result, plies and positions as replaying them, and that games the store can't hold are rejected when they are
+ * added without spoiling the rest of the store.
+ *
+ * Run with: java com.chess.pgn.GameStoreCheck, or with every other check through {@link com.chess.AllChecks}.
+ */
+public final class GameStoreCheck {
+
+    /**
+     * The longest tag value that fits: every euro sign is 3 bytes of UTF-8
+     */
+    private static final String LONGEST_VALUE = repeat('\u20ac', GameStore.MAX_STRING_BYTES / 3);
+
+    private GameStoreCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     * @throws IOException if the store can't be written or read
+     */
+    public static void main(final String[] args) throws IOException {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     * @throws IOException if the store can't be written or read
+     */
+    public static void run(final Checks checks) throws IOException {
+        checks.startGroup("GameStore");
+        final List<PgnGame> stored = new ArrayList<>();
+        stored.add(game(ImmutableMap.of("Event", "Scholar's mate", "White", "M\u00fcller", "Black", "\u738b"),
+                        "1-0", "e4", "e5", "Bc4", "Nc6", "Qh5", "Nf6", "Qxf7#"));
+        stored.add(game(ImmutableMap.of("Event", "Fool's mate"), "0-1", "f3", "e5", "g4", "Qh4#"));
+        stored.add(game(ImmutableMap.of("Event", "Promotion and castling", "SetUp", "1",
+                                        "FEN", "r3k3/1P6/8/8/8/8/8/R3K2R w KQq - 0 1"),
+                        "1/2-1/2", "bxa8=N", "Kd7", "O-O-O+", "Ke7", "Nc7"));
+        stored.add(game(ImmutableMap.of("Event", "En passant"), "*", "e4", "a6", "e5", "d5", "exd6"));
+        stored.add(game(ImmutableMap.of("Event", "Longest tag", "Annotator", LONGEST_VALUE), "1-0", "d4"));
+        stored.add(game(ImmutableMap.of(), "*"));
+
+        final Path path = Files.createTempFile("store-check", ".store");
+        try {
+            try (final GameStoreWriter writer = new GameStoreWriter(path)) {
+                // Rejected games are mixed in with the stored ones, which must not notice
+                for (final PgnGame game : stored) {
+                    checkRejected(checks, "an illegal move", writer,
+                                  game(ImmutableMap.of("Event", "Illegal"), "*", "e4", "Ke2"));
+                    writer.addGame(game);
+                }
+                checkRejected(checks, "an ASCII tag over the limit", writer,
+                              game(ImmutableMap.of("Annotator", repeat('a', GameStore.MAX_STRING_BYTES + 1)), "*"));
+                checkRejected(checks, "a UTF-8 tag over the limit", writer,
+                              game(ImmutableMap.of("Annotator", LONGEST_VALUE + "\u20ac"), "*"));
+                checkRejected(checks, "a FEN with two kings", writer,
+                              game(ImmutableMap.of("SetUp", "1", "FEN", "k3k3/8/8/8/8/8/8/4K3 w - - 0 1"), "*"));
+                // A result the store has no code for is kept as unknown
+                writer.addGame(game(ImmutableMap.of("Event", "Odd result"), "abandoned", "Nf3"));
+            }
+            stored.add(game(ImmutableMap.of("Event", "Odd result"), PgnGame.UNKNOWN_RESULT, "Nf3"));
+
+            try (final GameStore store = GameStore.open(path)) {
+                checks.report(store.getGameCount() == stored.size(), "game count",
+                       store.getGameCount() + " (expected " + stored.size() + ")");
+                for (int gameId = 0; gameId < stored.size(); gameId++) {
+                    checkGame(checks, store, gameId, stored.get(gameId));
+                }
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Compares a stored game with the game that was added
+     */
+    private static void checkGame(final Checks checks, final GameStore store, final int gameId, final PgnGame game) {
+        final String name = "game " + gameId + " " + game.getTags().getOrDefault("Event", "(no tags)");
+        final Board replayed = PgnUtilities.replayGame(game);
+        final Position position = store.createPosition(gameId);
+        final Position firstPly = store.createPosition(gameId, 1);
+        final boolean ok = store.getTags(gameId).equals(game.getTags()) &&
+                           store.getResult(gameId).equals(game.getResult()) &&
+                           store.getPlyCount(gameId) == game.getMoves().size() &&
+                           position.getZobristKey() == replayed.getZobristKey() &&
+                           firstPly.getPly() == Math.min(1, game.getMoves().size());
+        checks.report(ok, name, store.getResult(gameId) + ", " + store.getPlyCount(gameId) + " plies, " +
+                         FenUtilities.createFENFromPosition(position));
+    }
+
+    /**
+     * Adds a game that the writer has to reject
+     */
+    private static void checkRejected(final Checks checks,
+                                      final String name,
+                                      final GameStoreWriter writer,
+                                      final PgnGame game) throws IOException {
+        final int gameCount = writer.getGameCount();
+        try {
+            writer.addGame(game);
+            checks.report(false, "rejects " + name, "added");
+        } catch (final IllegalArgumentException e) {
+            checks.report(writer.getGameCount() == gameCount, "rejects " + name, e.getMessage());
+        }
+    }
+
+    /**
+     * Creates a game
+     */
+    private static PgnGame game(final ImmutableMap<String, String> tags, final String result, final String... moves) {
+        return new PgnGame(tags, ImmutableList.copyOf(moves), result);
+    }
+
+    /**
+     * Creates a string of one character repeated
+     */
+    private static String repeat(final char c, final int count) {
+        final StringBuilder builder = new StringBuilder(count);
+        for (int i = 0; i < count; i++) {
+            builder.append(c);
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,254 @@
+package com.chess.pgn;
+
+import com.chess.Checks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * File: PgnImporterCheck.java
+ * Date: 10/17/26
+ */
+
+/**
+ * Checks that {@link PgnImporter} rejects malformed games one at a time, keeps replaying the games after them, and
+ * always ends the queue, whether the games are bad, the file can't be read or the import is closed. Also checks
+ * that games without tags are split into small chunks, and that a game too large for any chunk fails the import.
+ *
+ * Run with: java com.chess.pgn.PgnImporterCheck, or with every other check through {@link com.chess.AllChecks}.
+ */
+public final class PgnImporterCheck {
+
+    /**
+     * How long taking every game of an import may take before it counts as hung
+     */
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * The games of the file, each one marked with whether it can be replayed
+     */
+    private static final Object[][] GAMES = {
+            {true, "[Event \"Scholar's mate\"]\n\n1. e4 e5 2. Bc4 Nc6 3. Qh5 Nf6 4. Qxf7# 1-0\n"},
+            {false, "[Event \"Illegal move\"]\n\n1. e4 e5 2. Ke3 *\n"},
+            {false, "[Event \"Unreadable move\"]\n\n1. e4 zz9 *\n"},
+            {false, "[Event \"No white king\"]\n[SetUp \"1\"]\n[FEN \"4k3/8/8/8/8/8/4P3/8 w - - 0 1\"]\n\n1. e4 *\n"},
+            {false, "[Event \"Two black kings\"]\n[SetUp \"1\"]\n[FEN \"k3k3/8/8/8/8/8/8/4K3 w - - 0 1\"]\n\n1. Kd1 *\n"},
+            {false, "[Event \"Not a FEN\"]\n[SetUp \"1\"]\n[FEN \"this is not a position\"]\n\n1. e4 *\n"},
+            {true, "[Event \"Fool's mate\"]\n\n1. f3 e5 2. g4 Qh4# 0-1\n"},
+            {true, "[Event \"From a position\"]\n[SetUp \"1\"]\n[FEN \"4k3/8/8/8/8/8/4P3/4K3 w - - 0 1\"]\n\n" +
+                   "1. e4 Kd7 2. e5 *\n"}
+    };
+
+    /**
+     * Runs the consumers, so a hung import can be given up on
+     */
+    private static final ExecutorService CONSUMERS = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "PGN import check consumer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private PgnImporterCheck() {
+        throw new RuntimeException("You cannot instantiate me!");
+    }
+
+    /**
+     * Runs the checks on their own
+     * @param args not used
+     * @throws IOException if the files of games can't be written
+     */
+    public static void main(final String[] args) throws IOException {
+        final Checks checks = new Checks();
+        run(checks);
+        checks.finish();
+    }
+
+    /**
+     * Runs the checks
+     * @param checks where the outcomes are reported
+     * @throws IOException if the files of games can't be written
+     */
+    public static void run(final Checks checks) throws IOException {
+        checks.startGroup("PgnImporter");
+        final StringBuilder text = new StringBuilder();
+        int replayable = 0;
+        // Every game several times over, so the games are spread over many chunks and workers
+        final int copies = 50;
+        for (int i = 0; i < copies; i++) {
+            for (final Object[] game : GAMES) {
+                text.append(game[1]).append('\n');
+                replayable += (Boolean) game[0] ? 1 : 0;
+            }
+        }
+        final Path path = Files.createTempFile("importer-check", ".pgn");
+        try {
+            Files.write(path, text.toString().getBytes(StandardCharsets.US_ASCII));
+            // Chunks of about one game each, and a queue small enough to make the workers wait for the consumer
+            checkImport(checks, "malformed games are rejected", path, copies * GAMES.length, replayable);
+            checkMissingFile(checks, path.resolveSibling(path.getFileName() + ".missing"));
+            checkCloseWhileTaking(checks, path);
+            checkCloseBeforeStart(checks, path);
+        } finally {
+            Files.delete(path);
+        }
+        checkWithoutTags(checks);
+        checkTooLarge(checks);
+    }
+
+    /**
+     * Imports a file and compares the games taken with the expected counts
+     */
+    private static void checkImport(final Checks checks,
+                                    final String name,
+                                    final Path path,
+                                    final int expectedGames,
+                                    final int expectedReplayed) {
+        try (final PgnImporter importer = new PgnImporter(path, 2, 2, 64).start()) {
+            final int[] counts = takeAll(importer).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            final boolean ok = counts[0] == expectedGames && counts[1] == expectedReplayed &&
+                               importer.getGameCount() == expectedGames &&
+                               importer.getFailedGameCount() == expectedGames - expectedReplayed;
+            checks.report(ok, name, String.format("%d games, %d replayed, %d failed (expected %d, %d, %d)",
+                                           counts[0], counts[1], importer.getFailedGameCount(),
+                                           expectedGames, expectedReplayed, expectedGames - expectedReplayed));
+        } catch (final TimeoutException e) {
+            checks.report(false, name, "the queue never ended");
+        } catch (final InterruptedException | ExecutionException e) {
+            checks.report(false, name, "threw " + e.getCause());
+        }
+    }
+
+    /**
+     * Closes an import after taking one game, while the workers are waiting for the full queue. The games left on
+     * the queue can be taken, and then the queue ends.
+     */
+    private static void checkCloseWhileTaking(final Checks checks, final Path path) {
+        final String name = "closing while games are queued";
+        try (final PgnImporter importer = new PgnImporter(path, 2, 2, 64).start()) {
+            importer.take();
+            importer.close();
+            final int[] counts = takeAll(importer).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            checks.report(true, name, "ended after " + (counts[0] + 1) + " games");
+        } catch (final TimeoutException e) {
+            checks.report(false, name, "the queue never ended");
+        } catch (final IOException | InterruptedException | ExecutionException e) {
+            checks.report(false, name, "threw " + e);
+        }
+    }
+
+    /**
+     * Closes an import that was never started while a consumer waits on its empty queue
+     */
+    private static void checkCloseBeforeStart(final Checks checks, final Path path) {
+        final String name = "closing wakes a waiting consumer";
+        final PgnImporter importer = new PgnImporter(path, 2, 2);
+        final Future<int[]> consumer = takeAll(importer);
+        try {
+            // Give the consumer time to start waiting
+            Thread.sleep(100);
+            importer.close();
+            final int[] counts = consumer.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            checks.report(counts[0] == 0, name, counts[0] + " games");
+        } catch (final TimeoutException e) {
+            checks.report(false, name, "the consumer is still waiting");
+        } catch (final InterruptedException | ExecutionException e) {
+            checks.report(false, name, "threw " + e);
+        }
+    }
+
+    /**
+     * Imports games without tags in chunks much smaller than the file, which only works if the chunks can be cut
+     * between such games
+     */
+    private static void checkWithoutTags(final Checks checks) throws IOException {
+        final StringBuilder text = new StringBuilder();
+        final int games = 200;
+        for (int i = 0; i < games; i++) {
+            text.append(i % 2 == 0 ? "1. e4 e5 2. Nf3 Nc6 1/2-1/2\n\n" : "1. d4 d5\n2. c4 *\r\n\r\n");
+        }
+        final Path path = Files.createTempFile("importer-check", ".pgn");
+        try {
+            Files.write(path, text.toString().getBytes(StandardCharsets.US_ASCII));
+            final String name = "games without tags";
+            try (final PgnImporter importer = new PgnImporter(path, 2, 2, 64, 256).start()) {
+                final int[] counts = takeAll(importer).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                checks.report(counts[0] == games && counts[1] == games, name,
+                       String.format("%d games, %d replayed (expected %d)", counts[0], counts[1], games));
+            } catch (final TimeoutException e) {
+                checks.report(false, name, "the queue never ended");
+            } catch (final InterruptedException | ExecutionException e) {
+                checks.report(false, name, "threw " + e.getCause());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Imports a game larger than a chunk may grow, which must end the queue with an error
+     */
+    private static void checkTooLarge(final Checks checks) throws IOException {
+        final StringBuilder text = new StringBuilder("[Event \"Long\"]\n\n");
+        for (int i = 0; i < 100; i++) {
+            text.append("1. e4 {a long comment} ");
+        }
+        text.append("*\n");
+        final Path path = Files.createTempFile("importer-check", ".pgn");
+        try {
+            Files.write(path, text.toString().getBytes(StandardCharsets.US_ASCII));
+            final String name = "a game larger than any chunk";
+            try (final PgnImporter importer = new PgnImporter(path, 2, 2, 64, 256).start()) {
+                takeAll(importer).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                checks.report(false, name, "no error");
+            } catch (final TimeoutException e) {
+                checks.report(false, name, "the queue never ended");
+            } catch (final ExecutionException e) {
+                checks.report(e.getCause() instanceof IOException, name, "threw " + e.getCause());
+            } catch (final InterruptedException e) {
+                checks.report(false, name, "interrupted");
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    /**
+     * Imports a file that doesn't exist, which must end the queue with the error
+     */
+    private static void checkMissingFile(final Checks checks, final Path path) {
+        final String name = "a missing file ends the queue";
+        try (final PgnImporter importer = new PgnImporter(path, 2, 2).start()) {
+            takeAll(importer).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            checks.report(false, name, "no error");
+        } catch (final TimeoutException e) {
+            checks.report(false, name, "the queue never ended");
+        } catch (final ExecutionException e) {
+            checks.report(e.getCause() instanceof IOException, name, "threw " + e.getCause());
+        } catch (final InterruptedException e) {
+            checks.report(false, name, "interrupted");
+        }
+    }
+
+    /**
+     * Takes every game of an import on another thread
+     * @return the number of games taken and the number of them that were replayed
+     */
+    private static Future<int[]> takeAll(final PgnImporter importer) {
+        return CONSUMERS.submit(() -> {
+            final int[] counts = new int[2];
+            for (ImportedGame game = importer.take(); game != null; game = importer.take()) {
+                counts[0]++;
+                counts[1] += game.isReplayed() ? 1 : 0;
+            }
+            return counts;
+        });
+    }
+}